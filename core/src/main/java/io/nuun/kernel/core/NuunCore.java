@@ -17,8 +17,10 @@
 package io.nuun.kernel.core;
 
 import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.KernelPrototype;
 import io.nuun.kernel.api.config.KernelConfiguration;
 import io.nuun.kernel.core.internal.KernelConfigurationInternal;
+import io.nuun.kernel.core.internal.KernelCore;
 import io.nuun.kernel.core.internal.KernelCoreFactory;
 
 /**
@@ -50,4 +52,20 @@ public class NuunCore
         KernelCoreFactory factory = new KernelCoreFactory();
         return factory.create(configuration);
     }
+
+    /**
+     * Creates a prototype from an initialized kernel. The kernels created from the prototype skip
+     * the classpath scan and the requests already executed by the given kernel.
+     *
+     * @param kernel the initialized kernel
+     * @return the prototype
+     */
+    public static KernelPrototype createPrototype(Kernel kernel)
+    {
+        if (!(kernel instanceof KernelCore))
+        {
+            throw new KernelException("The kernel %s can not be used as a prototype", kernel.name());
+        }
+        return ((KernelCore) kernel).toPrototype();
+    }
 }
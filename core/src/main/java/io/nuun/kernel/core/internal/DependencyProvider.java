@@ -21,7 +21,11 @@ import io.nuun.kernel.core.KernelException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This class allows to retrieve a plugin's required or dependent dependencies.
@@ -75,12 +79,40 @@ class DependencyProvider {
         } else if (dependencyType == DependencyType.DEPENDENT) {
             requiredClasses = plugin.dependentPlugins();
         } else if (dependencyType == DependencyType.ALL) {
-            requiredClasses = plugin.requiredPlugins();
+            // copied as the plugin collections must not be modified, the plugins can be read concurrently
+            requiredClasses = new ArrayList<>(plugin.requiredPlugins());
             requiredClasses.addAll(plugin.dependentPlugins());
         }
         return requiredClasses;
     }
 
+    /**
+     * Returns, for each given plugin, the given plugins which must be done before it: its required
+     * plugins and the plugins declaring it as dependent.
+     *
+     * @param plugins the plugins to relate
+     * @return the predecessors by plugin
+     */
+    public Map<Plugin, Set<Plugin>> getPredecessorsOf(List<Plugin> plugins) {
+        Map<Plugin, Set<Plugin>> predecessors = new HashMap<>();
+        for (Plugin plugin : plugins) {
+            predecessors.put(plugin, new HashSet<>());
+        }
+        for (Plugin plugin : plugins) {
+            for (Plugin requiredPlugin : getRequiredPluginsOf(plugin.getClass())) {
+                if (requiredPlugin != plugin && predecessors.containsKey(requiredPlugin)) {
+                    predecessors.get(plugin).add(requiredPlugin);
+                }
+            }
+            for (Plugin dependentPlugin : getDependentPluginsOf(plugin.getClass())) {
+                if (dependentPlugin != plugin && predecessors.containsKey(dependentPlugin)) {
+                    predecessors.get(dependentPlugin).add(plugin);
+                }
+            }
+        }
+        return predecessors;
+    }
+
     public <T> List<T> getFacets(Class<? extends Plugin> pluginClass, Class<T> facet) {
         assertExplicitDependency(pluginClass, facet);
         return facetRegistry.getFacets(facet);
@@ -117,6 +117,17 @@ class FacetRegistry
         return (List<T>) pluginsByFacet.get(facet);
     }
 
+    /**
+     * Indicates whether the given plugin implements a facet.
+     *
+     * @param plugin the plugin
+     * @return true if the plugin implements at least one facet
+     */
+    boolean exposesFacet(Plugin plugin)
+    {
+        return pluginsByFacet.containsValue(plugin);
+    }
+
     private boolean isFacet(Class<?> aClass)
     {
         return aClass.isAnnotationPresent(Facet.class);
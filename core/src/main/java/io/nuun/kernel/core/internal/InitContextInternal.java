@@ -18,6 +18,7 @@ package io.nuun.kernel.core.internal;
 
 import io.nuun.kernel.api.Plugin;
 import io.nuun.kernel.api.di.UnitModule;
+import io.nuun.kernel.api.plugin.context.ClassHandle;
 import io.nuun.kernel.api.plugin.context.InitContext;
 
 import java.lang.annotation.Annotation;
@@ -98,6 +99,48 @@ public class InitContextInternal implements InitContext
         return requestHandler.scannedClassesByAnnotationRegex();
     }
 
+    @Override
+    public Map<Class<?>, Collection<Class<?>>> scannedAncestorTypesByChildClass()
+    {
+        return requestHandler.scannedAncestorTypesByChildClass();
+    }
+
+    @Override
+    public Map<Class<?>, Collection<ClassHandle>> scannedAncestorTypeHandlesByChildClass()
+    {
+        return requestHandler.scannedAncestorTypeHandlesByChildClass();
+    }
+
+    @Override
+    public Map<Class<?>, Collection<ClassHandle>> scannedSubTypeHandlesByParentClass()
+    {
+        return requestHandler.scannedSubTypeHandlesByParentClass();
+    }
+
+    @Override
+    public Map<String, Collection<ClassHandle>> scannedSubTypeHandlesByParentRegex()
+    {
+        return requestHandler.scannedSubTypeHandlesByParentRegex();
+    }
+
+    @Override
+    public Map<String, Collection<ClassHandle>> scannedTypeHandlesByRegex()
+    {
+        return requestHandler.scannedTypeHandlesByRegex();
+    }
+
+    @Override
+    public Map<Class<? extends Annotation>, Collection<ClassHandle>> scannedHandlesByAnnotationClass()
+    {
+        return requestHandler.scannedHandlesByAnnotationClass();
+    }
+
+    @Override
+    public Map<String, Collection<ClassHandle>> scannedHandlesByAnnotationRegex()
+    {
+        return requestHandler.scannedHandlesByAnnotationRegex();
+    }
+
     @Override
     public Map<String, Collection<String>> mapPropertiesFilesByPrefix()
     {
@@ -23,6 +23,7 @@ import com.google.inject.Module;
 import com.google.inject.Stage;
 import com.google.inject.util.Modules;
 import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.KernelPrototype;
 import io.nuun.kernel.api.Plugin;
 import io.nuun.kernel.api.config.DependencyInjectionMode;
 import io.nuun.kernel.api.config.KernelOptions;
@@ -33,6 +34,7 @@ import io.nuun.kernel.api.plugin.InitState;
 import io.nuun.kernel.api.plugin.RoundInternal;
 import io.nuun.kernel.api.plugin.context.Context;
 import io.nuun.kernel.api.plugin.context.InitContext;
+import io.nuun.kernel.api.statistics.ScanStatistics;
 import io.nuun.kernel.core.KernelException;
 import io.nuun.kernel.core.internal.injection.KernelGuiceModuleInternal;
 import io.nuun.kernel.core.internal.injection.ModuleEmbedded;
@@ -46,6 +48,12 @@ import org.slf4j.LoggerFactory;
 import java.net.URL;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -61,6 +69,8 @@ public final class KernelCore implements Kernel
     private final ModuleHandler moduleHandler;
     private final RequestHandler requestHandler;
     private final PluginRegistry pluginRegistry = new PluginRegistry();
+    private final ExecutorService lifecycleExecutor;
+    private final KernelPrototypeInternal prototype;
 
     private State state = State.NOT_INITIALIZED;
     private Injector mainInjector;
@@ -69,9 +79,16 @@ public final class KernelCore implements Kernel
     private RoundInternal round;
     private ExtensionManager extensionManager;
     private DependencyProvider dependencyProvider;
+    private FacetRegistry facetRegistry;
+    private LazyPluginActivator lazyPluginActivator;
     private KernelOptions options;
 
     KernelCore(KernelConfigurationInternal kernelConfigurationInternal)
+    {
+        this(kernelConfigurationInternal, null);
+    }
+
+    KernelCore(KernelConfigurationInternal kernelConfigurationInternal, KernelPrototypeInternal prototype)
     {
         this.name = KERNEL_PREFIX_NAME + kernelIndex.getAndIncrement();
         this.logger = LoggerFactory.getLogger(KernelCore.class.getName() + ' ' + name());
@@ -80,8 +97,14 @@ public final class KernelCore implements Kernel
         if (!options.get(KernelOptions.ENABLE_REFLECTION_LOGGER)) {
             Reflections.log = null;
         }
-        this.requestHandler = new RequestHandler(kernelConfig.kernelParams().toMap(), options);
+        this.prototype = prototype;
+        this.requestHandler = prototype == null ? new RequestHandler(kernelConfig.kernelParams().toMap(), options) : prototype.newRequestHandler();
         this.moduleHandler = new ModuleHandler(kernelConfig);
+        ThreadPoolExecutor lifecycleExecutor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), KernelThreads.threadFactory(name + "-lifecycle"));
+        // the thread ends when the kernel is idle
+        lifecycleExecutor.allowCoreThreadTimeOut(true);
+        this.lifecycleExecutor = lifecycleExecutor;
     }
 
     @Override
@@ -105,7 +128,7 @@ public final class KernelCore implements Kernel
     public void preparePlugins()
     {
         addPluginsToTheRegistry();
-        FacetRegistry facetRegistry = new FacetRegistry(pluginRegistry.getPlugins());
+        facetRegistry = new FacetRegistry(pluginRegistry.getPlugins());
         dependencyProvider = new DependencyProvider(pluginRegistry, facetRegistry);
 
         round = new RoundInternal();
@@ -125,6 +148,15 @@ public final class KernelCore implements Kernel
 
     private void addPluginsToTheRegistry()
     {
+        if (prototype != null)
+        {
+            // fresh instances of the prototype plugins, whatever the plugins scanned now
+            for (Class<? extends Plugin> pluginClass : prototype.getPluginClasses())
+            {
+                pluginRegistry.add(pluginClass);
+            }
+            return;
+        }
         registerPluginsFromKernelConfiguration();
         if (options.get(KernelOptions.SCAN_PLUGIN))
         {
@@ -191,6 +223,15 @@ public final class KernelCore implements Kernel
 
     private void sortPlugins(FacetRegistry facetRegistry)
     {
+        if (prototype != null)
+        {
+            orderedPlugins = new ArrayList<>();
+            for (Class<? extends Plugin> pluginClass : prototype.getPluginClasses())
+            {
+                orderedPlugins.add(pluginRegistry.get(pluginClass));
+            }
+            return;
+        }
         ArrayList<Plugin> unOrderedPlugins = new ArrayList<>(pluginRegistry.getPlugins());
         logger.trace("unordered plugins: ({}) {}", unOrderedPlugins.size(), unOrderedPlugins);
         orderedPlugins = new PluginSortStrategy(facetRegistry, unOrderedPlugins).sortPlugins();
@@ -233,15 +274,43 @@ public final class KernelCore implements Kernel
     private void executeInitializationRounds()
     {
         logger.info("Initializing");
-        List<Plugin> nonInitializedPlugins = orderedPlugins;
-        while (allThePluginsAreNotInitialized(nonInitializedPlugins))
+        ExecutorService initExecutor = createExecutor(options.get(KernelOptions.PLUGIN_INIT_THREADS), "init");
+        try
         {
-            logger.info("Round #{}", round.number());
-            requestHandler.registerRequests(nonInitializedPlugins);
-            requestHandler.executeRequests();
-            nonInitializedPlugins = callPluginsInitMethod(nonInitializedPlugins, round.number());
-            round.next();
+            PluginInitScheduler initScheduler = initExecutor == null ? null : new PluginInitScheduler(dependencyProvider, initExecutor);
+            List<Plugin> nonInitializedPlugins = orderedPlugins;
+            while (allThePluginsAreNotInitialized(nonInitializedPlugins))
+            {
+                logger.info("Round #{}", round.number());
+                requestHandler.registerRequests(nonInitializedPlugins);
+                requestHandler.executeRequests(round.number());
+                int roundNumber = round.number();
+                if (initScheduler == null)
+                {
+                    nonInitializedPlugins = callPluginsInitMethod(nonInitializedPlugins, roundNumber);
+                } else
+                {
+                    nonInitializedPlugins = initScheduler.initPlugins(nonInitializedPlugins, plugin -> callPluginInitMethod(plugin, roundNumber));
+                }
+                round.next();
+            }
+        } finally
+        {
+            if (initExecutor != null)
+            {
+                initExecutor.shutdown();
+            }
+        }
+    }
+
+    private ExecutorService createExecutor(int pluginThreads, String phase)
+    {
+        int threads = Math.min(pluginThreads, orderedPlugins.size());
+        if (threads <= 1)
+        {
+            return null;
         }
+        return Executors.newFixedThreadPool(threads, KernelThreads.threadFactory(name + "-" + phase));
     }
 
     private boolean allThePluginsAreNotInitialized(List<Plugin> pluginsInTheRound)
@@ -254,9 +323,7 @@ public final class KernelCore implements Kernel
         List<Plugin> nonInitializedPlugins = new ArrayList<>();
         for (Plugin plugin : plugins)
         {
-            logger.info(" * {} plugin", plugin.name());
-            InitContext initContext = new InitContextInternal(kernelConfig.kernelParams().toMap(), requestHandler, round, dependencyProvider, plugin.getClass());
-            if (plugin.init(initContext) != InitState.INITIALIZED)
+            if (callPluginInitMethod(plugin, round) != InitState.INITIALIZED)
             {
                 nonInitializedPlugins.add(plugin);
             }
@@ -264,6 +331,13 @@ public final class KernelCore implements Kernel
         return nonInitializedPlugins;
     }
 
+    private InitState callPluginInitMethod(Plugin plugin, int round)
+    {
+        logger.info(" * {} plugin", plugin.name());
+        InitContext initContext = new InitContextInternal(kernelConfig.kernelParams().toMap(), requestHandler, round, dependencyProvider, plugin.getClass());
+        return plugin.init(initContext);
+    }
+
     /**
      * This methods will create both Global ModuleProviders : nominal and overriding.
      */
@@ -296,17 +370,102 @@ public final class KernelCore implements Kernel
     private void createMainInjector()
     {
         Stage stage = convertInjectionModeToGuiceStage(options.get(KernelOptions.DEPENDENCY_INJECTION_MODE));
-        mainInjector = Guice.createInjector(stage, mainModule);
+        if (options.get(KernelOptions.LAZY_PLUGIN_START))
+        {
+            lazyPluginActivator = createLazyPluginActivator();
+            mainInjector = Guice.createInjector(stage, mainModule, lazyPluginActivator.module());
+        } else
+        {
+            mainInjector = Guice.createInjector(stage, mainModule);
+        }
+    }
+
+    private LazyPluginActivator createLazyPluginActivator()
+    {
+        Map<Plugin, Set<Plugin>> predecessors = dependencyProvider.getPredecessorsOf(orderedPlugins);
+        Set<Plugin> lazyPlugins = LazyPluginActivator.lazyPluginsOf(orderedPlugins, predecessors, facetRegistry::exposesFacet);
+        LazyPluginActivator activator = new LazyPluginActivator(lazyPlugins, predecessors,
+                plugin -> bindAndStartPlugin(plugin, mainInjector.getInstance(Context.class)));
+        for (Plugin lazyPlugin : lazyPlugins)
+        {
+            logger.info("Deferring the start of {} plugin", lazyPlugin.name());
+            Set<Class<?>> boundClasses = requestHandler.getBoundClassesByPlugin().get(lazyPlugin.getClass());
+            if (boundClasses != null)
+            {
+                activator.addBoundClasses(lazyPlugin, boundClasses);
+            }
+            addUnitModule(activator, lazyPlugin, moduleHandler.getUnitModules().get(lazyPlugin.getClass()));
+            addUnitModule(activator, lazyPlugin, moduleHandler.getOverridingUnitModules().get(lazyPlugin.getClass()));
+        }
+        return activator;
+    }
+
+    private void addUnitModule(LazyPluginActivator activator, Plugin lazyPlugin, UnitModule unitModule)
+    {
+        if (unitModule != null)
+        {
+            activator.addModule(lazyPlugin, unitModule.nativeModule());
+        }
     }
 
     private void bindAndStartPlugins()
     {
         Context context = mainInjector.getInstance(Context.class);
+        List<Plugin> eagerPlugins = eagerPlugins();
+        ExecutorService startExecutor = createExecutor(options.get(KernelOptions.PLUGIN_LIFECYCLE_THREADS), "start");
+        if (startExecutor == null)
+        {
+            for (Plugin plugin : eagerPlugins)
+            {
+                bindAndStartPlugin(plugin, context);
+            }
+        } else
+        {
+            try
+            {
+                new PluginLevelScheduler(PluginLevelScheduler.levelsOf(eagerPlugins, dependencyProvider), startExecutor,
+                        options.get(KernelOptions.PLUGIN_LIFECYCLE_THREADS)).startPlugins(plugin -> bindAndStartPlugin(plugin, context));
+            } finally
+            {
+                startExecutor.shutdown();
+            }
+        }
+        if (lazyPluginActivator != null)
+        {
+            lazyPluginActivator.ready();
+        }
+    }
+
+    private List<Plugin> eagerPlugins()
+    {
+        List<Plugin> eagerPlugins = new ArrayList<>();
         for (Plugin plugin : orderedPlugins)
         {
-            mainInjector.injectMembers(plugin);
-            plugin.start(context);
+            if (lazyPluginActivator == null || !lazyPluginActivator.isLazy(plugin))
+            {
+                eagerPlugins.add(plugin);
+            }
         }
+        return eagerPlugins;
+    }
+
+    private List<Plugin> startedPlugins()
+    {
+        List<Plugin> startedPlugins = new ArrayList<>();
+        for (Plugin plugin : orderedPlugins)
+        {
+            if (lazyPluginActivator == null || !lazyPluginActivator.isLazy(plugin) || lazyPluginActivator.isStarted(plugin))
+            {
+                startedPlugins.add(plugin);
+            }
+        }
+        return startedPlugins;
+    }
+
+    private void bindAndStartPlugin(Plugin plugin, Context context)
+    {
+        mainInjector.injectMembers(plugin);
+        plugin.start(context);
     }
 
     private Stage convertInjectionModeToGuiceStage(DependencyInjectionMode dependencyInjectionMode)
@@ -336,7 +495,7 @@ public final class KernelCore implements Kernel
         if (isStarted())
         {
             extensionManager.stopping();
-            stopPluginsInReverseOrder();
+            stopPlugins();
             extensionManager.stopped();
             state = State.STOPPED;
         } else
@@ -345,9 +504,87 @@ public final class KernelCore implements Kernel
         }
     }
 
-    private void stopPluginsInReverseOrder()
+    /**
+     * Captures the state of this kernel once initialized, to create new kernels without scanning
+     * the classpath again.
+     *
+     * @return the prototype
+     */
+    public KernelPrototype toPrototype()
     {
-        ListIterator<Plugin> li = orderedPlugins.listIterator(orderedPlugins.size());
+        if (state == State.NOT_INITIALIZED)
+        {
+            throw new KernelException("Kernel is not initialized.");
+        }
+        List<Class<? extends Plugin>> pluginClasses = new ArrayList<>();
+        for (Plugin plugin : orderedPlugins)
+        {
+            pluginClasses.add(plugin.getClass());
+        }
+        return new KernelPrototypeInternal(kernelConfig, pluginClasses, requestHandler);
+    }
+
+    @Override
+    public CompletableFuture<Void> initAsync()
+    {
+        return CompletableFuture.runAsync(this::init, lifecycleExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> startAsync()
+    {
+        return CompletableFuture.runAsync(this::start, lifecycleExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> stopAsync()
+    {
+        return CompletableFuture.runAsync(this::stop, lifecycleExecutor);
+    }
+
+    private void stopPlugins()
+    {
+        if (lazyPluginActivator != null)
+        {
+            lazyPluginActivator.close();
+        }
+        List<Plugin> startedPlugins = startedPlugins();
+        int threads = Math.min(options.get(KernelOptions.PLUGIN_LIFECYCLE_THREADS), orderedPlugins.size());
+        long timeoutMillis = options.get(KernelOptions.PLUGIN_STOP_TIMEOUT);
+        if (threads <= 1 && timeoutMillis <= 0)
+        {
+            stopPluginsInReverseOrder(startedPlugins);
+            return;
+        }
+        // a plugin over its timeout keeps its thread, the next plugins are stopped in new threads
+        ExecutorService stopExecutor = Executors.newCachedThreadPool(KernelThreads.threadFactory(name + "-stop"));
+        try
+        {
+            new PluginLevelScheduler(threads <= 1 ? singletonLevels(startedPlugins) : PluginLevelScheduler.levelsOf(startedPlugins, dependencyProvider),
+                    stopExecutor, threads).stopPlugins(Plugin::stop, timeoutMillis);
+        } finally
+        {
+            stopExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param plugins the plugins
+     * @return one level per plugin, so the plugins are stopped one by one in reverse order
+     */
+    private static List<List<Plugin>> singletonLevels(List<Plugin> plugins)
+    {
+        List<List<Plugin>> levels = new ArrayList<>(plugins.size());
+        for (Plugin plugin : plugins)
+        {
+            levels.add(Collections.singletonList(plugin));
+        }
+        return levels;
+    }
+
+    private void stopPluginsInReverseOrder(List<Plugin> startedPlugins)
+    {
+        ListIterator<Plugin> li = startedPlugins.listIterator(startedPlugins.size());
         while (li.hasPrevious())
         {
             Plugin plugin = li.previous();
@@ -420,4 +657,10 @@ public final class KernelCore implements Kernel
     {
         return requestHandler.getUrls();
     }
+
+    @Override
+    public ScanStatistics scanStatistics()
+    {
+        return requestHandler.scanStatistics();
+    }
 }
@@ -0,0 +1,64 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.KernelPrototype;
+import io.nuun.kernel.api.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The prototype captured from an initialized {@link KernelCore}. The new kernels instantiate the
+ * plugin classes again, which therefore need a public no-arg constructor.
+ */
+class KernelPrototypeInternal implements KernelPrototype
+{
+    private final KernelConfigurationInternal kernelConfig;
+    private final List<Class<? extends Plugin>> pluginClasses;
+    private final RequestHandler requestHandler;
+
+    /**
+     * @param kernelConfig   the configuration of the initialized kernel
+     * @param pluginClasses  the plugin classes, sorted by their dependencies
+     * @param requestHandler the request handler of the initialized kernel, no longer modified
+     */
+    KernelPrototypeInternal(KernelConfigurationInternal kernelConfig, List<Class<? extends Plugin>> pluginClasses, RequestHandler requestHandler)
+    {
+        this.kernelConfig = kernelConfig;
+        this.pluginClasses = Collections.unmodifiableList(new ArrayList<>(pluginClasses));
+        this.requestHandler = requestHandler;
+    }
+
+    @Override
+    public Kernel newKernel()
+    {
+        return new KernelCore(kernelConfig, this);
+    }
+
+    List<Class<? extends Plugin>> getPluginClasses()
+    {
+        return pluginClasses;
+    }
+
+    RequestHandler newRequestHandler()
+    {
+        return new RequestHandler(requestHandler);
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads running the kernel lifecycle and the plugin work. The plugins mostly block on
+ * I/O in these threads: on JDK 21 and later the multi-release jar replaces this class by a version
+ * creating virtual threads.
+ */
+final class KernelThreads
+{
+    private KernelThreads()
+    {
+    }
+
+    /**
+     * @param prefix the thread name prefix, followed by the thread number
+     * @return a factory of daemon threads
+     */
+    static ThreadFactory threadFactory(String prefix)
+    {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
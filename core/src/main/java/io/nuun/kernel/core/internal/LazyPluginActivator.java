@@ -0,0 +1,272 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.spi.ElementSource;
+import com.google.inject.spi.ProvisionListener;
+import io.nuun.kernel.api.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Defers the start of the plugins exposing a facet until the injector first provisions one of their
+ * bindings: a binding of their unit modules or a class bound by their binding requests.
+ * <p>
+ * A plugin is only lazy when no eagerly started plugin depends on it, and the lazy plugins it depends
+ * on are activated before it. Each plugin is started once, whatever the number of threads asking for
+ * its bindings. The bindings provisioned while the kernel starts, for instance the eager singletons,
+ * activate their plugin right after the eager plugins are started.
+ * </p>
+ */
+class LazyPluginActivator
+{
+    private final Set<Plugin> lazyPlugins;
+    private final Map<Plugin, Set<Plugin>> predecessors;
+    private final Map<Class<?>, Plugin> pluginsByBoundClass = new HashMap<>();
+    private final Map<String, Plugin> pluginsByModuleClass = new HashMap<>();
+    private final Map<Plugin, Object> locks = new HashMap<>();
+    private final Map<Key<?>, Plugin> pluginsByKey = new ConcurrentHashMap<>();
+    private final Set<Plugin> startedPlugins = ConcurrentHashMap.newKeySet();
+    private final Set<Plugin> pendingPlugins = new HashSet<>();
+    private final Consumer<Plugin> starter;
+    private boolean ready;
+    private volatile boolean closed;
+
+    /**
+     * @param lazyPlugins  the lazy plugins, sorted by their dependencies
+     * @param predecessors the plugins each plugin depends on
+     * @param starter      starts a plugin
+     */
+    LazyPluginActivator(Set<Plugin> lazyPlugins, Map<Plugin, Set<Plugin>> predecessors, Consumer<Plugin> starter)
+    {
+        this.lazyPlugins = lazyPlugins;
+        this.predecessors = predecessors;
+        this.starter = starter;
+        for (Plugin lazyPlugin : lazyPlugins)
+        {
+            locks.put(lazyPlugin, new Object());
+        }
+    }
+
+    /**
+     * Selects the lazy plugins: the plugins exposing a facet which no eager plugin depends on.
+     *
+     * @param sortedPlugins the plugins sorted by their dependencies
+     * @param predecessors  the plugins each plugin depends on
+     * @param exposesFacet  tells whether a plugin exposes a facet
+     * @return the lazy plugins, sorted by their dependencies
+     */
+    static Set<Plugin> lazyPluginsOf(List<Plugin> sortedPlugins, Map<Plugin, Set<Plugin>> predecessors, Predicate<Plugin> exposesFacet)
+    {
+        Set<Plugin> eagerPlugins = new HashSet<>();
+        // the dependent plugins are visited first, an eager plugin makes its dependencies eager
+        for (int i = sortedPlugins.size() - 1; i >= 0; i--)
+        {
+            Plugin plugin = sortedPlugins.get(i);
+            if (!exposesFacet.test(plugin) || eagerPlugins.contains(plugin))
+            {
+                eagerPlugins.add(plugin);
+                eagerPlugins.addAll(predecessors.get(plugin));
+            }
+        }
+        Set<Plugin> lazyPlugins = new LinkedHashSet<>();
+        for (Plugin plugin : sortedPlugins)
+        {
+            if (!eagerPlugins.contains(plugin))
+            {
+                lazyPlugins.add(plugin);
+            }
+        }
+        return lazyPlugins;
+    }
+
+    void addBoundClasses(Plugin lazyPlugin, Set<Class<?>> boundClasses)
+    {
+        for (Class<?> boundClass : boundClasses)
+        {
+            pluginsByBoundClass.put(boundClass, lazyPlugin);
+        }
+    }
+
+    void addModule(Plugin lazyPlugin, Object nativeModule)
+    {
+        pluginsByModuleClass.put(nativeModule.getClass().getName(), lazyPlugin);
+    }
+
+    boolean isLazy(Plugin plugin)
+    {
+        return lazyPlugins.contains(plugin);
+    }
+
+    boolean isStarted(Plugin plugin)
+    {
+        return startedPlugins.contains(plugin);
+    }
+
+    /**
+     * @return the module listening to the provisions of the lazy plugin bindings
+     */
+    Module module()
+    {
+        return new AbstractModule()
+        {
+            @Override
+            protected void configure()
+            {
+                bindListener(new AbstractMatcher<Binding<?>>()
+                {
+                    @Override
+                    public boolean matches(Binding<?> binding)
+                    {
+                        Plugin plugin = pluginOf(binding);
+                        if (plugin != null)
+                        {
+                            pluginsByKey.put(binding.getKey(), plugin);
+                        }
+                        return plugin != null;
+                    }
+                }, new ProvisionListener()
+                {
+                    @Override
+                    public <T> void onProvision(ProvisionInvocation<T> provision)
+                    {
+                        Plugin plugin = pluginsByKey.get(provision.getBinding().getKey());
+                        if (plugin != null)
+                        {
+                            activate(plugin);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    private Plugin pluginOf(Binding<?> binding)
+    {
+        Key<?> key = binding.getKey();
+        if (key.getAnnotationType() == null && pluginsByBoundClass.containsKey(key.getTypeLiteral().getRawType()))
+        {
+            return pluginsByBoundClass.get(key.getTypeLiteral().getRawType());
+        }
+        // the overriding of the main module records the bindings again, their original source is kept
+        ElementSource elementSource = binding.getSource() instanceof ElementSource ? (ElementSource) binding.getSource() : null;
+        while (elementSource != null)
+        {
+            for (String moduleClassName : elementSource.getModuleClassNames())
+            {
+                if (pluginsByModuleClass.containsKey(moduleClassName))
+                {
+                    return pluginsByModuleClass.get(moduleClassName);
+                }
+            }
+            elementSource = elementSource.getOriginalElementSource();
+        }
+        return null;
+    }
+
+    /**
+     * Allows the activations once the eager plugins are started, and activates the plugins whose
+     * bindings were provisioned in the meantime.
+     */
+    void ready()
+    {
+        List<Plugin> plugins = new ArrayList<>();
+        synchronized (pendingPlugins)
+        {
+            ready = true;
+            for (Plugin lazyPlugin : lazyPlugins)
+            {
+                if (pendingPlugins.contains(lazyPlugin))
+                {
+                    plugins.add(lazyPlugin);
+                }
+            }
+            pendingPlugins.clear();
+        }
+        for (Plugin plugin : plugins)
+        {
+            activate(plugin);
+        }
+    }
+
+    /**
+     * Starts a lazy plugin, after the lazy plugins it depends on, unless it is already started.
+     *
+     * @param plugin the plugin to start
+     */
+    void activate(Plugin plugin)
+    {
+        if (startedPlugins.contains(plugin))
+        {
+            return;
+        }
+        synchronized (pendingPlugins)
+        {
+            if (!ready)
+            {
+                pendingPlugins.add(plugin);
+                return;
+            }
+        }
+        synchronized (locks.get(plugin))
+        {
+            if (closed || startedPlugins.contains(plugin))
+            {
+                return;
+            }
+            for (Plugin predecessor : predecessors.get(plugin))
+            {
+                if (lazyPlugins.contains(predecessor))
+                {
+                    activate(predecessor);
+                }
+            }
+            starter.accept(plugin);
+            startedPlugins.add(plugin);
+        }
+    }
+
+    /**
+     * Prevents any further activation, the kernel is stopping.
+     */
+    void close()
+    {
+        closed = true;
+        // waits for the activations in progress
+        for (Object lock : locks.values())
+        {
+            synchronized (lock)
+            {
+                closed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import io.nuun.kernel.api.Plugin;
+import io.nuun.kernel.api.plugin.InitState;
+import io.nuun.kernel.core.KernelException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Calls the init method of the plugins of a round concurrently. A plugin is initialized as soon as
+ * the plugins it depends on in the round, through its required plugins or through the dependent
+ * plugins declared by the others, are done with the round. The plugins without any relationship
+ * are initialized concurrently.
+ * <p>
+ * When a plugin fails, the plugins depending on it are not initialized and the failure of the first
+ * plugin in the sorted order is thrown once the other plugins are done.
+ * </p>
+ */
+class PluginInitScheduler
+{
+    private final DependencyProvider dependencyProvider;
+    private final Executor executor;
+
+    PluginInitScheduler(DependencyProvider dependencyProvider, Executor executor)
+    {
+        this.dependencyProvider = dependencyProvider;
+        this.executor = executor;
+    }
+
+    /**
+     * Initializes the plugins of a round.
+     *
+     * @param plugins     the plugins of the round, sorted by their dependencies
+     * @param initializer calls the init method of a plugin
+     * @return the plugins which are not initialized, in the order of the given plugins
+     */
+    List<Plugin> initPlugins(List<Plugin> plugins, Function<Plugin, InitState> initializer)
+    {
+        Map<Plugin, Set<Plugin>> predecessors = dependencyProvider.getPredecessorsOf(plugins);
+        Map<Plugin, CompletableFuture<InitState>> initStates = new LinkedHashMap<>();
+        for (Plugin plugin : plugins)
+        {
+            // the plugins are sorted, the predecessors of a plugin are already scheduled
+            CompletableFuture<?>[] dependencies = predecessors.get(plugin).stream()
+                    .map(initStates::get)
+                    .toArray(CompletableFuture[]::new);
+            initStates.put(plugin, CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> initializer.apply(plugin), executor));
+        }
+        return nonInitializedPlugins(initStates);
+    }
+
+    private List<Plugin> nonInitializedPlugins(Map<Plugin, CompletableFuture<InitState>> initStates)
+    {
+        List<Plugin> nonInitializedPlugins = new ArrayList<>();
+        Throwable failure = null;
+        for (Map.Entry<Plugin, CompletableFuture<InitState>> initState : initStates.entrySet())
+        {
+            try
+            {
+                if (initState.getValue().join() != InitState.INITIALIZED)
+                {
+                    nonInitializedPlugins.add(initState.getKey());
+                }
+            } catch (CompletionException e)
+            {
+                if (failure == null)
+                {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null)
+        {
+            throw propagate(failure, "Plugin initialization failed");
+        }
+        return nonInitializedPlugins;
+    }
+
+    static RuntimeException propagate(Throwable failure, String message)
+    {
+        if (failure instanceof RuntimeException)
+        {
+            return (RuntimeException) failure;
+        } else if (failure instanceof Error)
+        {
+            throw (Error) failure;
+        }
+        return new KernelException(message, failure);
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import io.nuun.kernel.api.Plugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static io.nuun.kernel.core.internal.PluginInitScheduler.propagate;
+
+/**
+ * Starts and stops the plugins level by level. A level holds the plugins whose dependencies are all
+ * in the previous levels. The plugins of a level are started concurrently once the previous level is
+ * started, and stopped concurrently once the next level is stopped. At most {@code threads} plugins
+ * run at the same time: a plugin over its stop timeout gives its place to the next plugin, so with
+ * an executor able to create more threads, a plugin ignoring its interruption does not hold back
+ * the others.
+ */
+class PluginLevelScheduler
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PluginLevelScheduler.class);
+
+    private final List<List<Plugin>> levels;
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+
+    /**
+     * @param levels          the plugins by dependency level
+     * @param executorService the executor running the plugins
+     * @param threads         the number of plugins running at the same time
+     */
+    PluginLevelScheduler(List<List<Plugin>> levels, ExecutorService executorService, int threads)
+    {
+        this.levels = levels;
+        this.executorService = executorService;
+        this.permits = new Semaphore(Math.max(1, threads));
+    }
+
+    /**
+     * Groups the plugins by dependency level.
+     *
+     * @param sortedPlugins      the plugins sorted by their dependencies
+     * @param dependencyProvider gives the dependencies of the plugins
+     * @return the levels, from the plugins without dependencies to the plugins nothing depends on
+     */
+    static List<List<Plugin>> levelsOf(List<Plugin> sortedPlugins, DependencyProvider dependencyProvider)
+    {
+        Map<Plugin, Set<Plugin>> predecessors = dependencyProvider.getPredecessorsOf(sortedPlugins);
+        Map<Plugin, Integer> levelByPlugin = new HashMap<>();
+        List<List<Plugin>> levels = new ArrayList<>();
+        for (Plugin plugin : sortedPlugins)
+        {
+            // the plugins are sorted, the levels of the predecessors are already known
+            int level = 0;
+            for (Plugin predecessor : predecessors.get(plugin))
+            {
+                level = Math.max(level, levelByPlugin.get(predecessor) + 1);
+            }
+            levelByPlugin.put(plugin, level);
+            if (level == levels.size())
+            {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(plugin);
+        }
+        return levels;
+    }
+
+    /**
+     * Starts the levels in order. A failing plugin stops the start once the other plugins of its
+     * level are started.
+     *
+     * @param starter starts a plugin
+     */
+    void startPlugins(Consumer<Plugin> starter)
+    {
+        for (List<Plugin> level : levels)
+        {
+            Throwable failure = runLevel(level, starter, 0);
+            if (failure != null)
+            {
+                throw propagate(failure, "Plugin start failed");
+            }
+        }
+    }
+
+    /**
+     * Stops the levels in reverse order. A plugin not stopped within the timeout, counted from the
+     * call of its own stop, is interrupted and the next level is stopped. A failing plugin does not
+     * prevent the other plugins from being stopped, the first failure is thrown at the end.
+     *
+     * @param stopper       stops a plugin
+     * @param timeoutMillis the time given to each plugin to stop, or 0 to wait for the plugins
+     */
+    void stopPlugins(Consumer<Plugin> stopper, long timeoutMillis)
+    {
+        Throwable failure = null;
+        for (int i = levels.size() - 1; i >= 0; i--)
+        {
+            Throwable levelFailure = runLevel(levels.get(i), stopper, timeoutMillis);
+            if (failure == null)
+            {
+                failure = levelFailure;
+            }
+        }
+        if (failure != null)
+        {
+            throw propagate(failure, "Plugin stop failed");
+        }
+    }
+
+    private Throwable runLevel(List<Plugin> level, Consumer<Plugin> action, long timeoutMillis)
+    {
+        List<PluginTask> tasks = new ArrayList<>(level.size());
+        for (Plugin plugin : level)
+        {
+            PluginTask task = new PluginTask(plugin, action);
+            task.future = executorService.submit(task);
+            tasks.add(task);
+        }
+        Throwable failure = null;
+        for (PluginTask task : tasks)
+        {
+            try
+            {
+                task.await(timeoutMillis);
+            } catch (TimeoutException e)
+            {
+                task.abandon();
+                LOGGER.warn("Plugin {} did not stop within {} ms", task.plugin.name(), timeoutMillis);
+            } catch (ExecutionException e)
+            {
+                if (failure == null)
+                {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                for (PluginTask remainingTask : tasks)
+                {
+                    remainingTask.future.cancel(true);
+                }
+                return e;
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Runs the action of a plugin once a permit is available. The timeout of the plugin starts with
+     * its action, so a plugin waiting for a permit is never timed out.
+     */
+    private class PluginTask implements Runnable
+    {
+        private final Plugin plugin;
+        private final Consumer<Plugin> action;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final AtomicBoolean permitHeld = new AtomicBoolean();
+        private volatile long startNanos;
+        private Future<?> future;
+
+        PluginTask(Plugin plugin, Consumer<Plugin> action)
+        {
+            this.plugin = plugin;
+            this.action = action;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                permits.acquire();
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                started.countDown();
+                return;
+            }
+            permitHeld.set(true);
+            startNanos = System.nanoTime();
+            started.countDown();
+            try
+            {
+                action.accept(plugin);
+            } finally
+            {
+                releasePermit();
+            }
+        }
+
+        void await(long timeoutMillis) throws InterruptedException, ExecutionException, TimeoutException
+        {
+            if (timeoutMillis <= 0)
+            {
+                future.get();
+                return;
+            }
+            started.await();
+            long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Interrupts the plugin and gives its permit to the next plugin.
+         */
+        void abandon()
+        {
+            future.cancel(true);
+            releasePermit();
+        }
+
+        private void releasePermit()
+        {
+            if (permitHeld.compareAndSet(true, false))
+            {
+                permits.release();
+            }
+        }
+    }
+}
@@ -26,11 +26,17 @@ import io.nuun.kernel.api.config.KernelOptions;
 import io.nuun.kernel.api.plugin.request.BindingRequest;
 import io.nuun.kernel.api.plugin.request.ClasspathScanRequest;
 import io.nuun.kernel.api.plugin.request.RequestType;
+import io.nuun.kernel.api.statistics.ClassLoadingStatistics;
+import io.nuun.kernel.api.statistics.RequestStatistics;
+import io.nuun.kernel.api.statistics.RequestStatistics.Kind;
+import io.nuun.kernel.api.statistics.ScanStatistics;
 import io.nuun.kernel.core.KernelException;
 import io.nuun.kernel.core.internal.injection.ModuleEmbedded;
 import io.nuun.kernel.core.internal.scanner.ClasspathScanner;
 import io.nuun.kernel.core.internal.scanner.ClasspathScannerFactory;
+import io.nuun.kernel.core.internal.scanner.UrlStatisticsRecorder;
 import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.core.internal.utils.ClassResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,13 +47,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
-import static io.nuun.kernel.api.config.KernelOptions.CLASSPATH_SCAN_MODE;
 import static io.nuun.kernel.api.config.KernelOptions.PRINT_SCAN_WARN;
 import static io.nuun.kernel.core.internal.utils.NuunReflectionUtils.instantiateOrFail;
 import static java.util.Collections.unmodifiableMap;
@@ -99,12 +106,32 @@ public class RequestHandler extends ScanResults
 
     private final Map<Class<?>, Object> classesWithScopes = new HashMap<>();
     private final Map<Key, Object> mapOfScopes = new HashMap<>();
+    private final Map<Predicate<Class<?>>, Collection<Class<?>>> predicateResults = new HashMap<>();
+
+    // Requests already executed against the current classpath index
+    private final Set<Key> executedScanRequests = new HashSet<>();
+    private final Set<Key> executedBindingRequests = new HashSet<>();
+    private final Set<String> executedPropertiesPrefixes = new HashSet<>();
+    private final Set<Class<?>> kernelModuleClasses = new LinkedHashSet<>();
+    private boolean kernelModulesScanned;
+
+    // Plugins which made each request and the statistics of the executed requests
+    private final Map<Key, Set<Class<? extends Plugin>>> scanRequestPlugins = new HashMap<>();
+    private final Map<Key, Set<Class<? extends Plugin>>> bindingRequestPlugins = new HashMap<>();
+    private final Map<Class<? extends Plugin>, Set<Class<?>>> boundClassesByPlugin = new HashMap<>();
+    private final Map<Predicate<Class<?>>, Long> predicateNanos = new HashMap<>();
+    private final List<RequestStatistics> requestStatistics = new ArrayList<>();
+    private int round;
 
     private final List<String> packageRoots;
+    private final List<String> scannedPackageRoots = new ArrayList<>();
+    private final Set<URL> scannedAdditionalClasspath = new HashSet<>();
 
     private Set<URL> additionalClasspathScan;
     private ClasspathStrategy classpathStrategy;
     private ClasspathScanner classpathScanner;
+    // the kernels created from a prototype share its classpath index
+    private final Object scannerLock;
     private KernelOptions options;
 
     public RequestHandler(Map<String, String> kernelParams, KernelOptions options)
@@ -115,6 +142,41 @@ public class RequestHandler extends ScanResults
         this.propertiesPrefix.add(Kernel.NUUN_PROPERTIES_PREFIX);
         this.additionalClasspathScan = new HashSet<>();
         this.options = options;
+        this.scannerLock = new Object();
+    }
+
+    /**
+     * Creates a request handler from the one of an initialized kernel. The requests it executed are
+     * not executed again and its classpath index is not rebuilt: only the requests identified by an
+     * instance, like the class predicates of the new plugins, are evaluated against the index. The
+     * kernel modules are instantiated again.
+     *
+     * @param prototype the request handler of the initialized kernel
+     */
+    RequestHandler(RequestHandler prototype)
+    {
+        super(prototype);
+        this.packageRoots = new LinkedList<>();
+        this.additionalClasspathScan = new HashSet<>(prototype.additionalClasspathScan);
+        this.classpathStrategy = prototype.classpathStrategy;
+        this.classpathScanner = prototype.classpathScanner;
+        this.scannerLock = prototype.scannerLock;
+        this.options = prototype.options;
+        this.propertiesPrefix.add(Kernel.NUUN_PROPERTIES_PREFIX);
+        this.scannedPackageRoots.addAll(prototype.scannedPackageRoots);
+        this.scannedAdditionalClasspath.addAll(prototype.scannedAdditionalClasspath);
+        this.executedScanRequests.addAll(prototype.executedScanRequests);
+        this.executedBindingRequests.addAll(prototype.executedBindingRequests);
+        this.executedPropertiesPrefixes.addAll(prototype.executedPropertiesPrefixes);
+        this.classesWithScopes.putAll(prototype.classesWithScopes);
+        this.mapOfScopes.putAll(prototype.mapOfScopes);
+        this.boundClassesByPlugin.putAll(prototype.boundClassesByPlugin);
+        this.requestStatistics.addAll(prototype.requestStatistics);
+        this.kernelModulesScanned = prototype.kernelModulesScanned;
+        for (Class<?> kernelModuleClass : prototype.kernelModuleClasses)
+        {
+            addKernelModule(kernelModuleClass.asSubclass(Module.class));
+        }
     }
 
     private void setClasspathStrategy(Map<String, String> kernelParams)
@@ -166,6 +228,9 @@ public class RequestHandler extends ScanResults
                     case SUBTYPE_OF_BY_REGEX_MATCH:
                         addParentTypeRegexesToScan((String) request.objectRequested);
                         break;
+                    case ANCESTOR_OF_BY_CLASS:
+                        addAncestorTypeClassToScan((Class<?>) request.objectRequested);
+                        break;
                     case RESOURCES_REGEX_MATCH:
                         addResourcesRegexToScan((String) request.objectRequested);
                         break;
@@ -179,6 +244,8 @@ public class RequestHandler extends ScanResults
                         logger.warn("{} is not a ClasspathScanRequestType a o_O", request.requestType);
                         break;
                 }
+                Object criteria = request.requestType == RequestType.CLASS_PREDICATE ? request.classPredicate : request.objectRequested;
+                addRequestPlugin(scanRequestPlugins, request.requestType, criteria, plugin);
             }
         }
     }
@@ -218,29 +285,174 @@ public class RequestHandler extends ScanResults
                         logger.warn("{} is not a BindingRequestType o_O !", request.requestType);
                         break;
                 }
+                Object criteria = request.requestType == RequestType.CLASS_PREDICATE ? request.predicate : request.requestedObject;
+                addRequestPlugin(bindingRequestPlugins, request.requestType, criteria, plugin);
             }
         }
     }
 
-    public void executeRequests()
+    private void addRequestPlugin(Map<Key, Set<Class<? extends Plugin>>> requestPlugins, RequestType requestType, Object criteria, Plugin plugin)
     {
-        initScanner();
+        Key key = key(requestType, criteria);
+        Set<Class<? extends Plugin>> plugins = requestPlugins.get(key);
+        if (plugins == null)
+        {
+            plugins = new LinkedHashSet<>();
+            requestPlugins.put(key, plugins);
+        }
+        plugins.add(plugin.getClass());
+    }
 
-        scanKernelModules();
-        scanClasses();
-        scanClassesToBind();
-        scanResources();
-        scanPropertyFiles();
+    /**
+     * Executes the registered requests. The classpath index is built on the first call and reused by
+     * the next ones. It is only extended when URLs or package roots were added in the meantime,
+     * otherwise only the requests which were not already executed are run.
+     *
+     * @param round the number of the round, recorded in the request statistics
+     */
+    public void executeRequests(int round)
+    {
+        synchronized (scannerLock)
+        {
+            this.round = round;
+            initScanner();
+            matchRegexes();
+            evaluatePredicates();
+
+            scanKernelModules();
+            scanClasses();
+            scanClassesToBind();
+            scanResources();
+            scanPropertyFiles();
+            predicateResults.clear();
+            predicateNanos.clear();
+        }
+    }
+
+    /**
+     * Executes a request and records its cost and its number of matches. The cost of the class
+     * predicates includes their share of the traversal evaluating all of them.
+     */
+    private <T extends Collection<?>> T measure(Kind kind, RequestType requestType, Object criteria, Supplier<T> request)
+    {
+        long start = System.nanoTime();
+        T results = request.get();
+        long nanos = System.nanoTime() - start;
+        if (requestType == RequestType.CLASS_PREDICATE && predicateNanos.containsKey(criteria))
+        {
+            nanos += predicateNanos.get(criteria);
+        }
+        Set<Class<? extends Plugin>> plugins = (kind == Kind.SCAN ? scanRequestPlugins : bindingRequestPlugins).get(key(requestType, criteria));
+        if (kind == Kind.BINDING && plugins != null)
+        {
+            for (Class<? extends Plugin> plugin : plugins)
+            {
+                for (Object boundClass : results)
+                {
+                    boundClassesByPlugin.computeIfAbsent(plugin, k -> new HashSet<>()).add((Class<?>) boundClass);
+                }
+            }
+        }
+        String criteriaName = criteria instanceof Class ? ((Class<?>) criteria).getName() : String.valueOf(criteria);
+        requestStatistics.add(new RequestStatistics(round, kind, requestType, criteriaName,
+                plugins == null ? new HashSet<>() : new LinkedHashSet<>(plugins), results.size(), nanos));
+        return results;
+    }
+
+    public ScanStatistics scanStatistics()
+    {
+        if (classpathScanner == null)
+        {
+            return new ScanStatistics(new ArrayList<>(), new HashMap<>(), requestStatistics);
+        }
+        UrlStatisticsRecorder urlStatistics = classpathScanner.getStatistics();
+        ClassResolver classResolver = classpathScanner.getClassResolver();
+        return new ScanStatistics(urlStatistics.urlStatistics(), urlStatistics.scannerNanos(), requestStatistics,
+                new ClassLoadingStatistics(classResolver.loadedCount(), classResolver.missingCount(), classResolver.loadingNanos()));
     }
 
     private void initScanner()
     {
-        printWarnWhenScanningAllClasspath();
-        ClasspathScannerFactory classpathScannerFactory = new ClasspathScannerFactory(options.get(CLASSPATH_SCAN_MODE));
-        classpathScanner = classpathScannerFactory.create(classpathStrategy, additionalClasspathScan, packageRoots);
+        if (classpathScanner == null)
+        {
+            printWarnWhenScanningAllClasspath();
+            ClasspathScannerFactory classpathScannerFactory = new ClasspathScannerFactory(options);
+            classpathScanner = classpathScannerFactory.create(classpathStrategy, additionalClasspathScan, packageRoots);
+            markClasspathAsScanned();
+        } else if (classpathHasChanged())
+        {
+            logger.debug("Extending the classpath index with {} and {}", additionalClasspathScan, packageRoots);
+            computeHandleResults();
+            classpathScanner.extend(additionalClasspathScan, packageRoots);
+            markClasspathAsScanned();
+            forgetExecutedRequests();
+        }
         addUrls(classpathScanner.getUrls());
     }
 
+    private void matchRegexes()
+    {
+        // the regexes of all the requests are matched in a single pass over the index
+        Set<String> typeRegexes = new HashSet<>(typesRegexToScan);
+        typeRegexes.addAll(parentTypesRegexToScan);
+        typeRegexes.addAll(parentTypesRegexToBind);
+        Set<String> annotationRegexes = new HashSet<>(annotationRegexToScan);
+        annotationRegexes.addAll(annotationRegexToBind);
+        classpathScanner.matchRegexes(typeRegexes, annotationRegexes);
+    }
+
+    private void evaluatePredicates()
+    {
+        // the predicates of all the requests are evaluated in a single traversal of the index
+        Set<Predicate<Class<?>>> predicates = new LinkedHashSet<>();
+        for (Predicate<Class<?>> predicate : predicatesToScan)
+        {
+            if (!executedScanRequests.contains(key(RequestType.CLASS_PREDICATE, predicate)))
+            {
+                predicates.add(predicate);
+            }
+        }
+        for (Predicate<Class<?>> predicate : predicatesToBind)
+        {
+            if (!executedBindingRequests.contains(key(RequestType.CLASS_PREDICATE, predicate)))
+            {
+                predicates.add(predicate);
+            }
+        }
+        long start = System.nanoTime();
+        predicateResults.putAll(classpathScanner.scanTypes(predicates));
+        // the traversal is shared evenly by the predicates in the request statistics
+        long share = predicates.isEmpty() ? 0 : (System.nanoTime() - start) / predicates.size();
+        for (Predicate<Class<?>> predicate : predicates)
+        {
+            predicateNanos.put(predicate, share);
+        }
+    }
+
+    private boolean classpathHasChanged()
+    {
+        return !scannedPackageRoots.containsAll(packageRoots) || !scannedAdditionalClasspath.containsAll(additionalClasspathScan);
+    }
+
+    private void markClasspathAsScanned()
+    {
+        scannedPackageRoots.addAll(packageRoots);
+        scannedAdditionalClasspath.addAll(additionalClasspathScan);
+    }
+
+    private void forgetExecutedRequests()
+    {
+        executedScanRequests.clear();
+        executedBindingRequests.clear();
+        executedPropertiesPrefixes.clear();
+        kernelModulesScanned = false;
+    }
+
+    private boolean firstExecutionOf(Set<Key> executedRequests, RequestType requestType, Object criteria)
+    {
+        return executedRequests.add(key(requestType, criteria));
+    }
+
     private void printWarnWhenScanningAllClasspath()
     {
         if (packageRoots.isEmpty() && options.get(PRINT_SCAN_WARN))
@@ -252,21 +464,34 @@ public class RequestHandler extends ScanResults
     @SuppressWarnings("unchecked")
     private void scanKernelModules()
     {
+        if (kernelModulesScanned)
+        {
+            return;
+        }
+        kernelModulesScanned = true;
         Collection<Class<? extends Module>> scanResult = (Collection) classpathScanner.scanTypesAnnotatedBy(KernelModule.class);
 
         for (Class<? extends Module> moduleClass : scanResult)
         {
             if (isNotAbstract(moduleClass))
             {
-                ModuleEmbedded module = new ModuleEmbedded(instantiateOrFail(moduleClass));
+                addKernelModule(moduleClass);
+            }
+        }
+    }
 
-                if (isOverridingModule(moduleClass))
-                {
-                    addChildOverridingModule(module);
-                } else
-                {
-                    addChildModule(module);
-                }
+    private void addKernelModule(Class<? extends Module> moduleClass)
+    {
+        if (kernelModuleClasses.add(moduleClass))
+        {
+            ModuleEmbedded module = new ModuleEmbedded(instantiateOrFail(moduleClass));
+
+            if (isOverridingModule(moduleClass))
+            {
+                addChildOverridingModule(module);
+            } else
+            {
+                addChildModule(module);
             }
         }
     }
@@ -286,32 +511,70 @@ public class RequestHandler extends ScanResults
     {
         for (final Class<?> parentType : parentTypesClassesToScan)
         {
-            super.addSubtypes(parentType, classpathScanner.scanSubTypesOf(parentType));
+            if (firstExecutionOf(executedScanRequests, RequestType.SUBTYPE_OF_BY_CLASS, parentType))
+            {
+                super.addSubtypes(parentType, measure(Kind.SCAN, RequestType.SUBTYPE_OF_BY_CLASS, parentType,
+                        () -> classpathScanner.scanSubTypesOf(parentType)));
+                super.addSubTypeHandles(parentType, () -> classpathScanner.scanSubTypeHandlesOf(parentType));
+            }
         }
 
         for (final String typeName : parentTypesRegexToScan)
         {
-            super.addSubTypesByName(typeName, classpathScanner.scanSubTypesOf(typeName));
+            if (firstExecutionOf(executedScanRequests, RequestType.SUBTYPE_OF_BY_REGEX_MATCH, typeName))
+            {
+                super.addSubTypesByName(typeName, measure(Kind.SCAN, RequestType.SUBTYPE_OF_BY_REGEX_MATCH, typeName,
+                        () -> classpathScanner.scanSubTypesOf(typeName)));
+                super.addSubTypeHandlesByName(typeName, () -> classpathScanner.scanSubTypeHandlesOf(typeName));
+            }
+        }
+
+        for (final Class<?> childType : ancestorTypesClassesToScan)
+        {
+            if (firstExecutionOf(executedScanRequests, RequestType.ANCESTOR_OF_BY_CLASS, childType))
+            {
+                super.addAncestorTypes(childType, measure(Kind.SCAN, RequestType.ANCESTOR_OF_BY_CLASS, childType,
+                        () -> classpathScanner.scanAncestorTypesOf(childType)));
+                super.addAncestorTypeHandles(childType, () -> classpathScanner.scanAncestorTypeHandlesOf(childType));
+            }
         }
 
         for (final String typeName : typesRegexToScan)
         {
-            super.addTypesByName(typeName, classpathScanner.scanTypes(typeName));
+            if (firstExecutionOf(executedScanRequests, RequestType.TYPE_OF_BY_REGEX_MATCH, typeName))
+            {
+                super.addTypesByName(typeName, measure(Kind.SCAN, RequestType.TYPE_OF_BY_REGEX_MATCH, typeName,
+                        () -> classpathScanner.scanTypes(typeName)));
+                super.addTypeHandlesByName(typeName, () -> classpathScanner.scanTypeHandles(typeName));
+            }
         }
 
         for (final Predicate<Class<?>> spec : predicatesToScan)
         {
-            super.addTypesByPredicate(spec, classpathScanner.scanTypes(spec));
+            if (firstExecutionOf(executedScanRequests, RequestType.CLASS_PREDICATE, spec))
+            {
+                super.addTypesByPredicate(spec, measure(Kind.SCAN, RequestType.CLASS_PREDICATE, spec, () -> predicateResults.get(spec)));
+            }
         }
 
         for (final Class<? extends Annotation> annotationType : annotationTypesToScan)
         {
-            super.addAnnotationTypes(annotationType, classpathScanner.scanTypesAnnotatedBy(annotationType));
+            if (firstExecutionOf(executedScanRequests, RequestType.ANNOTATION_TYPE, annotationType))
+            {
+                super.addAnnotationTypes(annotationType, measure(Kind.SCAN, RequestType.ANNOTATION_TYPE, annotationType,
+                        () -> classpathScanner.scanTypesAnnotatedBy(annotationType)));
+                super.addAnnotationTypeHandles(annotationType, () -> classpathScanner.scanTypeHandlesAnnotatedBy(annotationType));
+            }
         }
 
         for (final String annotationName : annotationRegexToScan)
         {
-            super.addAnnotationTypesByName(annotationName, classpathScanner.scanTypesAnnotatedBy(annotationName));
+            if (firstExecutionOf(executedScanRequests, RequestType.ANNOTATION_REGEX_MATCH, annotationName))
+            {
+                super.addAnnotationTypesByName(annotationName, measure(Kind.SCAN, RequestType.ANNOTATION_REGEX_MATCH, annotationName,
+                        () -> classpathScanner.scanTypesAnnotatedBy(annotationName)));
+                super.addAnnotationTypeHandlesByName(annotationName, () -> classpathScanner.scanTypeHandlesAnnotatedBy(annotationName));
+            }
         }
     }
 
@@ -319,7 +582,12 @@ public class RequestHandler extends ScanResults
     {
         for (final Class<?> parentType : parentTypesClassesToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanSubTypesOf(parentType);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.SUBTYPE_OF_BY_CLASS, parentType))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.SUBTYPE_OF_BY_CLASS, parentType,
+                    () -> classpathScanner.scanSubTypesOf(parentType));
             RequestType requestType = RequestType.SUBTYPE_OF_BY_CLASS;
             addScopeToClasses(scanResult, scope(requestType, parentType), classesWithScopes);
 
@@ -329,7 +597,12 @@ public class RequestHandler extends ScanResults
         // TODO vérifier si ok parent types vs type. si ok changer de nom
         for (final String typeName : parentTypesRegexToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanTypes(typeName);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.SUBTYPE_OF_BY_REGEX_MATCH, typeName))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.SUBTYPE_OF_BY_REGEX_MATCH, typeName,
+                    () -> classpathScanner.scanTypes(typeName));
             RequestType requestType = RequestType.SUBTYPE_OF_BY_REGEX_MATCH;
             addScopeToClasses(scanResult, scope(requestType, typeName), classesWithScopes);
             addClassesToBind(scanResult);
@@ -337,7 +610,12 @@ public class RequestHandler extends ScanResults
 
         for (final Predicate<Class<?>> classPredicate : predicatesToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanTypes(classPredicate);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.CLASS_PREDICATE, classPredicate))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.CLASS_PREDICATE, classPredicate,
+                    () -> predicateResults.get(classPredicate));
             RequestType requestType = RequestType.CLASS_PREDICATE;
             addScopeToClasses(scanResult, scope(requestType, classPredicate), classesWithScopes);
             addClassesToBind(scanResult);
@@ -345,7 +623,12 @@ public class RequestHandler extends ScanResults
 
         for (final Class<? extends Annotation> annotationType : annotationTypesToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanTypesAnnotatedBy(annotationType);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.ANNOTATION_TYPE, annotationType))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.ANNOTATION_TYPE, annotationType,
+                    () -> classpathScanner.scanTypesAnnotatedBy(annotationType));
             RequestType requestType = RequestType.ANNOTATION_TYPE;
             addScopeToClasses(scanResult, scope(requestType, annotationType), classesWithScopes);
             addClassesToBind(scanResult);
@@ -353,7 +636,12 @@ public class RequestHandler extends ScanResults
 
         for (final String annotationNameRegex : annotationRegexToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanTypesAnnotatedBy(annotationNameRegex);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.ANNOTATION_REGEX_MATCH, annotationNameRegex))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.ANNOTATION_REGEX_MATCH, annotationNameRegex,
+                    () -> classpathScanner.scanTypesAnnotatedBy(annotationNameRegex));
             RequestType requestType = RequestType.ANNOTATION_REGEX_MATCH;
             addScopeToClasses(scanResult, scope(requestType, annotationNameRegex), classesWithScopes);
             addClassesToBind(scanResult);
@@ -361,7 +649,12 @@ public class RequestHandler extends ScanResults
 
         for (final Class<? extends Annotation> metaAnnotationType : metaAnnotationTypesToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanTypesMetaAnnotated(metaAnnotationType);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.META_ANNOTATION_TYPE, metaAnnotationType))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.META_ANNOTATION_TYPE, metaAnnotationType,
+                    () -> classpathScanner.scanTypesMetaAnnotated(metaAnnotationType));
             RequestType requestType = RequestType.META_ANNOTATION_TYPE;
             addScopeToClasses(scanResult, scope(requestType, metaAnnotationType), classesWithScopes);
             addClassesToBind(scanResult);
@@ -369,7 +662,12 @@ public class RequestHandler extends ScanResults
 
         for (final String metaAnnotationNameRegex : metaAnnotationRegexToBind)
         {
-            final Collection<Class<?>> scanResult = classpathScanner.scanTypesMetaAnnotated(metaAnnotationNameRegex);
+            if (!firstExecutionOf(executedBindingRequests, RequestType.META_ANNOTATION_REGEX_MATCH, metaAnnotationNameRegex))
+            {
+                continue;
+            }
+            final Collection<Class<?>> scanResult = measure(Kind.BINDING, RequestType.META_ANNOTATION_REGEX_MATCH, metaAnnotationNameRegex,
+                    () -> classpathScanner.scanTypesMetaAnnotated(metaAnnotationNameRegex));
             RequestType requestType = RequestType.META_ANNOTATION_REGEX_MATCH;
             addScopeToClasses(scanResult, scope(requestType, metaAnnotationNameRegex), classesWithScopes);
             addClassesToBind(scanResult);
@@ -410,17 +708,27 @@ public class RequestHandler extends ScanResults
     {
         for (final String regex : resourcesRegexToScan)
         {
-            super.addResourcesByRegex(regex, classpathScanner.scanResources(regex));
+            if (firstExecutionOf(executedScanRequests, RequestType.RESOURCES_REGEX_MATCH, regex))
+            {
+                super.addResourcesByRegex(regex, measure(Kind.SCAN, RequestType.RESOURCES_REGEX_MATCH, regex,
+                        () -> classpathScanner.scanResources(regex)));
+            }
         }
     }
 
     private void scanPropertyFiles()
     {
-        super.addPropertyFiles(classpathScanner.scanResources(".*\\.properties"));
+        if (executedPropertiesPrefixes.isEmpty())
+        {
+            super.addPropertyFiles(classpathScanner.scanResources(".*\\.properties"));
+        }
 
         for (final String prefix : propertiesPrefix)
         {
-            super.addPropertyFilesByPrefix(prefix, classpathScanner.scanResources(prefix + ".*\\.properties"));
+            if (executedPropertiesPrefixes.add(prefix))
+            {
+                super.addPropertyFilesByPrefix(prefix, classpathScanner.scanResources(prefix + ".*\\.properties"));
+            }
         }
     }
 
@@ -545,4 +853,12 @@ public class RequestHandler extends ScanResults
         return unmodifiableMap(classesWithScopes);
     }
 
+    /**
+     * @return the classes bound by the binding requests of each plugin
+     */
+    public Map<Class<? extends Plugin>, Set<Class<?>>> getBoundClassesByPlugin()
+    {
+        return unmodifiableMap(boundClassesByPlugin);
+    }
+
 }
@@ -16,12 +16,18 @@
  */
 package io.nuun.kernel.core.internal;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import io.nuun.kernel.api.di.UnitModule;
+import io.nuun.kernel.api.plugin.context.ClassHandle;
 import io.nuun.kernel.api.plugin.request.RequestType;
 
 import java.lang.annotation.Annotation;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -35,6 +41,12 @@ import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 
+/**
+ * The results of the plugin requests. They are only written while the requests of a round are
+ * executed, the plugins can then read them concurrently during their initialization. Each result
+ * is copied once into an immutable set when its request completes, or when it is first read for the
+ * class handle results.
+ */
 public class ScanResults
 {
 
@@ -44,15 +56,55 @@ public class ScanResults
     private final Set<Class<?>> classesToBind = new HashSet<>();
     private final Map<Class<?>, Collection<Class<?>>> mapSubTypes = new HashMap<>();
     private final Map<String, Collection<Class<?>>> mapSubTypesByName = new HashMap<>();
+    private final Map<Class<?>, Collection<Class<?>>> mapAncestorTypes = new HashMap<>();
     private final Map<String, Collection<Class<?>>> mapTypesByName = new HashMap<>();
     private final Map<Predicate<Class<?>>, Collection<Class<?>>> mapTypesByPredicate = new HashMap<>();
     private final Map<Class<? extends Annotation>, Collection<Class<?>>> mapAnnotationTypes = new HashMap<>();
     private final Map<String, Collection<Class<?>>> mapAnnotationTypesByName = new HashMap<>();
+    // the same results as class handles, which load their class only when they are resolved. They
+    // are computed when a plugin first reads them.
+    private final Map<Class<?>, Supplier<Collection<ClassHandle>>> mapSubTypeHandles = new HashMap<>();
+    private final Map<String, Supplier<Collection<ClassHandle>>> mapSubTypeHandlesByName = new HashMap<>();
+    private final Map<Class<?>, Supplier<Collection<ClassHandle>>> mapAncestorTypeHandles = new HashMap<>();
+    private final Map<String, Supplier<Collection<ClassHandle>>> mapTypeHandlesByName = new HashMap<>();
+    private final Map<Class<? extends Annotation>, Supplier<Collection<ClassHandle>>> mapAnnotationTypeHandles = new HashMap<>();
+    private final Map<String, Supplier<Collection<ClassHandle>>> mapAnnotationTypeHandlesByName = new HashMap<>();
     private final Map<String, Collection<String>> propertyFilesByPrefix = new HashMap<>();
     private final Map<String, Collection<String>> resourcesByRegex = new HashMap<>();
     private final Collection<String> propertyFiles = new HashSet<>();
     private final Set<URL> urls = new HashSet<>();
 
+    public ScanResults()
+    {
+    }
+
+    /**
+     * Copies the results of another kernel, except its modules which belong to its plugins.
+     *
+     * @param prototype the results to copy
+     */
+    protected ScanResults(ScanResults prototype)
+    {
+        classesToBind.addAll(prototype.classesToBind);
+        mapSubTypes.putAll(prototype.mapSubTypes);
+        mapSubTypesByName.putAll(prototype.mapSubTypesByName);
+        mapAncestorTypes.putAll(prototype.mapAncestorTypes);
+        mapTypesByName.putAll(prototype.mapTypesByName);
+        mapTypesByPredicate.putAll(prototype.mapTypesByPredicate);
+        mapAnnotationTypes.putAll(prototype.mapAnnotationTypes);
+        mapAnnotationTypesByName.putAll(prototype.mapAnnotationTypesByName);
+        mapSubTypeHandles.putAll(prototype.mapSubTypeHandles);
+        mapSubTypeHandlesByName.putAll(prototype.mapSubTypeHandlesByName);
+        mapAncestorTypeHandles.putAll(prototype.mapAncestorTypeHandles);
+        mapTypeHandlesByName.putAll(prototype.mapTypeHandlesByName);
+        mapAnnotationTypeHandles.putAll(prototype.mapAnnotationTypeHandles);
+        mapAnnotationTypeHandlesByName.putAll(prototype.mapAnnotationTypeHandlesByName);
+        propertyFilesByPrefix.putAll(prototype.propertyFilesByPrefix);
+        resourcesByRegex.putAll(prototype.resourcesByRegex);
+        propertyFiles.addAll(prototype.propertyFiles);
+        urls.addAll(prototype.urls);
+    }
+
     protected static class Key
     {
         private final RequestType type;
@@ -89,6 +141,11 @@ public class ScanResults
         return unmodifiableMap(mapSubTypesByName);
     }
 
+    public Map<Class<?>, Collection<Class<?>>> scannedAncestorTypesByChildClass()
+    {
+        return unmodifiableMap(mapAncestorTypes);
+    }
+
     public Map<String, Collection<Class<?>>> scannedTypesByRegex()
     {
         return unmodifiableMap(mapTypesByName);
@@ -109,6 +166,36 @@ public class ScanResults
         return unmodifiableMap(mapAnnotationTypesByName);
     }
 
+    public Map<Class<?>, Collection<ClassHandle>> scannedSubTypeHandlesByParentClass()
+    {
+        return handleResults(mapSubTypeHandles);
+    }
+
+    public Map<String, Collection<ClassHandle>> scannedSubTypeHandlesByParentRegex()
+    {
+        return handleResults(mapSubTypeHandlesByName);
+    }
+
+    public Map<Class<?>, Collection<ClassHandle>> scannedAncestorTypeHandlesByChildClass()
+    {
+        return handleResults(mapAncestorTypeHandles);
+    }
+
+    public Map<String, Collection<ClassHandle>> scannedTypeHandlesByRegex()
+    {
+        return handleResults(mapTypeHandlesByName);
+    }
+
+    public Map<Class<? extends Annotation>, Collection<ClassHandle>> scannedHandlesByAnnotationClass()
+    {
+        return handleResults(mapAnnotationTypeHandles);
+    }
+
+    public Map<String, Collection<ClassHandle>> scannedHandlesByAnnotationRegex()
+    {
+        return handleResults(mapAnnotationTypeHandlesByName);
+    }
+
     public Map<String, Collection<String>> getPropertiesFilesByPrefix()
     {
         return unmodifiableMap(propertyFilesByPrefix);
@@ -163,27 +250,82 @@ public class ScanResults
     }
 
     public void addSubtypes(Class<?> parentType, Collection<Class<?>> subtypes) {
-        mapSubTypes.put(parentType, subtypes);
+        mapSubTypes.put(parentType, ImmutableSet.copyOf(subtypes));
     }
 
     public void addSubTypesByName(String typeName, Collection<Class<?>> subtypes) {
-        mapSubTypesByName.put(typeName, subtypes);
+        mapSubTypesByName.put(typeName, ImmutableSet.copyOf(subtypes));
+    }
+
+    public void addAncestorTypes(Class<?> childType, Collection<Class<?>> ancestorTypes) {
+        mapAncestorTypes.put(childType, ImmutableSet.copyOf(ancestorTypes));
     }
 
     public void addTypesByName(String typeName, Collection<Class<?>> subtypes) {
-        mapTypesByName.put(typeName, subtypes);
+        mapTypesByName.put(typeName, ImmutableSet.copyOf(subtypes));
     }
 
     public void addTypesByPredicate(Predicate<Class<?>> classPredicate, Collection<Class<?>> subtypes) {
-        mapTypesByPredicate.put(classPredicate, subtypes);
+        mapTypesByPredicate.put(classPredicate, ImmutableSet.copyOf(subtypes));
     }
 
     public void addAnnotationTypes(Class<? extends Annotation> annotationClass, Collection<Class<?>> subtypes) {
-        mapAnnotationTypes.put(annotationClass, subtypes);
+        mapAnnotationTypes.put(annotationClass, ImmutableSet.copyOf(subtypes));
     }
 
     public void addAnnotationTypesByName(String annotationName, Collection<Class<?>> subtypes) {
-        mapAnnotationTypesByName.put(annotationName, subtypes);
+        mapAnnotationTypesByName.put(annotationName, ImmutableSet.copyOf(subtypes));
+    }
+
+    public void addSubTypeHandles(Class<?> parentType, Supplier<Collection<ClassHandle>> subtypes) {
+        mapSubTypeHandles.put(parentType, handleResult(subtypes));
+    }
+
+    public void addSubTypeHandlesByName(String typeName, Supplier<Collection<ClassHandle>> subtypes) {
+        mapSubTypeHandlesByName.put(typeName, handleResult(subtypes));
+    }
+
+    public void addAncestorTypeHandles(Class<?> childType, Supplier<Collection<ClassHandle>> ancestorTypes) {
+        mapAncestorTypeHandles.put(childType, handleResult(ancestorTypes));
+    }
+
+    public void addTypeHandlesByName(String typeName, Supplier<Collection<ClassHandle>> types) {
+        mapTypeHandlesByName.put(typeName, handleResult(types));
+    }
+
+    public void addAnnotationTypeHandles(Class<? extends Annotation> annotationClass, Supplier<Collection<ClassHandle>> types) {
+        mapAnnotationTypeHandles.put(annotationClass, handleResult(types));
+    }
+
+    public void addAnnotationTypeHandlesByName(String annotationName, Supplier<Collection<ClassHandle>> types) {
+        mapAnnotationTypeHandlesByName.put(annotationName, handleResult(types));
+    }
+
+    /**
+     * Computes the class handle results which were not read yet, before the scanner they come
+     * from is extended.
+     */
+    protected void computeHandleResults()
+    {
+        for (Map<?, Supplier<Collection<ClassHandle>>> handleResults : Arrays.asList(mapSubTypeHandles, mapSubTypeHandlesByName,
+                mapAncestorTypeHandles, mapTypeHandlesByName, mapAnnotationTypeHandles, mapAnnotationTypeHandlesByName))
+        {
+            for (Supplier<Collection<ClassHandle>> handleResult : handleResults.values())
+            {
+                handleResult.get();
+            }
+        }
+    }
+
+    private static Supplier<Collection<ClassHandle>> handleResult(final Supplier<Collection<ClassHandle>> handles)
+    {
+        return Suppliers.memoize(() -> ImmutableSet.copyOf(handles.get()));
+    }
+
+    private static <K> Map<K, Collection<ClassHandle>> handleResults(Map<K, Supplier<Collection<ClassHandle>>> handleResults)
+    {
+        // an unmodifiable view, computing each result when it is read
+        return Maps.transformValues(handleResults, Supplier::get);
     }
 
     public void addResourcesByRegex(String regex, Set<String> urls) {
@@ -17,7 +17,8 @@
 package io.nuun.kernel.core.internal.scanner;
 
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableSet;
+import io.nuun.kernel.core.internal.scanner.disk.MappedJarUrlType;
 import io.nuun.kernel.core.internal.scanner.inmemory.InMemoryUrlType;
 import org.reflections.vfs.Vfs;
 
@@ -35,6 +36,7 @@ public abstract class AbstractClasspathScanner implements ClasspathScanner
 	{
 	  Vfs.setDefaultURLTypes(Arrays.asList(
 			  new InMemoryUrlType(),
+			  new MappedJarUrlType(),
 			  Vfs.DefaultUrlTypes.jarFile,
 			  Vfs.DefaultUrlTypes.jarUrl,
 			  Vfs.DefaultUrlTypes.directory,
@@ -43,16 +45,23 @@ public abstract class AbstractClasspathScanner implements ClasspathScanner
 	}
 
 	private final boolean reachAbstractClass;
+	private final IgnorePredicate ignorePredicate;
 
 	public AbstractClasspathScanner(boolean reachAbstractClass) {
 		this.reachAbstractClass = reachAbstractClass;
+		this.ignorePredicate = new IgnorePredicate(reachAbstractClass);
+	}
+
+	protected boolean isReachAbstractClass() {
+		return reachAbstractClass;
 	}
 
 	protected Collection<Class<?>> postTreatment(@Nullable Collection<Class<?>> set)
 	{
 		if (set == null) {
-            return Lists.newArrayList();
+            return ImmutableSet.of();
         }
-		return Collections2.filter(set, new IgnorePredicate(reachAbstractClass));
+		// the results are copied, so the ignore predicate is not evaluated again on each iteration
+		return ImmutableSet.copyOf(Collections2.filter(set, ignorePredicate));
 	}
 }
@@ -16,9 +16,14 @@
  */
 package io.nuun.kernel.core.internal.scanner;
 
+import io.nuun.kernel.api.plugin.context.ClassHandle;
+import io.nuun.kernel.core.internal.utils.ClassResolver;
+
 import java.lang.annotation.Annotation;
 import java.net.URL;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -28,6 +33,14 @@ public interface ClasspathScanner
 
     Collection<Class<?>> scanTypes(Predicate<Class<?>> classPredicate);
 
+    /**
+     * Evaluates all the predicates in one traversal of the scanned types, each type being loaded once.
+     *
+     * @param classPredicates the predicates to evaluate
+     * @return the matching types by predicate
+     */
+    Map<Predicate<Class<?>>, Collection<Class<?>>> scanTypes(Collection<Predicate<Class<?>>> classPredicates);
+
     Collection<Class<?>> scanTypesAnnotatedBy(Class<? extends Annotation> annotationType);
 
     Collection<Class<?>> scanTypesAnnotatedBy(String annotationTypeRegex);
@@ -40,7 +53,53 @@ public interface ClasspathScanner
 
     Collection<Class<?>> scanSubTypesOf(String typeRegex);
 
+    /**
+     * @param type the type
+     * @return the scanned direct and indirect super types of the type
+     */
+    Collection<Class<?>> scanAncestorTypesOf(Class<?> type);
+
+    Collection<ClassHandle> scanTypeHandles(String typeRegex);
+
+    Collection<ClassHandle> scanTypeHandlesAnnotatedBy(Class<? extends Annotation> annotationType);
+
+    Collection<ClassHandle> scanTypeHandlesAnnotatedBy(String annotationTypeRegex);
+
+    Collection<ClassHandle> scanSubTypeHandlesOf(Class<?> parentType);
+
+    Collection<ClassHandle> scanSubTypeHandlesOf(String parentTypeRegex);
+
+    Collection<ClassHandle> scanAncestorTypeHandlesOf(Class<?> type);
+
     Set<String> scanResources(String pattern);
 
+    /**
+     * Matches the given regexes against the scanned type and annotation names in a single pass
+     * over each index. The matches are kept for the next regex based scan requests.
+     *
+     * @param typeRegexes       the regexes on the type names
+     * @param annotationRegexes the regexes on the annotation names
+     */
+    void matchRegexes(Collection<String> typeRegexes, Collection<String> annotationRegexes);
+
     Set<URL> getUrls();
+
+    /**
+     * @return the cost of scanning each classpath entry and the time spent in each scanner
+     */
+    UrlStatisticsRecorder getStatistics();
+
+    /**
+     * @return the resolver loading the scanned classes, without initializing them
+     */
+    ClassResolver getClassResolver();
+
+    /**
+     * Extends the scanned classpath with the given URLs and package roots. Only the part
+     * of the classpath which was not already covered is scanned, the rest of the index is kept.
+     *
+     * @param additionalClasspath the additional URLs to scan
+     * @param packageRoots        the package roots to scan
+     */
+    void extend(Set<URL> additionalClasspath, List<String> packageRoots);
 }
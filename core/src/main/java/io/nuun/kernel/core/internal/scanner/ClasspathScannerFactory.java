@@ -17,9 +17,12 @@
 package io.nuun.kernel.core.internal.scanner;
 
 import io.nuun.kernel.api.config.ClasspathScanMode;
+import io.nuun.kernel.api.config.KernelOptions;
 import io.nuun.kernel.api.inmemory.Classpath;
+import io.nuun.kernel.core.internal.scanner.bytecode.ClasspathScannerBytecode;
 import io.nuun.kernel.core.internal.scanner.disk.ClasspathScannerDisk;
 import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.core.internal.scanner.index.ClasspathScannerIndexed;
 import io.nuun.kernel.core.internal.scanner.inmemory.ClasspathScannerInMemory;
 import io.nuun.kernel.core.internal.scanner.inmemory.InMemoryMultiThreadClasspath;
 
@@ -31,10 +34,22 @@ import java.util.Set;
 public class ClasspathScannerFactory
 {
     private ClasspathScanMode classpathScanMode;
+    private ScannerOptions scannerOptions;
 
     public ClasspathScannerFactory(ClasspathScanMode classpathScanMode)
+    {
+        this(classpathScanMode, ScannerOptions.defaults());
+    }
+
+    public ClasspathScannerFactory(KernelOptions options)
+    {
+        this(options.get(KernelOptions.CLASSPATH_SCAN_MODE), new ScannerOptions(options));
+    }
+
+    public ClasspathScannerFactory(ClasspathScanMode classpathScanMode, ScannerOptions scannerOptions)
     {
         this.classpathScanMode = classpathScanMode;
+        this.scannerOptions = scannerOptions;
     }
 
     public ClasspathScanner create(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, List<String> packageRoots) {
@@ -47,6 +62,10 @@ public class ClasspathScannerFactory
                 return createNominal(classpathStrategy, additionalClasspath, packageRootArray);
             case IN_MEMORY:
                 return createInMemory(packageRootArray);
+            case INDEXED:
+                return createIndexed(classpathStrategy, additionalClasspath, packageRootArray);
+            case BYTECODE:
+                return createBytecode(classpathStrategy, additionalClasspath, packageRootArray);
             default:
                 throw new UnsupportedOperationException();
         }
@@ -54,7 +73,17 @@ public class ClasspathScannerFactory
 
     private ClasspathScanner createNominal(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, String... packageRoot)
     {
-        return new ClasspathScannerDisk(classpathStrategy, additionalClasspath, packageRoot);
+        return new ClasspathScannerDisk(classpathStrategy, true, additionalClasspath, scannerOptions, packageRoot);
+    }
+
+    private ClasspathScanner createIndexed(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, String... packageRoot)
+    {
+        return new ClasspathScannerIndexed(classpathStrategy, additionalClasspath, scannerOptions, packageRoot);
+    }
+
+    private ClasspathScanner createBytecode(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, String... packageRoot)
+    {
+        return new ClasspathScannerBytecode(classpathStrategy, additionalClasspath, scannerOptions, packageRoot);
     }
 
     private ClasspathScanner createInMemory(String... packageRoot)
@@ -23,10 +23,14 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class IgnorePredicate implements Predicate<Class<?>> {
 
 	private final boolean keepAbstractClasses;
+	// the verdicts are kept as the same classes are filtered by many scan requests
+	private final Map<Class<?>, Boolean> verdicts = new ConcurrentHashMap<>();
 
 	public IgnorePredicate(boolean keepAbstractClasses) {
 		this.keepAbstractClasses = keepAbstractClasses;
@@ -34,6 +38,10 @@ class IgnorePredicate implements Predicate<Class<?>> {
 
 	@Override
 	public boolean apply(Class<?> clazz) {
+		return verdicts.computeIfAbsent(clazz, this::keep);
+	}
+
+	private boolean keep(Class<?> clazz) {
 		boolean keepClass = true;
 
 		if (!keepAbstractClasses && isAbstractClass(clazz)) {
@@ -0,0 +1,158 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a set of regexes against a set of names in a single pass over the names. Each regex is
+ * compiled once and bucketed by its literal prefix, so a name is only tested against the regexes
+ * whose prefix it starts with. The regexes must match the whole name, as {@link String#matches(String)}.
+ */
+public class MultiRegexMatcher
+{
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String QUANTIFIERS = "?*{";
+
+    private final Map<String, Pattern> patterns = new LinkedHashMap<>();
+    private final Map<String, List<String>> regexesByPrefix = new HashMap<>();
+    private final int[] prefixLengths;
+
+    public MultiRegexMatcher(Collection<String> regexes)
+    {
+        Set<Integer> lengths = new TreeSet<>();
+        for (String regex : regexes)
+        {
+            if (!patterns.containsKey(regex))
+            {
+                patterns.put(regex, Pattern.compile(regex));
+                String prefix = literalPrefix(regex);
+                regexesByPrefix.computeIfAbsent(prefix, key -> new ArrayList<>()).add(regex);
+                lengths.add(prefix.length());
+            }
+        }
+        prefixLengths = new int[lengths.size()];
+        int i = 0;
+        for (Integer length : lengths)
+        {
+            prefixLengths[i++] = length;
+        }
+    }
+
+    /**
+     * Matches all the regexes against the names.
+     *
+     * @param names the names to match
+     * @return the matching names by regex, with an entry for each regex
+     */
+    public Map<String, Set<String>> match(Iterable<String> names)
+    {
+        Map<String, Set<String>> matches = new HashMap<>();
+        for (String regex : patterns.keySet())
+        {
+            matches.put(regex, new HashSet<>());
+        }
+        for (String name : names)
+        {
+            for (int prefixLength : prefixLengths)
+            {
+                if (prefixLength > name.length())
+                {
+                    break;
+                }
+                List<String> candidates = regexesByPrefix.get(name.substring(0, prefixLength));
+                if (candidates != null)
+                {
+                    for (String regex : candidates)
+                    {
+                        if (patterns.get(regex).matcher(name).matches())
+                        {
+                            matches.get(regex).add(name);
+                        }
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the literal characters every match of the regex starts with. The prefix is empty
+     * when it cannot be safely computed, e.g. for alternations or flags.
+     *
+     * @param regex the regex
+     * @return the literal prefix
+     */
+    static String literalPrefix(String regex)
+    {
+        if (hasAlternation(regex))
+        {
+            return "";
+        }
+        StringBuilder prefix = new StringBuilder();
+        int i = regex.startsWith("^") ? 1 : 0;
+        while (i < regex.length())
+        {
+            char c = regex.charAt(i);
+            int next;
+            if (c == '\\' && i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1)))
+            {
+                c = regex.charAt(i + 1);
+                next = i + 2;
+            } else if (META_CHARACTERS.indexOf(c) < 0)
+            {
+                next = i + 1;
+            } else
+            {
+                break;
+            }
+            if (next < regex.length() && QUANTIFIERS.indexOf(regex.charAt(next)) >= 0)
+            {
+                // the character is optional or repeated
+                break;
+            }
+            prefix.append(c);
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static boolean hasAlternation(String regex)
+    {
+        for (int i = 0; i < regex.length(); i++)
+        {
+            char c = regex.charAt(i);
+            if (c == '\\')
+            {
+                i++;
+            } else if (c == '|')
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Indexes the resource names for the regex queries of the scan requests. The names are kept
+ * sorted, and reversed and sorted, which is a flattened prefix trie and suffix trie: a prefix,
+ * a suffix or an extension is a range of one of the arrays, found by binary search. The regexes
+ * made of a literal prefix and a literal suffix around a single {@code .*}, such as
+ * {@code nuun-.*\.properties}, are answered from these ranges. The other regexes are matched
+ * against all the names.
+ */
+public class ResourceNameIndex
+{
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final String[] names;
+    private final String[] reversedNames;
+
+    public ResourceNameIndex(Collection<String> names)
+    {
+        this.names = names.toArray(new String[names.size()]);
+        Arrays.sort(this.names);
+        reversedNames = new String[this.names.length];
+        for (int i = 0; i < reversedNames.length; i++)
+        {
+            reversedNames[i] = reverse(this.names[i]);
+        }
+        Arrays.sort(reversedNames);
+    }
+
+    /**
+     * Returns the names fully matching a regex, as {@link String#matches(String)}.
+     *
+     * @param regex the regex
+     * @return the matching names
+     */
+    public Set<String> match(String regex)
+    {
+        Query query = Query.parse(regex);
+        if (query == null)
+        {
+            Pattern pattern = Pattern.compile(regex);
+            Set<String> matches = new HashSet<>();
+            for (String name : names)
+            {
+                if (pattern.matcher(name).matches())
+                {
+                    matches.add(name);
+                }
+            }
+            return matches;
+        }
+        if (!query.wildcard)
+        {
+            return Arrays.binarySearch(names, query.prefix) >= 0 ? Collections.singleton(query.prefix) : Collections.<String>emptySet();
+        }
+        Set<String> matches = new HashSet<>();
+        int minLength = query.prefix.length() + query.suffix.length();
+        if (query.prefix.length() >= query.suffix.length())
+        {
+            for (int i = firstIndexOf(names, query.prefix); i < names.length && names[i].startsWith(query.prefix); i++)
+            {
+                if (names[i].length() >= minLength && names[i].endsWith(query.suffix))
+                {
+                    matches.add(names[i]);
+                }
+            }
+        } else
+        {
+            String reversedSuffix = reverse(query.suffix);
+            for (int i = firstIndexOf(reversedNames, reversedSuffix); i < reversedNames.length && reversedNames[i].startsWith(reversedSuffix); i++)
+            {
+                String name = reverse(reversedNames[i]);
+                if (name.length() >= minLength && name.startsWith(query.prefix))
+                {
+                    matches.add(name);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static int firstIndexOf(String[] sortedNames, String prefix)
+    {
+        int index = Arrays.binarySearch(sortedNames, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static String reverse(String name)
+    {
+        return new StringBuilder(name).reverse().toString();
+    }
+
+    /**
+     * A regex made of a literal prefix and, if it has a wildcard, a {@code .*} and a literal suffix.
+     */
+    static final class Query
+    {
+        final String prefix;
+        final boolean wildcard;
+        final String suffix;
+
+        private Query(String prefix, boolean wildcard, String suffix)
+        {
+            this.prefix = prefix;
+            this.wildcard = wildcard;
+            this.suffix = suffix;
+        }
+
+        /**
+         * @param regex the regex
+         * @return the query or null if the regex is not a literal prefix and suffix around a single {@code .*}
+         */
+        static Query parse(String regex)
+        {
+            StringBuilder prefix = new StringBuilder();
+            StringBuilder suffix = new StringBuilder();
+            StringBuilder current = prefix;
+            boolean wildcard = false;
+            int start = regex.startsWith("^") ? 1 : 0;
+            int end = regex.endsWith("$") && !regex.endsWith("\\$") ? regex.length() - 1 : regex.length();
+            for (int i = start; i < end; i++)
+            {
+                char c = regex.charAt(i);
+                if (c == '\\')
+                {
+                    if (i + 1 >= end)
+                    {
+                        return null;
+                    }
+                    char escaped = regex.charAt(++i);
+                    if (escaped == 'Q')
+                    {
+                        int quoteEnd = regex.indexOf("\\E", i + 1);
+                        if (quoteEnd < 0 || quoteEnd + 2 > end)
+                        {
+                            return null;
+                        }
+                        current.append(regex, i + 1, quoteEnd);
+                        i = quoteEnd + 1;
+                    } else if (Character.isLetterOrDigit(escaped))
+                    {
+                        // character classes, back references and other escapes
+                        return null;
+                    } else
+                    {
+                        current.append(escaped);
+                    }
+                } else if (c == '.' && i + 1 < end && regex.charAt(i + 1) == '*' && !wildcard)
+                {
+                    wildcard = true;
+                    current = suffix;
+                    i++;
+                } else if (META_CHARACTERS.indexOf(c) >= 0)
+                {
+                    return null;
+                } else
+                {
+                    current.append(c);
+                }
+            }
+            return new Query(prefix.toString(), wildcard, suffix.toString());
+        }
+    }
+}
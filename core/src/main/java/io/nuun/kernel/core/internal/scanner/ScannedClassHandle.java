@@ -0,0 +1,107 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import io.nuun.kernel.api.plugin.context.ClassHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * A class handle built from the scan index. The class is loaded by the class loader function
+ * the first time the handle is resolved.
+ */
+public class ScannedClassHandle implements ClassHandle
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScannedClassHandle.class);
+
+    private final String name;
+    private final int modifiers;
+    private final Collection<String> annotationNames;
+    private final Function<String, Class<?>> classLoader;
+    private volatile boolean resolved;
+    private volatile Class<?> resolvedClass;
+
+    public ScannedClassHandle(String name, int modifiers, Collection<String> annotationNames, Function<String, Class<?>> classLoader)
+    {
+        this.name = name;
+        this.modifiers = modifiers;
+        this.annotationNames = annotationNames;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public int getModifiers()
+    {
+        return modifiers;
+    }
+
+    @Override
+    public Collection<String> getAnnotationNames()
+    {
+        return annotationNames;
+    }
+
+    @Override
+    public Class<?> resolve()
+    {
+        if (!resolved)
+        {
+            synchronized (this)
+            {
+                if (!resolved)
+                {
+                    resolvedClass = classLoader.apply(name);
+                    resolved = true;
+                    if (resolvedClass == null)
+                    {
+                        LOGGER.warn("Unable to load the scanned class {}, its handle resolves to null", name);
+                    }
+                }
+            }
+        }
+        return resolvedClass;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return name.equals(((ScannedClassHandle) o).name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
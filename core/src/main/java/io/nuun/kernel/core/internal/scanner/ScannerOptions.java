@@ -0,0 +1,106 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import com.google.common.base.Strings;
+import io.nuun.kernel.api.config.DependencyInjectionMode;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.config.ScanStoreMode;
+import io.nuun.kernel.core.internal.scanner.index.PersistentIndexCache;
+import io.nuun.kernel.core.internal.scanner.index.SharedIndexCache;
+import io.nuun.kernel.core.internal.scanner.index.WatchedDirectoryIndexes;
+
+import java.nio.file.Paths;
+
+import static io.nuun.kernel.api.config.KernelOptions.DEPENDENCY_INJECTION_MODE;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_CACHE_CONTENT_HASH;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_CACHE_DIRECTORY;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_SHARED_INDEX_CACHE;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_STORE_MODE;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_THREADS;
+
+/**
+ * The options of the disk classpath scanners, read from the {@link KernelOptions}.
+ */
+public class ScannerOptions
+{
+    private final int scanThreads;
+    private final boolean sharedIndexCache;
+    private final boolean watchDirectories;
+    private final PersistentIndexCache persistentIndexCache;
+    private final ScanStoreMode scanStoreMode;
+
+    public ScannerOptions(KernelOptions options)
+    {
+        this.scanThreads = Math.max(1, options.get(SCAN_THREADS));
+        this.sharedIndexCache = options.get(SCAN_SHARED_INDEX_CACHE);
+        // in development mode the exploded directories are watched and only their changes are scanned again
+        this.watchDirectories = options.get(DEPENDENCY_INJECTION_MODE) == DependencyInjectionMode.DEVELOPMENT;
+        String cacheDirectory = options.get(SCAN_CACHE_DIRECTORY);
+        this.persistentIndexCache = Strings.isNullOrEmpty(cacheDirectory) ? null
+                : new PersistentIndexCache(Paths.get(cacheDirectory), options.get(SCAN_CACHE_CONTENT_HASH));
+        this.scanStoreMode = options.get(SCAN_STORE_MODE);
+    }
+
+    /**
+     * @return the options of a scanner configured with the default kernel options
+     */
+    public static ScannerOptions defaults()
+    {
+        return new ScannerOptions(new KernelOptions());
+    }
+
+    /**
+     * @return the number of threads scanning the URLs concurrently, at least one
+     */
+    public int getScanThreads()
+    {
+        return scanThreads;
+    }
+
+    /**
+     * @return true if the URL indexes are taken from the {@link SharedIndexCache}
+     */
+    public boolean isSharedIndexCache()
+    {
+        return sharedIndexCache;
+    }
+
+    /**
+     * @return true if the indexes of the directories are kept up to date by the {@link WatchedDirectoryIndexes}
+     */
+    public boolean isWatchDirectories()
+    {
+        return watchDirectories;
+    }
+
+    /**
+     * @return the cache persisting the URL indexes between the boots, or null
+     */
+    public PersistentIndexCache getPersistentIndexCache()
+    {
+        return persistentIndexCache;
+    }
+
+    /**
+     * @return how the scan index is kept in memory
+     */
+    public ScanStoreMode getScanStoreMode()
+    {
+        return scanStoreMode;
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import com.google.common.collect.Multimap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type hierarchy of the scanned classpath, built once per index. Each type is identified by its
+ * position in the sorted type names and its direct sub types and super types are kept as arrays of
+ * ids. The transitive closures are computed as bitsets the first time a type is asked for, so the
+ * next subtype and ancestor queries on this type only cost the size of their result.
+ */
+public class TypeHierarchy
+{
+    private final String[] names;
+    private final int[][] subTypes;
+    private final int[][] superTypes;
+    private final Map<Integer, BitSet> descendants = new ConcurrentHashMap<>();
+    private final Map<Integer, BitSet> ancestors = new ConcurrentHashMap<>();
+
+    /**
+     * @param subTypesByType the direct sub type names by super type name, as indexed by the {@code SubTypesScanner}
+     */
+    public TypeHierarchy(Multimap<String, String> subTypesByType)
+    {
+        this(namesOf(subTypesByType), subTypesByType);
+    }
+
+    private TypeHierarchy(String[] names, Multimap<String, String> subTypesByType)
+    {
+        this(names, subTypesOf(names, subTypesByType));
+    }
+
+    /**
+     * @param names    the sorted type names, the id of a type is its position
+     * @param subTypes the ids of the direct sub types, by type id
+     */
+    public TypeHierarchy(String[] names, int[][] subTypes)
+    {
+        this.names = names;
+        this.subTypes = subTypes;
+        this.superTypes = invert(subTypes);
+    }
+
+    private static String[] namesOf(Multimap<String, String> subTypesByType)
+    {
+        Set<String> typeNames = new HashSet<>(subTypesByType.keySet());
+        typeNames.addAll(subTypesByType.values());
+        String[] names = typeNames.toArray(new String[typeNames.size()]);
+        Arrays.sort(names);
+        return names;
+    }
+
+    private static int[][] subTypesOf(String[] names, Multimap<String, String> subTypesByType)
+    {
+        int[][] subTypes = new int[names.length][];
+        for (int id = 0; id < names.length; id++)
+        {
+            Collection<String> subTypeNames = subTypesByType.get(names[id]);
+            subTypes[id] = new int[subTypeNames.size()];
+            int i = 0;
+            for (String subTypeName : subTypeNames)
+            {
+                subTypes[id][i++] = Arrays.binarySearch(names, subTypeName);
+            }
+        }
+        return subTypes;
+    }
+
+    private static int[][] invert(int[][] edges)
+    {
+        int[] counts = new int[edges.length];
+        for (int[] targets : edges)
+        {
+            for (int target : targets)
+            {
+                counts[target]++;
+            }
+        }
+        int[][] inverse = new int[edges.length][];
+        for (int id = 0; id < edges.length; id++)
+        {
+            inverse[id] = new int[counts[id]];
+            counts[id] = 0;
+        }
+        for (int id = 0; id < edges.length; id++)
+        {
+            for (int target : edges[id])
+            {
+                inverse[target][counts[target]++] = id;
+            }
+        }
+        return inverse;
+    }
+
+    private int idOf(String typeName)
+    {
+        return Arrays.binarySearch(names, typeName);
+    }
+
+    /**
+     * @param typeName the type name
+     * @return the names of the direct and indirect sub types of the type
+     */
+    public Set<String> descendantsOf(String typeName)
+    {
+        return descendantsOf(Collections.singleton(typeName));
+    }
+
+    /**
+     * @param typeNames the type names
+     * @return the names of the direct and indirect sub types of the types
+     */
+    public Set<String> descendantsOf(Collection<String> typeNames)
+    {
+        return closureOf(typeNames, subTypes, descendants);
+    }
+
+    /**
+     * @param typeName the type name
+     * @return the names of the direct and indirect super types of the type known by the index
+     */
+    public Set<String> ancestorsOf(String typeName)
+    {
+        return closureOf(Collections.singleton(typeName), superTypes, ancestors);
+    }
+
+    /**
+     * @param typeName the type name
+     * @return the names of the direct super types of the type known by the index
+     */
+    public List<String> superTypesOf(String typeName)
+    {
+        int id = idOf(typeName);
+        if (id < 0)
+        {
+            return Collections.emptyList();
+        }
+        List<String> typeNames = new ArrayList<>(superTypes[id].length);
+        for (int superType : superTypes[id])
+        {
+            typeNames.add(names[superType]);
+        }
+        return typeNames;
+    }
+
+    /**
+     * @return the number of types in the hierarchy
+     */
+    public int size()
+    {
+        return names.length;
+    }
+
+    private Set<String> closureOf(Collection<String> typeNames, int[][] edges, Map<Integer, BitSet> closures)
+    {
+        BitSet union = new BitSet();
+        for (String typeName : typeNames)
+        {
+            int id = idOf(typeName);
+            if (id >= 0)
+            {
+                union.or(closures.computeIfAbsent(id, key -> computeClosure(key, edges)));
+            }
+        }
+        return toNames(union);
+    }
+
+    private BitSet computeClosure(int id, int[][] edges)
+    {
+        BitSet closure = new BitSet();
+        int[] stack = new int[16];
+        int size = 0;
+        for (int next : edges[id])
+        {
+            stack = push(stack, size++, next);
+        }
+        while (size > 0)
+        {
+            int current = stack[--size];
+            if (!closure.get(current))
+            {
+                closure.set(current);
+                for (int next : edges[current])
+                {
+                    if (!closure.get(next))
+                    {
+                        stack = push(stack, size++, next);
+                    }
+                }
+            }
+        }
+        return closure;
+    }
+
+    private static int[] push(int[] stack, int index, int value)
+    {
+        int[] array = index < stack.length ? stack : Arrays.copyOf(stack, stack.length * 2);
+        array[index] = value;
+        return array;
+    }
+
+    private Set<String> toNames(BitSet closure)
+    {
+        Set<String> typeNames = new LinkedHashSet<>(Math.max(16, closure.cardinality() * 2));
+        for (int id = closure.nextSetBit(0); id >= 0; id = closure.nextSetBit(id + 1))
+        {
+            typeNames.add(names[id]);
+        }
+        return typeNames;
+    }
+}
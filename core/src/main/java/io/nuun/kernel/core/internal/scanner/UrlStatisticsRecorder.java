@@ -0,0 +1,94 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import io.nuun.kernel.api.statistics.UrlStatistics;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the cost of scanning each classpath entry and the time spent in each scanner. The
+ * entries may be scanned concurrently.
+ */
+public class UrlStatisticsRecorder
+{
+    private final Map<URL, UrlStatistics> urls = new LinkedHashMap<>();
+    private final Map<String, Long> scannerNanos = new LinkedHashMap<>();
+
+    /**
+     * Records the scan of a classpath entry, summed with its previous scans.
+     *
+     * @param url           the classpath entry
+     * @param classCount    the number of class files scanned
+     * @param resourceCount the number of other files scanned
+     * @param bytesRead     the number of bytes read
+     * @param parseNanos    the time spent scanning the entry
+     */
+    public void recordUrl(URL url, int classCount, int resourceCount, long bytesRead, long parseNanos)
+    {
+        recordUrl(url, UrlStatistics.Source.SCAN, classCount, resourceCount, bytesRead, parseNanos);
+    }
+
+    /**
+     * Records the scan of a classpath entry, summed with its previous scans. The source of the first
+     * scan is kept.
+     *
+     * @param url           the classpath entry
+     * @param source        how the content of the entry was obtained
+     * @param classCount    the number of class files scanned
+     * @param resourceCount the number of other files scanned
+     * @param bytesRead     the number of bytes read
+     * @param parseNanos    the time spent scanning the entry
+     */
+    public synchronized void recordUrl(URL url, UrlStatistics.Source source, int classCount, int resourceCount, long bytesRead, long parseNanos)
+    {
+        UrlStatistics previous = urls.get(url);
+        if (previous != null)
+        {
+            source = previous.getSource();
+            classCount += previous.getClassCount();
+            resourceCount += previous.getResourceCount();
+            bytesRead += previous.getBytesRead();
+            parseNanos += previous.getParseNanos();
+        }
+        urls.put(url, new UrlStatistics(url, source, classCount, resourceCount, bytesRead, parseNanos));
+    }
+
+    /**
+     * @param scannerName the simple name of the scanner
+     * @param nanos       the time spent in the scanner
+     */
+    public synchronized void recordScanner(String scannerName, long nanos)
+    {
+        Long previous = scannerNanos.get(scannerName);
+        scannerNanos.put(scannerName, previous == null ? nanos : previous + nanos);
+    }
+
+    public synchronized List<UrlStatistics> urlStatistics()
+    {
+        return new ArrayList<>(urls.values());
+    }
+
+    public synchronized Map<String, Long> scannerNanos()
+    {
+        return new LinkedHashMap<>(scannerNanos);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.bytecode;
+
+import io.nuun.kernel.core.internal.scanner.ScannerOptions;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathScannerDisk;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.spi.index.ClassFileReader;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A disk classpath scanner which builds its index by reading the class file headers with the
+ * {@link ClassFileReader}. The scan requests are answered from the index and the classes are only
+ * loaded, without being initialized, for the final results. The meta annotations are resolved
+ * by reading the class files of the annotation types.
+ */
+public class ClasspathScannerBytecode extends ClasspathScannerDisk
+{
+    private static final String ANNOTATION = Annotation.class.getName();
+
+    public ClasspathScannerBytecode(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, String... packageRoots)
+    {
+        super(classpathStrategy, additionalClasspath, packageRoots);
+    }
+
+    public ClasspathScannerBytecode(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, ScannerOptions options, String... packageRoots)
+    {
+        super(classpathStrategy, true, additionalClasspath, options, packageRoots);
+    }
+
+    @Override
+    protected Reflections scanUrls(Set<URL> urls, Collection<String> packageRoots)
+    {
+        return indexUrls(urls, packageRoots);
+    }
+
+    @Override
+    public Collection<Class<?>> scanTypesMetaAnnotated(final Class<? extends Annotation> annotationType)
+    {
+        if (annotationType == null)
+        {
+            return postTreatment(null);
+        }
+        return scanTypesMetaAnnotated(annotationName -> annotationName.equals(annotationType.getName()), false);
+    }
+
+    @Override
+    public Collection<Class<?>> scanTypesMetaAnnotated(final String metaAnnotationRegex)
+    {
+        if (metaAnnotationRegex == null)
+        {
+            return postTreatment(null);
+        }
+        Pattern metaAnnotationPattern = Pattern.compile(metaAnnotationRegex);
+        return scanTypesMetaAnnotated(typeName -> metaAnnotationPattern.matcher(typeName).matches(), true);
+    }
+
+    /**
+     * Finds the types annotated, directly or through their annotations, by an annotation matching
+     * the predicate. This follows the rules of {@code AssertUtils.hasAnnotationDeep()}: the annotation
+     * types themselves are excluded, the {@code @Inherited} annotations of the super classes are
+     * present on their sub classes and the annotations of the {@code java.lang} packages are not followed.
+     *
+     * @param annotationPredicate the predicate on the annotation names
+     * @param matchTypeName       true if the type name is also checked against the predicate
+     * @return the matching types
+     */
+    private Collection<Class<?>> scanTypesMetaAnnotated(Predicate<String> annotationPredicate, boolean matchTypeName)
+    {
+        Collection<String> annotationTypes = reflections.getStore().get(SubTypesScanner.class.getSimpleName()).get(ANNOTATION);
+
+        Collection<String> matchingTypes = new HashSet<>();
+        for (String typeName : typeNames())
+        {
+            if (!annotationTypes.contains(typeName)
+                    && (matchTypeName && annotationPredicate.test(typeName)
+                    || isMetaAnnotated(presentAnnotationsOf(typeName), annotationPredicate, new HashSet<>())))
+            {
+                matchingTypes.add(typeName);
+            }
+        }
+        return postTreatment(loadClasses(matchingTypes));
+    }
+
+    private boolean isMetaAnnotated(Collection<String> annotationNames, Predicate<String> annotationPredicate, Set<String> visited)
+    {
+        for (String annotationName : annotationNames)
+        {
+            if (!isInJavaLang(annotationName) && visited.add(annotationName)
+                    && (annotationPredicate.test(annotationName)
+                    || isMetaAnnotated(annotationsOf(annotationName), annotationPredicate, visited)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInJavaLang(String typeName)
+    {
+        return typeName.startsWith("java.lang");
+    }
+}
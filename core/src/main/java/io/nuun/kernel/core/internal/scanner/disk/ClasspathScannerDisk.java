@@ -16,11 +16,34 @@
  */
 package io.nuun.kernel.core.internal.scanner.disk;
 
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import io.nuun.kernel.api.annotations.Ignore;
+import io.nuun.kernel.api.config.ScanStoreMode;
+import io.nuun.kernel.api.plugin.context.ClassHandle;
 import io.nuun.kernel.core.internal.scanner.AbstractClasspathScanner;
+import io.nuun.kernel.core.internal.scanner.MultiRegexMatcher;
+import io.nuun.kernel.core.internal.scanner.ResourceNameIndex;
+import io.nuun.kernel.core.internal.scanner.ScannedClassHandle;
+import io.nuun.kernel.core.internal.scanner.ScannerOptions;
+import io.nuun.kernel.core.internal.scanner.TypeHierarchy;
+import io.nuun.kernel.core.internal.scanner.UrlStatisticsRecorder;
+import io.nuun.kernel.core.internal.scanner.index.PersistentIndexCache;
+import io.nuun.kernel.core.internal.scanner.index.SharedIndexCache;
+import io.nuun.kernel.core.internal.scanner.index.UrlIndexer;
+import io.nuun.kernel.core.internal.scanner.index.UrlIndexes;
+import io.nuun.kernel.core.internal.scanner.index.WatchedDirectoryIndexes;
 import io.nuun.kernel.core.internal.utils.AssertUtils;
+import io.nuun.kernel.core.internal.utils.ClassResolver;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.ClassFileReader;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.reflections.Configuration;
 import org.reflections.Reflections;
+import org.reflections.ReflectionsException;
 import org.reflections.Store;
 import org.reflections.scanners.ResourcesScanner;
 import org.reflections.scanners.Scanner;
@@ -30,28 +53,69 @@ import org.reflections.scanners.TypeElementsScanner;
 import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.reflections.util.FilterBuilder;
+import org.reflections.vfs.Vfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
-import static io.nuun.kernel.core.internal.utils.NuunReflectionUtils.forNameSilent;
-import static io.nuun.kernel.core.internal.utils.NuunReflectionUtils.forNames;
 import static org.reflections.util.FilterBuilder.prefix;
 
 public class ClasspathScannerDisk extends AbstractClasspathScanner
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClasspathScannerDisk.class);
+    private static final String IGNORE = Ignore.class.getName();
+    private static final String INHERITED = Inherited.class.getName();
+
+    private final Map<String, ClassEntry> unscannedTypes = new ConcurrentHashMap<>();
+    private final Map<String, ClassHandle> classHandles = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> ignoredTypes = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> typeNamesByRegex = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> annotationNamesByRegex = new ConcurrentHashMap<>();
+    private volatile Multimap<String, String> annotationsByType;
+    private volatile TypeHierarchy typeHierarchy;
+    private volatile ResourceNameIndex resourceNames;
+    private volatile ForkJoinPool predicatePool;
     private final List<String> packageRoots;
     private final ClasspathStrategy classpathStrategy;
     private final Set<URL> additionalClasspath;
+    private final int scanThreads;
+    private final boolean sharedIndexCache;
+    private final boolean watchDirectories;
+    private final ScanStoreMode scanStoreMode;
+    private final PersistentIndexCache persistentIndexCache;
+    private final UrlStatisticsRecorder statistics = new UrlStatisticsRecorder();
+    private final MappedJarUrlType mappedJarUrlType = new MappedJarUrlType();
+    private final List<Vfs.UrlType> urlTypes = urlTypes();
+    private final ClassResolver classResolver;
     private Set<URL> urls;
     protected Reflections reflections;
 
@@ -61,24 +125,475 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
     }
 
     public ClasspathScannerDisk(ClasspathStrategy classpathStrategy, boolean reachAbstractClass, Set<URL> additionalClasspath, String... packageRoots)
+    {
+        this(classpathStrategy, reachAbstractClass, additionalClasspath, ScannerOptions.defaults(), packageRoots);
+    }
+
+    /**
+     * @param classpathStrategy   the strategy used to find the classpath URLs
+     * @param reachAbstractClass  true if the abstract classes are part of the scan results
+     * @param additionalClasspath the URLs to scan in addition to the classpath
+     * @param options             the scan threads, the index caches and the store mode of the scan
+     * @param packageRoots        the package roots to scan
+     */
+    public ClasspathScannerDisk(ClasspathStrategy classpathStrategy, boolean reachAbstractClass, Set<URL> additionalClasspath,
+                                ScannerOptions options, String... packageRoots)
     {
         super(reachAbstractClass);
         this.packageRoots = new LinkedList<>();
         Collections.addAll(this.packageRoots, packageRoots);
         this.classpathStrategy = classpathStrategy;
         this.additionalClasspath = additionalClasspath;
+        this.scanThreads = options.getScanThreads();
+        this.sharedIndexCache = options.isSharedIndexCache();
+        this.watchDirectories = options.isWatchDirectories();
+        this.scanStoreMode = options.getScanStoreMode();
+        this.persistentIndexCache = options.getPersistentIndexCache();
+        this.classResolver = new ClassResolver(classLoader(), this.scanThreads);
         initializeReflections();
     }
 
+    /**
+     * @return the default URL types, where the jars are read by the mapped jar type of this scanner
+     */
+    private List<Vfs.UrlType> urlTypes()
+    {
+        List<Vfs.UrlType> urlTypes = new ArrayList<>();
+        for (Vfs.UrlType urlType : Vfs.getDefaultUrlTypes())
+        {
+            urlTypes.add(urlType instanceof MappedJarUrlType ? mappedJarUrlType : urlType);
+        }
+        return urlTypes;
+    }
+
     protected void initializeReflections()
     {
-        ConfigurationBuilder configurationBuilder = configurationBuilder()
-                .addUrls(findClasspathUrls()).setScanners(getScanners());
+        reflections = compact(scanUrls(pruneUrls(findClasspathUrls(), packageRoots), packageRoots));
+    }
 
-        reflections = new Reflections(configurationBuilder);
+    /**
+     * Removes the jars which cannot contain any entry under the package roots, so they are not
+     * scanned. The jars are not pruned when the whole classpath is scanned, nor when their index
+     * is taken from the shared or the persistent index cache, which is cheaper than listing their entries.
+     *
+     * @param urls         the URLs to scan
+     * @param packageRoots the package roots to scan
+     * @return the URLs which may contain entries under the package roots
+     */
+    protected Set<URL> pruneUrls(Set<URL> urls, Collection<String> packageRoots)
+    {
+        if (packageRoots.isEmpty() || sharedIndexCache || persistentIndexCache != null)
+        {
+            return urls;
+        }
+        JarPruner jarPruner = new JarPruner(packageRoots);
+        Map<URL, Boolean> verdicts = scanEachUrl(urls, jarPruner::mayContainPackageRoots);
+        Set<URL> keptUrls = new LinkedHashSet<>();
+        for (Map.Entry<URL, Boolean> verdict : verdicts.entrySet())
+        {
+            if (verdict.getValue())
+            {
+                keptUrls.add(verdict.getKey());
+            }
+        }
+        LOGGER.debug("{} of the {} classpath URLs pruned before scanning {}", urls.size() - keptUrls.size(), urls.size(), packageRoots);
+        return keptUrls;
+    }
+
+    /**
+     * Replaces the store of the given reflections by a {@link CompactStore} when a compact scan
+     * store mode is configured. The store of the given reflections is emptied by the copy.
+     *
+     * @param scanned the reflections holding a scan result
+     * @return the reflections holding the compacted scan result
+     */
+    protected Reflections compact(Reflections scanned)
+    {
+        if (scanStoreMode == null || scanStoreMode == ScanStoreMode.MULTIMAP || scanned.getStore() instanceof CompactStore)
+        {
+            return scanned;
+        }
+        final Store compactStore = new CompactStore(scanned.getStore(), scanStoreMode == ScanStoreMode.COMPACT_OFF_HEAP);
+        return new Reflections()
+        {
+            {
+                store = compactStore;
+            }
+        };
+    }
+
+    private void merge(Reflections scanned)
+    {
+        if (reflections.getStore() instanceof CompactStore)
+        {
+            // the compact store is read only, it is expanded for the merge and compacted again afterwards
+            Reflections expanded = new Reflections()
+            {
+            };
+            expanded.merge(reflections);
+            reflections = expanded;
+        }
+        reflections.merge(scanned);
+    }
+
+    /**
+     * Scans the given URLs for the given package roots.
+     *
+     * @param urls         the URLs to scan
+     * @param packageRoots the package roots to scan
+     * @return the reflections holding the scan result
+     */
+    protected Reflections scanUrls(Set<URL> urls, Collection<String> packageRoots)
+    {
+        if (usesUnfilteredIndexes())
+        {
+            return indexUrls(urls, packageRoots);
+        }
+        return scanUrls(urls, packageRoots, getScanners());
+    }
+
+    /**
+     * Scans the given URLs for the given package roots with the given scanners, recording the
+     * statistics of each URL.
+     *
+     * @param urls         the URLs to scan
+     * @param packageRoots the package roots to scan
+     * @param scanners     the scanners
+     * @return the reflections holding the scan result
+     */
+    protected Reflections scanUrls(Set<URL> urls, Collection<String> packageRoots, Scanner... scanners)
+    {
+        ConfigurationBuilder configuration = configurationBuilder(packageRoots).addUrls(urls).setScanners(scanners);
+        ExecutorService executorService = createScanExecutor(urls.size());
+        // Reflections scans the URLs in the iteration order of its configuration
+        MappedJarUrlType.Prefetch prefetch = mappedJarUrlType.prefetch(configuration.getUrls());
+        try
+        {
+            if (executorService == null)
+            {
+                return new RecordingReflections(configuration);
+            }
+            // Reflections scans each URL in its own task and merges the results in a concurrent store
+            configuration.setExecutorService(executorService);
+            return new RecordingReflections(configuration);
+        } finally
+        {
+            prefetch.close();
+            if (executorService != null)
+            {
+                executorService.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Builds the store of the given URLs from their {@link UrlIndex}. When an index cache is enabled
+     * or the directories are watched, the unfiltered indexes are taken from the caches or from the
+     * watched directories and filtered with the package roots, otherwise each URL is indexed for the
+     * package roots.
+     *
+     * @param urls         the URLs to index
+     * @param packageRoots the package roots to scan
+     * @return the reflections holding the scan result
+     */
+    protected Reflections indexUrls(Set<URL> urls, Collection<String> packageRoots)
+    {
+        Predicate<String> inputsFilter = configurationBuilder(packageRoots).getInputsFilter()::apply;
+        Reflections indexReflections = new Reflections()
+        {
+        };
+        for (Scanner scanner : getScanners())
+        {
+            indexReflections.getStore().getOrCreate(scanner.getClass().getSimpleName());
+        }
+        UrlIndexer urlIndexer = new UrlIndexer(urlTypes);
+        if (usesUnfilteredIndexes())
+        {
+            Map<URL, UrlIndex> urlIndexes = scanEachUrl(urls, url -> recordedIndex(url, bytesRead -> sharedIndex(url, urlIndexer, bytesRead)));
+            for (UrlIndex urlIndex : urlIndexes.values())
+            {
+                UrlIndexes.feed(urlIndex, indexReflections.getStore(), inputsFilter::test);
+            }
+        } else
+        {
+            MappedJarUrlType.Prefetch prefetch = mappedJarUrlType.prefetch(urls);
+            try
+            {
+                Map<URL, UrlIndex> urlIndexes = scanEachUrl(urls,
+                        url -> recordedIndex(url, bytesRead -> urlIndexer.index(url, inputsFilter::test, bytesRead)));
+                for (UrlIndex urlIndex : urlIndexes.values())
+                {
+                    UrlIndexes.feed(urlIndex, indexReflections.getStore(), null);
+                }
+            } finally
+            {
+                prefetch.close();
+            }
+        }
+        return indexReflections;
+    }
+
+    private boolean usesUnfilteredIndexes()
+    {
+        return sharedIndexCache || watchDirectories || persistentIndexCache != null;
+    }
+
+    private UrlIndex sharedIndex(URL url, UrlIndexer urlIndexer, AtomicLong bytesRead)
+    {
+        UrlIndex urlIndex = watchDirectories ? WatchedDirectoryIndexes.getInstance().get(url) : null;
+        if (urlIndex != null)
+        {
+            return urlIndex;
+        }
+        Function<URL, UrlIndex> uncachedIndexer = aUrl -> urlIndexer.index(aUrl, null, bytesRead);
+        Function<URL, UrlIndex> indexer = persistentIndexCache != null ? aUrl -> persistentIndexCache.get(aUrl, uncachedIndexer) : uncachedIndexer;
+        return sharedIndexCache ? SharedIndexCache.getInstance().get(url, indexer) : indexer.apply(url);
+    }
+
+    private UrlIndex recordedIndex(URL url, Function<AtomicLong, UrlIndex> indexer)
+    {
+        long start = System.nanoTime();
+        AtomicLong bytesRead = new AtomicLong();
+        UrlIndex urlIndex;
+        try
+        {
+            urlIndex = indexer.apply(bytesRead);
+        } catch (ReflectionsException e)
+        {
+            // as a scanned URL, a URL which cannot be read is ignored
+            LOGGER.warn("Unable to index {}, it is ignored: {}", url, e.getMessage());
+            return new UrlIndex(Collections.<ClassEntry>emptyList(), Collections.<String>emptyList());
+        }
+        statistics.recordUrl(url, urlIndex.getClasses().size(), urlIndex.getResources().size(), bytesRead.get(), System.nanoTime() - start);
+        return urlIndex;
+    }
+
+    /**
+     * Scans the URLs as Reflections does, recording the files scanned in each URL, the bytes they
+     * were read from and the time spent in each scanner. The outer scanner is set before Reflections
+     * scans the URLs from its constructor.
+     */
+    private class RecordingReflections extends Reflections
+    {
+        RecordingReflections(Configuration configuration)
+        {
+            super(configuration);
+        }
+
+        /**
+         * Scans one URL. A URL which cannot be read is ignored with a warning, whether it is scanned
+         * by the calling thread or by a scan thread, where Reflections would fail the whole scan.
+         */
+        @Override
+        protected void scan(URL url)
+        {
+            try
+            {
+                recordedScan(url);
+            } catch (ReflectionsException e)
+            {
+                LOGGER.warn("Unable to scan {}, it is ignored: {}", url, e.getMessage());
+            }
+        }
+
+        private void recordedScan(URL url)
+        {
+            long start = System.nanoTime();
+            List<Scanner> scanners = new ArrayList<>(configuration.getScanners());
+            long[] scannerNanos = new long[scanners.size()];
+            AtomicLong bytesRead = new AtomicLong();
+            int classCount = 0;
+            int resourceCount = 0;
+            Vfs.Dir dir = Vfs.fromURL(url, urlTypes);
+            try
+            {
+                for (Vfs.File file : dir.getFiles())
+                {
+                    String path = file.getRelativePath();
+                    String fqn = path.replace('/', '.');
+                    if (configuration.getInputsFilter() == null || configuration.getInputsFilter().apply(path)
+                            || configuration.getInputsFilter().apply(fqn))
+                    {
+                        Vfs.File countedFile = new CountedFile(file, bytesRead);
+                        Object classObject = null;
+                        boolean scanned = false;
+                        for (int i = 0; i < scanners.size(); i++)
+                        {
+                            Scanner scanner = scanners.get(i);
+                            if (scanner.acceptsInput(path) || scanner.acceptResult(fqn))
+                            {
+                                long scannerStart = System.nanoTime();
+                                classObject = scan(scanner, countedFile, classObject, url);
+                                scannerNanos[i] += System.nanoTime() - scannerStart;
+                                // the result filter accepts any file, only the input filter tells if it is read
+                                scanned |= scanner.acceptsInput(path);
+                            }
+                        }
+                        // the files no scanner accepts, such as the class files of a resources only scan, are not counted
+                        if (scanned && path.endsWith(".class"))
+                        {
+                            classCount++;
+                        } else if (scanned)
+                        {
+                            resourceCount++;
+                        }
+                    }
+                }
+            } finally
+            {
+                dir.close();
+            }
+            for (int i = 0; i < scanners.size(); i++)
+            {
+                statistics.recordScanner(scanners.get(i).getClass().getSimpleName(), scannerNanos[i]);
+            }
+            statistics.recordUrl(url, classCount, resourceCount, bytesRead.get(), System.nanoTime() - start);
+        }
+
+        private Object scan(Scanner scanner, Vfs.File file, Object classObject, URL url)
+        {
+            try
+            {
+                return scanner.scan(file, classObject);
+            } catch (ReflectionsException e)
+            {
+                LOGGER.warn("Unable to scan {} in {} with {}: {}", file.getRelativePath(), url, scanner.getClass().getSimpleName(), e.getMessage());
+            }
+            return classObject;
+        }
+    }
+
+    private static class CountedFile implements Vfs.File
+    {
+        private final Vfs.File file;
+        private final AtomicLong bytesRead;
+
+        CountedFile(Vfs.File file, AtomicLong bytesRead)
+        {
+            this.file = file;
+            this.bytesRead = bytesRead;
+        }
+
+        @Override
+        public String getName()
+        {
+            return file.getName();
+        }
+
+        @Override
+        public String getRelativePath()
+        {
+            return file.getRelativePath();
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException
+        {
+            return new FilterInputStream(file.openInputStream())
+            {
+                @Override
+                public int read() throws IOException
+                {
+                    int read = super.read();
+                    if (read != -1)
+                    {
+                        bytesRead.incrementAndGet();
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) throws IOException
+                {
+                    int read = super.read(bytes, offset, length);
+                    if (read > 0)
+                    {
+                        bytesRead.addAndGet(read);
+                    }
+                    return read;
+                }
+            };
+        }
+    }
+
+    /**
+     * Applies the scan function to each URL, concurrently if more than one scan thread is configured.
+     *
+     * @param urls         the URLs to scan
+     * @param scanFunction the function scanning one URL
+     * @param <T>          the type of the per URL result
+     * @return the result of each URL
+     */
+    protected <T> Map<URL, T> scanEachUrl(Set<URL> urls, Function<URL, T> scanFunction)
+    {
+        Map<URL, T> results = new LinkedHashMap<>();
+        ExecutorService executorService = createScanExecutor(urls.size());
+        if (executorService == null)
+        {
+            for (URL url : urls)
+            {
+                results.put(url, scanFunction.apply(url));
+            }
+            return results;
+        }
+        try
+        {
+            Map<URL, Future<T>> futures = new LinkedHashMap<>();
+            for (URL url : urls)
+            {
+                futures.put(url, executorService.submit(() -> scanFunction.apply(url)));
+            }
+            for (Map.Entry<URL, Future<T>> future : futures.entrySet())
+            {
+                results.put(future.getKey(), getScanResult(future.getKey(), future.getValue()));
+            }
+            return results;
+        } finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+    private <T> T getScanResult(URL url, Future<T> future)
+    {
+        try
+        {
+            return future.get();
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning " + url, e);
+        } catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Unable to scan " + url, e.getCause());
+        }
+    }
+
+    private ExecutorService createScanExecutor(int urlCount)
+    {
+        int threads = Math.min(scanThreads, urlCount);
+        if (threads <= 1)
+        {
+            return null;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "nuun-scan-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     protected ConfigurationBuilder configurationBuilder()
+    {
+        return configurationBuilder(packageRoots);
+    }
+
+    protected ConfigurationBuilder configurationBuilder(Collection<String> packageRoots)
     {
         ConfigurationBuilder cb = new ConfigurationBuilder();
         FilterBuilder fb = new FilterBuilder();
@@ -93,7 +608,101 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
         return cb;
     }
 
-    private Set<URL> findClasspathUrls()
+    @Override
+    public void extend(Set<URL> additionalClasspath, List<String> packageRoots)
+    {
+        boolean wholeClasspath = this.packageRoots.isEmpty();
+        List<String> newPackageRoots = addPackageRoots(packageRoots);
+        Set<URL> newUrls = addUrls(additionalClasspath);
+
+        // The URLs already indexed only need to be scanned for the new package roots
+        Set<URL> indexedUrls = new HashSet<>(urls);
+        indexedUrls.removeAll(newUrls);
+        if (!wholeClasspath && !newPackageRoots.isEmpty() && !indexedUrls.isEmpty())
+        {
+            merge(scanUrls(pruneUrls(indexedUrls, newPackageRoots), newPackageRoots));
+        }
+
+        // The new URLs are scanned for all the package roots
+        if (!newUrls.isEmpty())
+        {
+            merge(scanUrls(pruneUrls(newUrls, packageRoots), packageRoots));
+        }
+        reflections = compact(reflections);
+        clearIndexViews();
+    }
+
+    /**
+     * Clears the views computed from the index. It must be called when the index changes.
+     */
+    protected void clearIndexViews()
+    {
+        annotationsByType = null;
+        typeHierarchy = null;
+        resourceNames = null;
+        classHandles.clear();
+        ignoredTypes.clear();
+        typeNamesByRegex.clear();
+        annotationNamesByRegex.clear();
+    }
+
+    /**
+     * Adds the package roots which are not already covered by the current ones.
+     *
+     * @param packageRoots the package roots to add
+     * @return the package roots actually added
+     */
+    protected List<String> addPackageRoots(Collection<String> packageRoots)
+    {
+        List<String> newPackageRoots = new ArrayList<>();
+        if (this.packageRoots.isEmpty())
+        {
+            // the whole classpath is already scanned
+            return newPackageRoots;
+        }
+        for (String packageRoot : packageRoots)
+        {
+            if (!isCovered(packageRoot))
+            {
+                newPackageRoots.add(packageRoot);
+            }
+        }
+        this.packageRoots.addAll(newPackageRoots);
+        return newPackageRoots;
+    }
+
+    private boolean isCovered(String packageRoot)
+    {
+        for (String scannedPackageRoot : packageRoots)
+        {
+            if (packageRoot.startsWith(scannedPackageRoot))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<URL> addUrls(Set<URL> additionalClasspath)
+    {
+        Set<URL> newUrls = new HashSet<>();
+        if (classpathStrategy.isAdditional() && additionalClasspath != null)
+        {
+            for (URL url : additionalClasspath)
+            {
+                if (!urls.contains(url))
+                {
+                    newUrls.add(url);
+                }
+            }
+            newUrls.addAll(ClasspathHelper.forManifest(newUrls));
+            newUrls.removeAll(urls);
+            urls.addAll(newUrls);
+        }
+        return newUrls;
+    }
+
+    protected Set<URL> findClasspathUrls()
     {
         if (urls == null)
         {
@@ -134,69 +743,158 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
     }
 
     @Override
-    public Collection<Class<?>> scanTypes(final Predicate<Class<?>> predicate)
+    public UrlStatisticsRecorder getStatistics()
     {
-        Store store = reflections.getStore();
-        Multimap<String, String> multimap = store.get(TypeElementsScanner.class.getSimpleName());
-        Collection<String> types = multimap.keySet();
+        return statistics;
+    }
 
-        // Filter via predicate
-        Collection<Class<?>> filteredTypes = new HashSet<>();
-        for (Class<?> candidate : forNames(types))
-        {
-            if (predicate.test(candidate))
-            {
-                filteredTypes.add(candidate);
-            }
-        }
-        return postTreatment(filteredTypes);
+    @Override
+    public ClassResolver getClassResolver()
+    {
+        return classResolver;
     }
 
     @Override
-    public Collection<Class<?>> scanTypesAnnotatedBy(final Class<? extends Annotation> annotationType)
+    public Collection<Class<?>> scanTypes(final Predicate<Class<?>> predicate)
     {
-        return postTreatment(reflections.getTypesAnnotatedWith(annotationType));
+        return scanTypes(Collections.singletonList(predicate)).get(predicate);
     }
 
     @Override
-    public Collection<Class<?>> scanTypes(final String typeRegex)
+    public Map<Predicate<Class<?>>, Collection<Class<?>>> scanTypes(Collection<Predicate<Class<?>>> predicates)
     {
-        Store store = reflections.getStore();
-        Multimap<String, String> multimap = store.get(TypeElementsScanner.class.getSimpleName());
-        Collection<String> collectionOfString = new HashSet<>();
-        for (String loopKey : multimap.keySet())
+        Map<Predicate<Class<?>>, Collection<Class<?>>> results = new HashMap<>();
+        if (predicates.isEmpty())
         {
-            if (loopKey.matches(typeRegex))
+            return results;
+        }
+        List<Predicate<Class<?>>> predicateList = new ArrayList<>(new LinkedHashSet<>(predicates));
+        List<String> candidates = new ArrayList<>(typeNames());
+        boolean parallel = scanThreads > 1;
+        PredicateEvaluation evaluation = new PredicateEvaluation(candidates, 0, candidates.size(), predicateList, parallel);
+        List<Set<Class<?>>> matches;
+        if (parallel)
+        {
+            matches = predicatePool().invoke(evaluation);
+        } else
+        {
+            matches = evaluation.compute();
+        }
+        for (int i = 0; i < predicateList.size(); i++)
+        {
+            results.put(predicateList.get(i), postTreatment(matches.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * @return the pool evaluating the predicates, created once per scanner. Its idle workers are
+     * daemon threads which terminate by themselves, so it needs no shutdown.
+     */
+    private ForkJoinPool predicatePool()
+    {
+        ForkJoinPool pool = predicatePool;
+        if (pool == null)
+        {
+            synchronized (this)
             {
-                collectionOfString.add(loopKey);
+                pool = predicatePool;
+                if (pool == null)
+                {
+                    pool = new ForkJoinPool(scanThreads);
+                    predicatePool = pool;
+                }
             }
         }
-
-        return postTreatment(forNames(collectionOfString));
+        return pool;
     }
 
-    @Override
-    public Collection<Class<?>> scanTypesAnnotatedBy(final String annotationTypeRegex)
+    /**
+     * Loads each candidate class once and evaluates all the predicates on it. The candidates are
+     * split in halves until they are small enough to be evaluated by one task.
+     */
+    private class PredicateEvaluation extends RecursiveTask<List<Set<Class<?>>>>
     {
-        Store store = reflections.getStore();
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 256;
+
+        private final List<String> typeNames;
+        private final int from;
+        private final int to;
+        private final List<Predicate<Class<?>>> predicates;
+        private final boolean parallel;
 
-        Multimap<String, String> multimap = store.get(TypeAnnotationsScanner.class.getSimpleName());
+        PredicateEvaluation(List<String> typeNames, int from, int to, List<Predicate<Class<?>>> predicates, boolean parallel)
+        {
+            this.typeNames = typeNames;
+            this.from = from;
+            this.to = to;
+            this.predicates = predicates;
+            this.parallel = parallel;
+        }
 
-        List<String> key = new ArrayList<>();
-        for (String loopKey : multimap.keySet())
+        @Override
+        protected List<Set<Class<?>>> compute()
         {
-            if (loopKey.matches(annotationTypeRegex))
+            if (parallel && to - from > THRESHOLD)
             {
-                key.add(loopKey);
+                int middle = (from + to) >>> 1;
+                PredicateEvaluation firstHalf = new PredicateEvaluation(typeNames, from, middle, predicates, true);
+                firstHalf.fork();
+                List<Set<Class<?>>> matches = new PredicateEvaluation(typeNames, middle, to, predicates, true).compute();
+                List<Set<Class<?>>> firstHalfMatches = firstHalf.join();
+                for (int i = 0; i < matches.size(); i++)
+                {
+                    matches.get(i).addAll(firstHalfMatches.get(i));
+                }
+                return matches;
             }
+            List<Set<Class<?>>> matches = new ArrayList<>(predicates.size());
+            for (int i = 0; i < predicates.size(); i++)
+            {
+                matches.add(new HashSet<>());
+            }
+            for (int j = from; j < to; j++)
+            {
+                Class<?> candidate = loadClass(typeNames.get(j));
+                if (candidate != null)
+                {
+                    for (int i = 0; i < predicates.size(); i++)
+                    {
+                        if (predicates.get(i).test(candidate))
+                        {
+                            matches.get(i).add(candidate);
+                        }
+                    }
+                }
+            }
+            return matches;
         }
+    }
+
+    @Override
+    public Collection<Class<?>> scanTypesAnnotatedBy(final Class<? extends Annotation> annotationType)
+    {
+        return postTreatment(reflections.getTypesAnnotatedWith(annotationType));
+    }
+
+    @Override
+    public Collection<Class<?>> scanTypes(final String typeRegex)
+    {
+        return postTreatment(loadClasses(typeNamesMatching(typeRegex)));
+    }
+
+    @Override
+    public Collection<Class<?>> scanTypesAnnotatedBy(final String annotationTypeRegex)
+    {
+        Multimap<String, String> multimap = reflections.getStore().get(TypeAnnotationsScanner.class.getSimpleName());
 
         Collection<Class<?>> typesAnnotatedWith = new HashSet<>();
 
-        for (String k : key)
+        for (String k : annotationNamesMatching(annotationTypeRegex))
         {
             Collection<String> collectionOfString = multimap.get(k);
-            typesAnnotatedWith.addAll(forNames(collectionOfString));
+            typesAnnotatedWith.addAll(loadClasses(collectionOfString));
         }
         return postTreatment(typesAnnotatedWith);
     }
@@ -206,10 +904,9 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
     {
         Multimap<String, String> multimap = reflections.getStore().get(TypeElementsScanner.class.getSimpleName());
         Collection<Class<?>> typesAnnotatedWith = Sets.newHashSet();
-        for (String className : multimap.keys())
+        for (Class<?> aClass : loadClasses(multimap.keySet()))
         {
-            Class<?> aClass = forNameSilent(className);
-            if (annotationType != null && aClass != null && AssertUtils.hasAnnotationDeep(aClass, annotationType) && !aClass.isAnnotation())
+            if (annotationType != null && AssertUtils.hasAnnotationDeep(aClass, annotationType) && !aClass.isAnnotation())
             {
                 typesAnnotatedWith.add(aClass);
             }
@@ -222,10 +919,9 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
     {
         Multimap<String, String> multimap = reflections.getStore().get(TypeElementsScanner.class.getSimpleName());
         Collection<Class<?>> typesAnnotatedWith = Sets.newHashSet();
-        for (String className : multimap.keys())
+        for (Class<?> aClass : loadClasses(multimap.keySet()))
         {
-            Class<?> aClass = forNameSilent(className);
-            if (metaAnnotationRegex != null && aClass != null && AssertUtils.hasAnnotationDeepRegex(aClass, metaAnnotationRegex) && !aClass.isAnnotation())
+            if (metaAnnotationRegex != null && AssertUtils.hasAnnotationDeepRegex(aClass, metaAnnotationRegex) && !aClass.isAnnotation())
             {
                 typesAnnotatedWith.add(aClass);
             }
@@ -233,45 +929,398 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
         return postTreatment(typesAnnotatedWith);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<Class<?>> scanSubTypesOf(final Class<?> subType)
     {
-        return postTreatment((Collection) reflections.getSubTypesOf(subType));
+        return postTreatment(loadClasses(typeHierarchy().descendantsOf(subType.getName())));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<Class<?>> scanSubTypesOf(final String subTypeName)
     {
+        // Find the subclasses of the matching types
+        return postTreatment(loadClasses(typeHierarchy().descendantsOf(typeNamesMatching(subTypeName))));
+    }
+
+    @Override
+    public Collection<Class<?>> scanAncestorTypesOf(final Class<?> type)
+    {
+        return postTreatment(loadClasses(scannedAncestorsOf(type)));
+    }
+
+    @Override
+    public Set<String> scanResources(final String pattern)
+    {
+        // same resolution as Reflections.getResources(), the regex matching the simple name of the resources
+        Multimap<String, String> resources = reflections.getStore().get(ResourcesScanner.class.getSimpleName());
+        Set<String> resourcePaths = new HashSet<>();
+        for (String resourceName : resourceNames().match(pattern))
+        {
+            resourcePaths.addAll(resources.get(resourceName));
+        }
+        return resourcePaths;
+    }
+
+    @Override
+    public Collection<ClassHandle> scanTypeHandles(final String typeRegex)
+    {
+        return handles(typeNamesMatching(typeRegex));
+    }
+
+    @Override
+    public Collection<ClassHandle> scanTypeHandlesAnnotatedBy(final Class<? extends Annotation> annotationType)
+    {
+        // same resolution as Reflections.getTypesAnnotatedWith(), without loading the classes
         Store store = reflections.getStore();
-        Multimap<String, String> multimap = store.get(TypeElementsScanner.class.getSimpleName());
+        String typeAnnotationsIndex = TypeAnnotationsScanner.class.getSimpleName();
+        Iterable<String> annotatedTypes = store.get(typeAnnotationsIndex, annotationType.getName());
+        Iterable<String> types = Iterables.concat(annotatedTypes, store.getAll(typeAnnotationsIndex, annotatedTypes));
+        return handles(Sets.newHashSet(Iterables.concat(types, typeHierarchy().descendantsOf(Sets.newHashSet(types)))));
+    }
 
+    @Override
+    public Collection<ClassHandle> scanTypeHandlesAnnotatedBy(final String annotationTypeRegex)
+    {
+        Multimap<String, String> multimap = reflections.getStore().get(TypeAnnotationsScanner.class.getSimpleName());
         Collection<String> types = new HashSet<>();
+        for (String annotationName : annotationNamesMatching(annotationTypeRegex))
+        {
+            types.addAll(multimap.get(annotationName));
+        }
+        return handles(types);
+    }
+
+    @Override
+    public Collection<ClassHandle> scanSubTypeHandlesOf(final Class<?> parentType)
+    {
+        return handles(typeHierarchy().descendantsOf(parentType.getName()));
+    }
 
-        for (String loopKey : multimap.keySet())
+    @Override
+    public Collection<ClassHandle> scanSubTypeHandlesOf(final String parentTypeRegex)
+    {
+        return handles(typeHierarchy().descendantsOf(typeNamesMatching(parentTypeRegex)));
+    }
+
+    @Override
+    public Collection<ClassHandle> scanAncestorTypeHandlesOf(final Class<?> type)
+    {
+        return handles(scannedAncestorsOf(type));
+    }
+
+    private Collection<String> scannedAncestorsOf(Class<?> type)
+    {
+        // the super types outside of the scanned packages are part of the hierarchy but not of the results
+        Set<String> ancestors = typeHierarchy().ancestorsOf(type.getName());
+        ancestors.retainAll(typeNames());
+        return ancestors;
+    }
+
+    @Override
+    public void matchRegexes(Collection<String> typeRegexes, Collection<String> annotationRegexes)
+    {
+        matchRegexes(typeRegexes, typeNames(), typeNamesByRegex);
+        matchRegexes(annotationRegexes, reflections.getStore().get(TypeAnnotationsScanner.class.getSimpleName()).keySet(),
+                annotationNamesByRegex);
+    }
+
+    private void matchRegexes(Collection<String> regexes, Collection<String> names, Map<String, Set<String>> namesByRegex)
+    {
+        List<String> newRegexes = new ArrayList<>();
+        for (String regex : regexes)
         {
-            if (loopKey.matches(subTypeName))
+            if (!namesByRegex.containsKey(regex))
             {
-                types.add(loopKey);
+                newRegexes.add(regex);
             }
         }
+        if (!newRegexes.isEmpty())
+        {
+            namesByRegex.putAll(new MultiRegexMatcher(newRegexes).match(names));
+        }
+    }
+
+    private Set<String> typeNamesMatching(String typeRegex)
+    {
+        return namesMatching(typeRegex, typeNames(), typeNamesByRegex);
+    }
 
-        // Then find subclasses of types
-        Collection<Class<?>> finalClasses = new HashSet<>();
-        for (Class<?> subType : forNames(types))
+    private Set<String> annotationNamesMatching(String annotationRegex)
+    {
+        return namesMatching(annotationRegex, reflections.getStore().get(TypeAnnotationsScanner.class.getSimpleName()).keySet(),
+                annotationNamesByRegex);
+    }
+
+    private Set<String> namesMatching(String regex, Collection<String> names, Map<String, Set<String>> namesByRegex)
+    {
+        Set<String> matchingNames = namesByRegex.get(regex);
+        if (matchingNames == null)
         {
-            finalClasses.addAll(postTreatment((Collection) reflections.getSubTypesOf(subType)));
+            matchingNames = new MultiRegexMatcher(Collections.singleton(regex)).match(names).get(regex);
+            namesByRegex.put(regex, matchingNames);
         }
+        return matchingNames;
+    }
 
-        // removed ignored already done
-        return finalClasses;
+    /**
+     * Builds the handles of the given types and removes the ones excluded by the ignore rules.
+     *
+     * @param typeNames the type names
+     * @return the class handles
+     */
+    protected Collection<ClassHandle> handles(Collection<String> typeNames)
+    {
+        List<ClassHandle> handles = new ArrayList<>(typeNames.size());
+        for (String typeName : typeNames)
+        {
+            ClassHandle classHandle = classHandles.computeIfAbsent(typeName, this::createHandle);
+            if (!ignoredTypes.computeIfAbsent(typeName, name -> isIgnored(classHandle)))
+            {
+                handles.add(classHandle);
+            }
+        }
+        return handles;
     }
 
-    @Override
-    public Set<String> scanResources(final String pattern)
+    private ClassHandle createHandle(String typeName)
+    {
+        return new ScannedClassHandle(typeName, modifiersOf(typeName),
+                Collections.unmodifiableCollection(annotationsByType().get(typeName)), this::loadClass);
+    }
+
+    /**
+     * Applies the rules of the {@code IgnorePredicate} on the index: the abstract classes are
+     * ignored unless they are reached, and so are the types on which {@code Ignore} or an annotation
+     * annotated by {@code Ignore} is present.
+     */
+    private boolean isIgnored(ClassHandle classHandle)
+    {
+        int modifiers = classHandle.getModifiers();
+        if (!isReachAbstractClass() && Modifier.isAbstract(modifiers) && !Modifier.isInterface(modifiers))
+        {
+            return true;
+        }
+        for (String annotationName : presentAnnotationsOf(classHandle))
+        {
+            if (IGNORE.equals(annotationName) || annotationsOf(annotationName).contains(IGNORE))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the annotations present on a type as {@link Class#getAnnotations()} returns them: its
+     * own annotations and the inherited annotations of its super classes.
+     */
+    private Collection<String> presentAnnotationsOf(ClassHandle classHandle)
+    {
+        return presentAnnotationsOf(classHandle.getName(), classHandle.getModifiers(), classHandle.getAnnotationNames());
+    }
+
+    /**
+     * Returns the annotation names present on a type, as {@link Class#getAnnotations()}: its own
+     * annotations and the {@link Inherited} annotations of its super classes.
+     *
+     * @param typeName the type name
+     * @return the annotation names
+     */
+    protected Collection<String> presentAnnotationsOf(String typeName)
+    {
+        return presentAnnotationsOf(typeName, modifiersOf(typeName), annotationsOf(typeName));
+    }
+
+    private Collection<String> presentAnnotationsOf(String typeName, int modifiers, Collection<String> declaredAnnotationNames)
+    {
+        if (Modifier.isInterface(modifiers))
+        {
+            return declaredAnnotationNames;
+        }
+        Set<String> annotationNames = new LinkedHashSet<>(declaredAnnotationNames);
+        for (String superclass = superclassOf(typeName); superclass != null; superclass = superclassOf(superclass))
+        {
+            for (String annotationName : annotationsOf(superclass))
+            {
+                if (annotationsOf(annotationName).contains(INHERITED))
+                {
+                    annotationNames.add(annotationName);
+                }
+            }
+        }
+        return annotationNames;
+    }
+
+    private String superclassOf(String typeName)
+    {
+        String superclass = null;
+        if (typeNames().contains(typeName))
+        {
+            // the super class of a scanned type is its only direct super type which is not an interface
+            for (String superType : typeHierarchy().superTypesOf(typeName))
+            {
+                if (!Modifier.isInterface(modifiersOf(superType)))
+                {
+                    superclass = superType;
+                }
+            }
+        } else
+        {
+            superclass = unscannedType(typeName).getSuperclassName();
+        }
+        return Object.class.getName().equals(superclass) ? null : superclass;
+    }
+
+    private int modifiersOf(String typeName)
+    {
+        if (!typeNames().contains(typeName))
+        {
+            return unscannedType(typeName).getModifiers();
+        }
+        Collection<String> modifiers = reflections.getStore().get(TypeModifiersScanner.class.getSimpleName()).get(typeName);
+        return modifiers.isEmpty() ? 0 : Integer.parseInt(modifiers.iterator().next());
+    }
+
+    /**
+     * @return the annotation names of the scanned types, by type name. The compact stores are
+     * inverted from their symbol ids.
+     */
+    protected Multimap<String, String> annotationsByType()
+    {
+        Multimap<String, String> multimap = annotationsByType;
+        if (multimap == null)
+        {
+            synchronized (this)
+            {
+                multimap = annotationsByType;
+                if (multimap == null)
+                {
+                    Multimap<String, String> typesByAnnotation = reflections.getStore().get(TypeAnnotationsScanner.class.getSimpleName());
+                    multimap = typesByAnnotation instanceof CompactMultimap ? ((CompactMultimap) typesByAnnotation).inverse()
+                            : Multimaps.invertFrom(typesByAnnotation, HashMultimap.<String, String>create());
+                    annotationsByType = multimap;
+                }
+            }
+        }
+        return multimap;
+    }
+
+    /**
+     * @return the hierarchy of the scanned types, built once per index
+     */
+    protected TypeHierarchy typeHierarchy()
+    {
+        TypeHierarchy hierarchy = typeHierarchy;
+        if (hierarchy == null)
+        {
+            synchronized (this)
+            {
+                hierarchy = typeHierarchy;
+                if (hierarchy == null)
+                {
+                    Multimap<String, String> subTypes = reflections.getStore().get(SubTypesScanner.class.getSimpleName());
+                    hierarchy = subTypes instanceof CompactMultimap ? ((CompactMultimap) subTypes).toTypeHierarchy() : new TypeHierarchy(subTypes);
+                    typeHierarchy = hierarchy;
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * @return the index of the resource names, built once per index
+     */
+    protected ResourceNameIndex resourceNames()
+    {
+        ResourceNameIndex index = resourceNames;
+        if (index == null)
+        {
+            synchronized (this)
+            {
+                index = resourceNames;
+                if (index == null)
+                {
+                    // the names of a compact store are its interned symbols, already in sorted order
+                    index = new ResourceNameIndex(reflections.getStore().get(ResourcesScanner.class.getSimpleName()).keySet());
+                    resourceNames = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the annotation names of a type, usually an annotation type. They are read from the
+     * index if the type was scanned, otherwise from its class file.
+     *
+     * @param typeName the type name
+     * @return the annotation names
+     */
+    protected Collection<String> annotationsOf(String typeName)
+    {
+        if (typeNames().contains(typeName))
+        {
+            return annotationsByType().get(typeName);
+        }
+        return unscannedType(typeName).getAnnotationNames();
+    }
+
+    private ClassEntry unscannedType(String typeName)
+    {
+        return unscannedTypes.computeIfAbsent(typeName, this::readClassFile);
+    }
+
+    private ClassEntry readClassFile(String typeName)
+    {
+        String path = typeName.replace('.', '/') + ".class";
+        try (InputStream inputStream = classLoader().getResourceAsStream(path))
+        {
+            if (inputStream != null)
+            {
+                ClassEntry classEntry = ClassFileReader.read(path, inputStream);
+                if (classEntry != null)
+                {
+                    return classEntry;
+                }
+            }
+        } catch (IOException e)
+        {
+            LOGGER.debug("Unable to read the class file of {}: {}", typeName, e.getMessage());
+        }
+        return new ClassEntry(path, typeName, null, Collections.<String>emptyList(), Collections.<String>emptyList(), 0);
+    }
+
+    protected Collection<String> typeNames()
+    {
+        return reflections.getStore().get(TypeElementsScanner.class.getSimpleName()).keySet();
+    }
+
+    /**
+     * Loads the classes without initializing them, concurrently when the scan is multi-threaded.
+     * The names which failed to load are not tried again by this scanner.
+     *
+     * @param typeNames the class names
+     * @return the loaded classes
+     */
+    protected Collection<Class<?>> loadClasses(Collection<String> typeNames)
+    {
+        return classResolver.resolveAll(typeNames);
+    }
+
+    /**
+     * Loads a class without initializing it.
+     *
+     * @param typeName the class name
+     * @return the class or null if it cannot be loaded
+     */
+    protected Class<?> loadClass(String typeName)
+    {
+        return classResolver.resolve(typeName);
+    }
+
+    private ClassLoader classLoader()
     {
-        return reflections.getResources(Pattern.compile(pattern));
+        return ClasspathScannerDisk.class.getClassLoader();
     }
 
     protected Scanner[] getScanners()
@@ -280,7 +1329,8 @@ public class ClasspathScannerDisk extends AbstractClasspathScanner
                 buildTypeElementsScanner(),
                 new SubTypesScanner(),
                 new TypeAnnotationsScanner(),
-                new ResourcesScanner()
+                new ResourcesScanner(),
+                new TypeModifiersScanner()
         };
     }
 
@@ -0,0 +1,594 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multiset;
+import io.nuun.kernel.core.internal.scanner.TypeHierarchy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read only multimap of names backed by arrays of symbol ids. The keys are sorted by id and the
+ * values of the key at position {@code k} are stored between {@code offsets[k]} and
+ * {@code offsets[k + 1]}. The arrays are kept in int buffers, which can be allocated outside of
+ * the heap.
+ */
+final class CompactMultimap implements Multimap<String, String>
+{
+    private static final String READ_ONLY = "The compact scan store is read only";
+
+    private final SymbolTable symbols;
+    private final IntBuffer keyIds;
+    private final IntBuffer offsets;
+    private final IntBuffer values;
+    private final int keyCount;
+
+    private CompactMultimap(SymbolTable symbols, IntBuffer keyIds, IntBuffer offsets, IntBuffer values)
+    {
+        this.symbols = symbols;
+        this.keyIds = keyIds;
+        this.offsets = offsets;
+        this.values = values;
+        this.keyCount = keyIds.limit();
+    }
+
+    /**
+     * Copies a multimap whose names are all in the symbol table.
+     *
+     * @param source  the multimap to copy
+     * @param symbols the symbol table of the names
+     * @param offHeap true to allocate the arrays in direct buffers
+     * @return the compact copy
+     */
+    static CompactMultimap copyOf(Multimap<String, String> source, SymbolTable symbols, boolean offHeap)
+    {
+        int[] keys = new int[source.keySet().size()];
+        int k = 0;
+        for (String key : source.keySet())
+        {
+            keys[k++] = symbols.idOf(key);
+        }
+        Arrays.sort(keys);
+        int[] offsetArray = new int[keys.length + 1];
+        int[] valueArray = new int[source.size()];
+        int v = 0;
+        for (k = 0; k < keys.length; k++)
+        {
+            offsetArray[k] = v;
+            for (String value : source.get(symbols.nameOf(keys[k])))
+            {
+                valueArray[v++] = symbols.idOf(value);
+            }
+        }
+        offsetArray[keys.length] = v;
+        return new CompactMultimap(symbols, buffer(keys, keys.length, offHeap), buffer(offsetArray, offsetArray.length, offHeap),
+                buffer(valueArray, v, offHeap));
+    }
+
+    /**
+     * Inverts this multimap from the symbol ids, without going through the names: each value
+     * becomes a key whose values are the keys it was found under.
+     *
+     * @return the inverted copy, in the same kind of buffers as this multimap
+     */
+    CompactMultimap inverse()
+    {
+        // the count of each value id, then the position of its first key in the inverted values
+        int[] positions = new int[symbols.size()];
+        for (int i = 0; i < values.limit(); i++)
+        {
+            positions[values.get(i)]++;
+        }
+        int inverseKeyCount = 0;
+        for (int count : positions)
+        {
+            if (count > 0)
+            {
+                inverseKeyCount++;
+            }
+        }
+        int[] inverseKeys = new int[inverseKeyCount];
+        int[] inverseOffsets = new int[inverseKeyCount + 1];
+        int k = 0;
+        int v = 0;
+        for (int id = 0; id < positions.length; id++)
+        {
+            int count = positions[id];
+            if (count > 0)
+            {
+                inverseKeys[k] = id;
+                inverseOffsets[k++] = v;
+                positions[id] = v;
+                v += count;
+            }
+        }
+        inverseOffsets[k] = v;
+        int[] inverseValues = new int[v];
+        for (k = 0; k < keyCount; k++)
+        {
+            for (int i = offsets.get(k); i < offsets.get(k + 1); i++)
+            {
+                inverseValues[positions[values.get(i)]++] = keyIds.get(k);
+            }
+        }
+        boolean offHeap = keyIds.isDirect();
+        return new CompactMultimap(symbols, buffer(inverseKeys, inverseKeys.length, offHeap),
+                buffer(inverseOffsets, inverseOffsets.length, offHeap), buffer(inverseValues, v, offHeap));
+    }
+
+    /**
+     * Builds the type hierarchy of this multimap of direct sub types by super type from the symbol
+     * ids. The type names of the hierarchy are the names of the symbol table.
+     *
+     * @return the type hierarchy
+     */
+    TypeHierarchy toTypeHierarchy()
+    {
+        BitSet typeIds = new BitSet(symbols.size());
+        for (int k = 0; k < keyCount; k++)
+        {
+            typeIds.set(keyIds.get(k));
+        }
+        for (int i = 0; i < values.limit(); i++)
+        {
+            typeIds.set(values.get(i));
+        }
+        // the symbol ids follow the order of the names, so the type names are sorted too
+        int[] typeSymbols = new int[typeIds.cardinality()];
+        String[] names = new String[typeSymbols.length];
+        int t = 0;
+        for (int id = typeIds.nextSetBit(0); id >= 0; id = typeIds.nextSetBit(id + 1))
+        {
+            typeSymbols[t] = id;
+            names[t++] = symbols.nameOf(id);
+        }
+        int[] none = new int[0];
+        int[][] subTypes = new int[typeSymbols.length][];
+        Arrays.fill(subTypes, none);
+        for (int k = 0; k < keyCount; k++)
+        {
+            int start = offsets.get(k);
+            int[] keySubTypes = new int[offsets.get(k + 1) - start];
+            for (int i = 0; i < keySubTypes.length; i++)
+            {
+                keySubTypes[i] = Arrays.binarySearch(typeSymbols, values.get(start + i));
+            }
+            subTypes[Arrays.binarySearch(typeSymbols, keyIds.get(k))] = keySubTypes;
+        }
+        return new TypeHierarchy(names, subTypes);
+    }
+
+    private static IntBuffer buffer(int[] array, int length, boolean offHeap)
+    {
+        if (!offHeap)
+        {
+            return IntBuffer.wrap(array, 0, length).slice();
+        }
+        IntBuffer buffer = ByteBuffer.allocateDirect(length * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+        buffer.put(array, 0, length);
+        buffer.flip();
+        return buffer;
+    }
+
+    private int keyIndex(Object key)
+    {
+        int id = symbols.idOf(key);
+        if (id < 0)
+        {
+            return -1;
+        }
+        int low = 0;
+        int high = keyCount - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int middleId = keyIds.get(middle);
+            if (middleId < id)
+            {
+                low = middle + 1;
+            } else if (middleId > id)
+            {
+                high = middle - 1;
+            } else
+            {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private String keyAt(int keyIndex)
+    {
+        return symbols.nameOf(keyIds.get(keyIndex));
+    }
+
+    private String valueAt(int valueIndex)
+    {
+        return symbols.nameOf(values.get(valueIndex));
+    }
+
+    @Override
+    public int size()
+    {
+        return values.limit();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return keyCount == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return keyIndex(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        int id = symbols.idOf(value);
+        for (int i = 0; id >= 0 && i < values.limit(); i++)
+        {
+            if (values.get(i) == id)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsEntry(Object key, Object value)
+    {
+        return valuesOf(key).contains(value);
+    }
+
+    @Override
+    public Set<String> get(String key)
+    {
+        return valuesOf(key);
+    }
+
+    private Set<String> valuesOf(Object key)
+    {
+        int keyIndex = keyIndex(key);
+        return keyIndex < 0 ? Collections.<String>emptySet() : new ValueSet(keyIndex);
+    }
+
+    @Override
+    public Set<String> keySet()
+    {
+        return new AbstractSet<String>()
+        {
+            @Override
+            public Iterator<String> iterator()
+            {
+                return new IndexIterator<String>(0, keyCount)
+                {
+                    @Override
+                    String get(int index)
+                    {
+                        return keyAt(index);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o)
+            {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size()
+            {
+                return keyCount;
+            }
+        };
+    }
+
+    @Override
+    public Multiset<String> keys()
+    {
+        ImmutableMultiset.Builder<String> keys = ImmutableMultiset.builder();
+        for (int k = 0; k < keyCount; k++)
+        {
+            keys.addCopies(keyAt(k), offsets.get(k + 1) - offsets.get(k));
+        }
+        return keys.build();
+    }
+
+    @Override
+    public Collection<String> values()
+    {
+        return new AbstractCollection<String>()
+        {
+            @Override
+            public Iterator<String> iterator()
+            {
+                return new IndexIterator<String>(0, values.limit())
+                {
+                    @Override
+                    String get(int index)
+                    {
+                        return valueAt(index);
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return values.limit();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Map.Entry<String, String>> entries()
+    {
+        return new AbstractCollection<Map.Entry<String, String>>()
+        {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator()
+            {
+                return new Iterator<Map.Entry<String, String>>()
+                {
+                    private int keyIndex;
+                    private int valueIndex;
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return valueIndex < values.limit();
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next()
+                    {
+                        if (!hasNext())
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        while (offsets.get(keyIndex + 1) <= valueIndex)
+                        {
+                            keyIndex++;
+                        }
+                        return Maps.immutableEntry(keyAt(keyIndex), valueAt(valueIndex++));
+                    }
+
+                    @Override
+                    public void remove()
+                    {
+                        throw new UnsupportedOperationException(READ_ONLY);
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return values.limit();
+            }
+        };
+    }
+
+    @Override
+    public Map<String, Collection<String>> asMap()
+    {
+        return new AbstractMap<String, Collection<String>>()
+        {
+            @Override
+            public Set<Entry<String, Collection<String>>> entrySet()
+            {
+                return new AbstractSet<Entry<String, Collection<String>>>()
+                {
+                    @Override
+                    public Iterator<Entry<String, Collection<String>>> iterator()
+                    {
+                        return new IndexIterator<Entry<String, Collection<String>>>(0, keyCount)
+                        {
+                            @Override
+                            Entry<String, Collection<String>> get(int index)
+                            {
+                                return Maps.<String, Collection<String>>immutableEntry(keyAt(index), new ValueSet(index));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size()
+                    {
+                        return keyCount;
+                    }
+                };
+            }
+
+            @Override
+            public Collection<String> get(Object key)
+            {
+                int keyIndex = keyIndex(key);
+                return keyIndex < 0 ? null : new ValueSet(keyIndex);
+            }
+
+            @Override
+            public boolean containsKey(Object key)
+            {
+                return keyIndex(key) >= 0;
+            }
+        };
+    }
+
+    @Override
+    public boolean put(String key, String value)
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean putAll(String key, Iterable<? extends String> values)
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean putAll(Multimap<? extends String, ? extends String> multimap)
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public Collection<String> replaceValues(String key, Iterable<? extends String> values)
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public Collection<String> removeAll(Object key)
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException(READ_ONLY);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return this == o || o instanceof Multimap && asMap().equals(((Multimap<?, ?>) o).asMap());
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return asMap().toString();
+    }
+
+    private class ValueSet extends AbstractSet<String>
+    {
+        private final int start;
+        private final int end;
+
+        ValueSet(int keyIndex)
+        {
+            this.start = offsets.get(keyIndex);
+            this.end = offsets.get(keyIndex + 1);
+        }
+
+        @Override
+        public Iterator<String> iterator()
+        {
+            return new IndexIterator<String>(start, end)
+            {
+                @Override
+                String get(int index)
+                {
+                    return valueAt(index);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o)
+        {
+            int id = symbols.idOf(o);
+            for (int i = start; id >= 0 && i < end; i++)
+            {
+                if (values.get(i) == id)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int size()
+        {
+            return end - start;
+        }
+    }
+
+    private abstract static class IndexIterator<T> implements Iterator<T>
+    {
+        private int index;
+        private final int end;
+
+        IndexIterator(int start, int end)
+        {
+            this.index = start;
+            this.end = end;
+        }
+
+        abstract T get(int index);
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < end;
+        }
+
+        @Override
+        public T next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return get(index++);
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException(READ_ONLY);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import com.google.common.collect.Multimap;
+import org.reflections.ReflectionsException;
+import org.reflections.Store;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read only copy of a Reflections store in which each class name is interned once in a
+ * {@link SymbolTable}. The indexes are {@link CompactMultimap}s of symbol ids instead of
+ * multimaps of strings.
+ */
+final class CompactStore extends Store
+{
+    private final SymbolTable symbols;
+    private final Map<String, CompactMultimap> indexes = new HashMap<>();
+
+    /**
+     * Copies a store and empties it, one index at a time, so the source and the copy of an index
+     * are not both kept in memory.
+     *
+     * @param store   the store to copy, which is emptied
+     * @param offHeap true to keep the arrays of ids in direct buffers
+     */
+    CompactStore(Store store, boolean offHeap)
+    {
+        Set<String> names = new HashSet<>();
+        for (String index : store.keySet())
+        {
+            for (Map.Entry<String, String> entry : store.get(index).entries())
+            {
+                names.add(entry.getKey());
+                names.add(entry.getValue());
+            }
+        }
+        symbols = new SymbolTable(names);
+        for (String index : store.keySet())
+        {
+            Multimap<String, String> source = store.get(index);
+            indexes.put(index, CompactMultimap.copyOf(source, symbols, offHeap));
+            source.clear();
+        }
+    }
+
+    @Override
+    public Set<String> keySet()
+    {
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    @Override
+    public Multimap<String, String> getOrCreate(String index)
+    {
+        CompactMultimap multimap = indexes.get(index);
+        if (multimap == null)
+        {
+            throw new UnsupportedOperationException("The compact scan store is read only, " + index + " cannot be created");
+        }
+        return multimap;
+    }
+
+    @Override
+    public Multimap<String, String> get(String index)
+    {
+        CompactMultimap multimap = indexes.get(index);
+        if (multimap == null)
+        {
+            throw new ReflectionsException("Scanner " + index + " was not configured");
+        }
+        return multimap;
+    }
+
+    /**
+     * @return the number of distinct names of the store
+     */
+    int symbolCount()
+    {
+        return symbols.size();
+    }
+}
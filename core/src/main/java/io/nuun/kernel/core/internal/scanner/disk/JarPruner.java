@@ -0,0 +1,222 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+/**
+ * Tells whether a jar of the classpath can contain an entry under the scanned package roots, so the
+ * jars which cannot are not scanned at all. The packages of a jar are taken, in this order, from the
+ * {@value #PACKAGES_ATTRIBUTE} attribute of its manifest, from its {@code META-INF/INDEX.LIST} or
+ * from the entry names of its central directory. The entries are never read. The URLs which are not
+ * jar files are always kept.
+ */
+public class JarPruner
+{
+    /**
+     * The manifest attribute listing the packages of a jar, separated by commas.
+     */
+    public static final String PACKAGES_ATTRIBUTE = "Nuun-Packages";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JarPruner.class);
+    private static final String META_INF = "META-INF";
+    private static final String INDEX_LIST = "META-INF/INDEX.LIST";
+
+    private final List<String> packageRoots = new ArrayList<>();
+    private final boolean metaInfRoots;
+
+    /**
+     * @param packageRoots the scanned package roots, as given to the inputs filter
+     */
+    public JarPruner(Collection<String> packageRoots)
+    {
+        boolean hasMetaInfRoots = false;
+        for (String packageRoot : packageRoots)
+        {
+            this.packageRoots.add(packageRoot);
+            hasMetaInfRoots |= packageRoot.startsWith(META_INF);
+        }
+        // the manifest and INDEX.LIST do not list the META-INF directories
+        this.metaInfRoots = hasMetaInfRoots;
+    }
+
+    /**
+     * @param url a classpath URL
+     * @return false if the URL is a jar without any entry under the package roots
+     */
+    public boolean mayContainPackageRoots(URL url)
+    {
+        File file = toJarFile(url);
+        if (file == null || packageRoots.isEmpty())
+        {
+            return true;
+        }
+        try (JarFile jarFile = new JarFile(file, false))
+        {
+            if (!metaInfRoots)
+            {
+                List<String> packages = declaredPackages(jarFile);
+                if (packages == null)
+                {
+                    packages = indexedPackages(jarFile, file.getName());
+                }
+                if (packages != null)
+                {
+                    return anyPackageUnderRoots(packages);
+                }
+            }
+            return anyEntryUnderRoots(jarFile);
+        } catch (IOException | RuntimeException e)
+        {
+            LOGGER.debug("Unable to list the entries of {}: {}", file, e.getMessage());
+            return true;
+        }
+    }
+
+    private File toJarFile(URL url)
+    {
+        if (!"file".equals(url.getProtocol()))
+        {
+            return null;
+        }
+        try
+        {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    private List<String> declaredPackages(JarFile jarFile) throws IOException
+    {
+        Manifest manifest = jarFile.getManifest();
+        String packages = manifest == null ? null : manifest.getMainAttributes().getValue(new Attributes.Name(PACKAGES_ATTRIBUTE));
+        if (packages == null)
+        {
+            return null;
+        }
+        List<String> declaredPackages = new ArrayList<>();
+        for (String aPackage : packages.split(","))
+        {
+            if (!aPackage.trim().isEmpty())
+            {
+                declaredPackages.add(aPackage.trim());
+            }
+        }
+        return declaredPackages;
+    }
+
+    private List<String> indexedPackages(JarFile jarFile, String jarName) throws IOException
+    {
+        ZipEntry indexEntry = jarFile.getEntry(INDEX_LIST);
+        if (indexEntry == null)
+        {
+            return null;
+        }
+        // the sections of the index are separated by blank lines and start with the name of their jar
+        List<String> packages = null;
+        List<String> firstSection = null;
+        try (InputStream inputStream = jarFile.getInputStream(indexEntry);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)))
+        {
+            List<String> section = null;
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (line.isEmpty())
+                {
+                    section = null;
+                } else if (section == null)
+                {
+                    if (line.startsWith("JarIndex-Version"))
+                    {
+                        continue;
+                    }
+                    section = new ArrayList<>();
+                    if (firstSection == null)
+                    {
+                        firstSection = section;
+                    }
+                    if (line.equals(jarName))
+                    {
+                        packages = section;
+                    }
+                } else
+                {
+                    section.add(line.replace('/', '.'));
+                }
+            }
+        }
+        return packages != null ? packages : firstSection;
+    }
+
+    private boolean anyPackageUnderRoots(List<String> packages)
+    {
+        for (String aPackage : packages)
+        {
+            String packagePrefix = aPackage + ".";
+            for (String packageRoot : packageRoots)
+            {
+                // either the package is under the root or the root is under the package
+                if (packagePrefix.startsWith(packageRoot) || packageRoot.startsWith(packagePrefix))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean anyEntryUnderRoots(JarFile jarFile)
+    {
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements())
+        {
+            String entryName = entries.nextElement().getName().replace('/', '.');
+            for (String packageRoot : packageRoots)
+            {
+                if (entryName.startsWith(packageRoot))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
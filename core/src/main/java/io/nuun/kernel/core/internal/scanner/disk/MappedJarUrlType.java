@@ -0,0 +1,610 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import org.reflections.vfs.Vfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A {@link Vfs.UrlType} reading the jars through a memory mapping instead of a {@code ZipFile}.
+ * The central directory is parsed from the mapping, the stored entries are read without copy and
+ * the deflated entries are inflated while they are read. The mapping of a jar is released when its
+ * directory is closed.
+ * <p>
+ * When the jars are scanned in a known order (see {@link #prefetch(Iterable)}), the next jar is mapped
+ * in the background while the current one is parsed. The prefetch state belongs to the instance, so
+ * each scanner uses its own instance. The jars which can't be mapped (zip64, encryption, more than
+ * 2 GB) are read by the default Reflections jar type.
+ */
+public class MappedJarUrlType implements Vfs.UrlType
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedJarUrlType.class);
+    private static final Consumer<ByteBuffer> UNMAPPER = unmapper();
+
+    private final Map<URL, URL> nextJars = new ConcurrentHashMap<>();
+    private final Map<URL, Future<MappedJar>> prefetchedJars = new ConcurrentHashMap<>();
+    private volatile ExecutorService prefetchExecutor;
+
+    @Override
+    public boolean matches(URL url)
+    {
+        return "file".equals(url.getProtocol()) && url.getPath().endsWith(".jar");
+    }
+
+    @Override
+    public Vfs.Dir createDir(URL url) throws Exception
+    {
+        prefetchNext(url);
+        MappedJar mappedJar = takePrefetched(url);
+        try
+        {
+            if (mappedJar == null)
+            {
+                mappedJar = MappedJar.map(url);
+            }
+            return new MappedJarDir(mappedJar);
+        } catch (IOException | RuntimeException e)
+        {
+            LOGGER.debug("Unable to map {}, it is read as a zip file: {}", url, e.getMessage());
+            return Vfs.DefaultUrlTypes.jarFile.createDir(url);
+        }
+    }
+
+    /**
+     * Declares the order in which the given URLs are about to be scanned. When a jar is opened,
+     * the next one is prefetched.
+     *
+     * @param urls the URLs in scan order
+     * @return the prefetch which must be closed at the end of the scan
+     */
+    public Prefetch prefetch(Iterable<URL> urls)
+    {
+        List<URL> jars = new ArrayList<>();
+        for (URL url : urls)
+        {
+            if (matches(url))
+            {
+                jars.add(url);
+            }
+        }
+        for (int i = 0; i < jars.size() - 1; i++)
+        {
+            nextJars.put(jars.get(i), jars.get(i + 1));
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nuun-jar-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prefetchExecutor = executor;
+        return new Prefetch(jars, executor);
+    }
+
+    private void prefetchNext(URL url)
+    {
+        URL nextJar = nextJars.remove(url);
+        ExecutorService executor = prefetchExecutor;
+        if (nextJar != null && executor != null)
+        {
+            try
+            {
+                prefetchedJars.computeIfAbsent(nextJar, jar -> executor.submit(() -> MappedJar.map(jar)));
+            } catch (RejectedExecutionException e)
+            {
+                // the prefetch is closed, the jar is mapped when it is opened
+            }
+        }
+    }
+
+    private MappedJar takePrefetched(URL url)
+    {
+        Future<MappedJar> prefetchedJar = prefetchedJars.remove(url);
+        if (prefetchedJar != null)
+        {
+            try
+            {
+                return prefetchedJar.get();
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e)
+            {
+                LOGGER.debug("Unable to prefetch {}: {}", url, e.getCause().getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves how a mapping is released before the buffer is garbage collected: through
+     * {@code Unsafe.invokeCleaner} from Java 9, through the cleaner of the buffer on Java 8.
+     */
+    private static Consumer<ByteBuffer> unmapper()
+    {
+        try
+        {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try
+            {
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                Object unsafe = theUnsafe.get(null);
+                return buffer -> invoke(invokeCleaner, unsafe, buffer);
+            } catch (NoSuchMethodException e)
+            {
+                Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return buffer -> invoke(clean, invoke(cleaner, buffer));
+            }
+        } catch (ReflectiveOperationException | RuntimeException e)
+        {
+            LOGGER.debug("The mapped jars are released when they are garbage collected: {}", e.getMessage());
+            return buffer -> {
+            };
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... arguments)
+    {
+        try
+        {
+            return method.invoke(target, arguments);
+        } catch (IllegalAccessException | InvocationTargetException e)
+        {
+            throw new IllegalStateException("Unable to release a mapped jar", e);
+        }
+    }
+
+    /**
+     * The prefetch of a scan. Closing it stops the prefetch thread and releases the jars which were
+     * mapped but not scanned.
+     */
+    public class Prefetch implements AutoCloseable
+    {
+        private final List<URL> jars;
+        private final ExecutorService executor;
+
+        private Prefetch(List<URL> jars, ExecutorService executor)
+        {
+            this.jars = jars;
+            this.executor = executor;
+        }
+
+        @Override
+        public void close()
+        {
+            executor.shutdown();
+            if (prefetchExecutor == executor)
+            {
+                prefetchExecutor = null;
+            }
+            for (URL jar : jars)
+            {
+                nextJars.remove(jar);
+                Future<MappedJar> prefetchedJar = prefetchedJars.get(jar);
+                if (prefetchedJar != null && !prefetchedJar.cancel(false))
+                {
+                    MappedJar mappedJar = takePrefetched(jar);
+                    if (mappedJar != null)
+                    {
+                        mappedJar.release();
+                    }
+                }
+                prefetchedJars.remove(jar);
+            }
+        }
+    }
+
+    /**
+     * A jar mapped in memory with its central directory.
+     */
+    static class MappedJar
+    {
+        private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+        private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+        private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+        private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+        private static final int MAX_COMMENT_SIZE = 0xFFFF;
+        private static final int ENCRYPTED = 0x1;
+        private static final int STORED = 0;
+        private static final int DEFLATED = 8;
+
+        private final String path;
+        private final MappedByteBuffer mapping;
+        private final ByteBuffer buffer;
+        private final List<Entry> entries = new ArrayList<>();
+        private volatile boolean released;
+
+        private MappedJar(String path, MappedByteBuffer mapping)
+        {
+            this.path = path;
+            this.mapping = mapping;
+            this.buffer = mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            readCentralDirectory();
+        }
+
+        static MappedJar map(URL url) throws IOException
+        {
+            File file = Vfs.getFile(url);
+            if (file == null)
+            {
+                throw new IOException("No file for " + url);
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                if (channel.size() > Integer.MAX_VALUE)
+                {
+                    throw new IOException("Too large to be mapped");
+                }
+                // the mapping stays valid once the channel is closed
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                try
+                {
+                    return new MappedJar(file.getPath(), mapping);
+                } catch (RuntimeException e)
+                {
+                    UNMAPPER.accept(mapping);
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Releases the mapping, so the jar is not locked until the buffer is garbage collected.
+         * The entries can't be read anymore.
+         */
+        synchronized void release()
+        {
+            if (!released)
+            {
+                released = true;
+                UNMAPPER.accept(mapping);
+            }
+        }
+
+        void checkNotReleased() throws IOException
+        {
+            if (released)
+            {
+                throw new IOException(path + " is closed");
+            }
+        }
+
+        private void readCentralDirectory()
+        {
+            int end = findEndOfCentralDirectory();
+            int entryCount = u2(end + 10);
+            long centralDirectoryOffset = u4(end + 16);
+            if (entryCount == 0xFFFF || centralDirectoryOffset == 0xFFFFFFFFL)
+            {
+                throw new IllegalArgumentException("Zip64 archives are not supported");
+            }
+            int position = (int) centralDirectoryOffset;
+            for (int i = 0; i < entryCount; i++)
+            {
+                if (buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+                {
+                    throw new IllegalArgumentException("Invalid central directory");
+                }
+                int flags = u2(position + 8);
+                int method = u2(position + 10);
+                long compressedSize = u4(position + 20);
+                long size = u4(position + 24);
+                int nameLength = u2(position + 28);
+                int extraLength = u2(position + 30);
+                int commentLength = u2(position + 32);
+                long localHeaderOffset = u4(position + 42);
+                String name = string(position + 46, nameLength);
+                if ((flags & ENCRYPTED) != 0 || method != STORED && method != DEFLATED
+                        || compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || localHeaderOffset == 0xFFFFFFFFL)
+                {
+                    throw new IllegalArgumentException("Unsupported entry " + name);
+                }
+                if (!name.endsWith("/"))
+                {
+                    entries.add(new Entry(name, method, (int) compressedSize, (int) size, (int) localHeaderOffset));
+                }
+                position += 46 + nameLength + extraLength + commentLength;
+            }
+        }
+
+        private int findEndOfCentralDirectory()
+        {
+            int last = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+            int first = Math.max(0, last - MAX_COMMENT_SIZE);
+            for (int position = last; position >= first; position--)
+            {
+                if (buffer.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                {
+                    return position;
+                }
+            }
+            throw new IllegalArgumentException("Not a zip archive");
+        }
+
+        InputStream openInputStream(Entry entry) throws IOException
+        {
+            checkNotReleased();
+            int localHeader = entry.localHeaderOffset;
+            if (buffer.getInt(localHeader) != LOCAL_HEADER_SIGNATURE)
+            {
+                throw new IOException("Invalid local header for " + entry.name);
+            }
+            int dataOffset = localHeader + 30 + u2(localHeader + 26) + u2(localHeader + 28);
+            ByteBuffer data = buffer.duplicate();
+            data.limit(dataOffset + entry.compressedSize).position(dataOffset);
+            InputStream stored = new ByteBufferInputStream(this, data.slice());
+            if (entry.method == STORED)
+            {
+                return stored;
+            }
+            return new EntryInflaterInputStream(stored, entry);
+        }
+
+        private int u2(int position)
+        {
+            return buffer.getShort(position) & 0xFFFF;
+        }
+
+        private long u4(int position)
+        {
+            return buffer.getInt(position) & 0xFFFFFFFFL;
+        }
+
+        private String string(int position, int length)
+        {
+            byte[] bytes = new byte[length];
+            ByteBuffer name = buffer.duplicate();
+            name.position(position);
+            name.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        String getPath()
+        {
+            return path;
+        }
+
+        List<Entry> getEntries()
+        {
+            return Collections.unmodifiableList(entries);
+        }
+    }
+
+    static class Entry
+    {
+        private final String name;
+        private final int method;
+        private final int compressedSize;
+        private final int size;
+        private final int localHeaderOffset;
+
+        Entry(String name, int method, int compressedSize, int size, int localHeaderOffset)
+        {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    private static class MappedJarDir implements Vfs.Dir
+    {
+        private final MappedJar mappedJar;
+
+        MappedJarDir(MappedJar mappedJar)
+        {
+            this.mappedJar = mappedJar;
+        }
+
+        @Override
+        public String getPath()
+        {
+            return mappedJar.getPath();
+        }
+
+        @Override
+        public Iterable<Vfs.File> getFiles()
+        {
+            return () -> new Iterator<Vfs.File>()
+            {
+                private final Iterator<Entry> entries = mappedJar.getEntries().iterator();
+
+                @Override
+                public boolean hasNext()
+                {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Vfs.File next()
+                {
+                    return new MappedJarFile(mappedJar, entries.next());
+                }
+            };
+        }
+
+        @Override
+        public void close()
+        {
+            mappedJar.release();
+        }
+
+        @Override
+        public String toString()
+        {
+            return mappedJar.getPath();
+        }
+    }
+
+    private static class MappedJarFile implements Vfs.File
+    {
+        private final MappedJar mappedJar;
+        private final Entry entry;
+
+        MappedJarFile(MappedJar mappedJar, Entry entry)
+        {
+            this.mappedJar = mappedJar;
+            this.entry = entry;
+        }
+
+        @Override
+        public String getName()
+        {
+            return entry.name.substring(entry.name.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getRelativePath()
+        {
+            return entry.name;
+        }
+
+        @Override
+        public InputStream openInputStream() throws IOException
+        {
+            return mappedJar.openInputStream(entry);
+        }
+
+        @Override
+        public String toString()
+        {
+            return mappedJar.getPath() + "!" + File.separatorChar + entry.name;
+        }
+    }
+
+    /**
+     * Reads an entry from the mapping, failing once the mapping is released.
+     */
+    private static class ByteBufferInputStream extends InputStream
+    {
+        private final MappedJar mappedJar;
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(MappedJar mappedJar, ByteBuffer buffer)
+        {
+            this.mappedJar = mappedJar;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            mappedJar.checkNotReleased();
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException
+        {
+            mappedJar.checkNotReleased();
+            if (!buffer.hasRemaining())
+            {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Inflates a deflated entry while it is read from the mapping, through a small window instead
+     * of a copy of the whole compressed entry.
+     */
+    private static class EntryInflaterInputStream extends InflaterInputStream
+    {
+        private static final int MAX_WINDOW_SIZE = 8192;
+
+        private final Entry entry;
+        private boolean endOfInput;
+        private boolean closed;
+
+        EntryInflaterInputStream(InputStream in, Entry entry)
+        {
+            super(in, new Inflater(true), Math.max(1, Math.min(entry.compressedSize, MAX_WINDOW_SIZE)));
+            this.entry = entry;
+        }
+
+        @Override
+        protected void fill() throws IOException
+        {
+            if (endOfInput)
+            {
+                throw new EOFException("Truncated entry " + entry.name);
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1)
+            {
+                // the inflater needs an extra byte to detect the end of the raw deflate stream
+                buf[0] = 0;
+                len = 1;
+                endOfInput = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (!closed)
+            {
+                closed = true;
+                inf.end();
+            }
+            super.close();
+        }
+    }
+}
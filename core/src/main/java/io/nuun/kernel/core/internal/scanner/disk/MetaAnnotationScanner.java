@@ -52,7 +52,8 @@ public class MetaAnnotationScanner extends AbstractScanner
         final String className = getMetadataAdapter().getClassName(cls);
         try
         {
-            Class<?> klass = Class.forName(className);
+            // the scanned class is not initialized, its annotations are readable without it
+            Class<?> klass = Class.forName(className, false, MetaAnnotationScanner.class.getClassLoader());
             
             if ( annotationType != null &&  AssertUtils.hasAnnotationDeep(klass, annotationType) && ! klass.isAnnotation() )
             {
@@ -0,0 +1,59 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Interns the names of a scan store. Each distinct name is kept once and identified by its
+ * dense int id, which is its position in the sorted names.
+ */
+final class SymbolTable
+{
+    private final String[] names;
+
+    SymbolTable(Collection<String> names)
+    {
+        this.names = names.toArray(new String[names.size()]);
+        Arrays.sort(this.names);
+    }
+
+    /**
+     * @param name the name
+     * @return the id of the name or -1 if the name is unknown
+     */
+    int idOf(Object name)
+    {
+        if (!(name instanceof String))
+        {
+            return -1;
+        }
+        int id = Arrays.binarySearch(names, name);
+        return id < 0 ? -1 : id;
+    }
+
+    String nameOf(int id)
+    {
+        return names[id];
+    }
+
+    int size()
+    {
+        return names.length;
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.ClassFile;
+import org.reflections.scanners.AbstractScanner;
+
+/**
+ * Indexes the modifiers of the scanned types, so they are known without loading the classes.
+ * The store maps each type name to its modifiers as a decimal string.
+ */
+public class TypeModifiersScanner extends AbstractScanner
+{
+    @Override
+    public void scan(Object cls)
+    {
+        // the class name is read from the scanned object like the metadata adapters do
+        if (cls instanceof ClassFile)
+        {
+            ClassFile classFile = (ClassFile) cls;
+            // the super flag of the class files is not a modifier
+            put(classFile.getName(), classFile.getAccessFlags() & ~AccessFlag.SUPER);
+        } else if (cls instanceof Class)
+        {
+            Class<?> aClass = (Class<?>) cls;
+            put(aClass.getName(), aClass.getModifiers());
+        }
+    }
+
+    private void put(String className, int modifiers)
+    {
+        if (acceptResult(className))
+        {
+            getStore().put(className, Integer.toString(modifiers));
+        }
+    }
+}
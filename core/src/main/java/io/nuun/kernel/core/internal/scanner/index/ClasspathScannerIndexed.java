@@ -0,0 +1,114 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.api.statistics.UrlStatistics;
+import io.nuun.kernel.core.internal.scanner.ScannerOptions;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathScannerDisk;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.reflections.Reflections;
+import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.Scanner;
+import org.reflections.util.ConfigurationBuilder;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A disk classpath scanner which loads the scan index packaged in the jars and directories
+ * (see {@link UrlIndex#LOCATION}) instead of scanning them. The classpath entries without
+ * index are scanned as usual and the ones with a types only index are only scanned for resources.
+ */
+public class ClasspathScannerIndexed extends ClasspathScannerDisk
+{
+    public ClasspathScannerIndexed(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, String... packageRoots)
+    {
+        super(classpathStrategy, additionalClasspath, packageRoots);
+    }
+
+    public ClasspathScannerIndexed(ClasspathStrategy classpathStrategy, Set<URL> additionalClasspath, ScannerOptions options, String... packageRoots)
+    {
+        super(classpathStrategy, true, additionalClasspath, options, packageRoots);
+    }
+
+    @Override
+    protected Reflections scanUrls(Set<URL> urls, Collection<String> packageRoots)
+    {
+        ConfigurationBuilder configuration = configurationBuilder(packageRoots);
+        Reflections indexedReflections = new Reflections()
+        {
+        };
+        for (Scanner scanner : getScanners())
+        {
+            indexedReflections.getStore().getOrCreate(scanner.getClass().getSimpleName());
+        }
+
+        Set<URL> unindexedUrls = new HashSet<>();
+        Set<URL> resourceUrls = new HashSet<>();
+        Map<URL, UrlIndex> urlIndexes = scanEachUrl(urls, this::recordedArtifactIndex);
+        for (URL url : urls)
+        {
+            UrlIndex urlIndex = urlIndexes.get(url);
+            if (urlIndex != null)
+            {
+                UrlIndexes.feed(urlIndex, indexedReflections.getStore(), configuration.getInputsFilter());
+                if (!urlIndex.isResourcesIndexed())
+                {
+                    resourceUrls.add(url);
+                }
+            } else
+            {
+                unindexedUrls.add(url);
+            }
+        }
+
+        if (!unindexedUrls.isEmpty())
+        {
+            indexedReflections.merge(super.scanUrls(unindexedUrls, packageRoots));
+        }
+        if (!resourceUrls.isEmpty())
+        {
+            // The class files are only listed by the resources scanner, they are not parsed
+            indexedReflections.merge(scanUrls(resourceUrls, packageRoots, new ResourcesScanner()));
+        }
+        return indexedReflections;
+    }
+
+    /**
+     * Reads the index packaged in a classpath entry and records the time spent loading it.
+     *
+     * @param url the classpath entry
+     * @return the index or null if the classpath entry has no usable index
+     */
+    private UrlIndex recordedArtifactIndex(URL url)
+    {
+        long start = System.nanoTime();
+        AtomicLong bytesRead = new AtomicLong();
+        UrlIndex urlIndex = UrlIndexes.fromArtifact(url, bytesRead);
+        if (urlIndex != null)
+        {
+            getStatistics().recordUrl(url, UrlStatistics.Source.INDEX, urlIndex.getClasses().size(), urlIndex.getResources().size(),
+                    bytesRead.get(), System.nanoTime() - start);
+        }
+        return urlIndex;
+    }
+}
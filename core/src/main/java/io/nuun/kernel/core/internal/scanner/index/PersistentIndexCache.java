@@ -0,0 +1,228 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Function;
+
+/**
+ * A cache of the unfiltered indexes of the classpath entries persisted in a directory, so a kernel
+ * booting again on the same classpath only indexes the entries modified in between.
+ * <p>
+ * Each classpath entry is stored in its own file, named after a digest of its URL, with the URL and
+ * the {@link UrlFingerprint} of the entry followed by its {@link UrlIndex} in the binary format of
+ * {@link UrlIndex#writeTo(java.io.OutputStream)}. The files are read through a memory mapping and
+ * written to a temporary file atomically moved in place, so several processes can share the same
+ * directory. A cache file which cannot be read or written is ignored and the entry is indexed.
+ */
+public class PersistentIndexCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentIndexCache.class);
+    private static final int MAGIC = 0x4E554343;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".idx";
+
+    private final Path directory;
+    private final boolean contentHash;
+
+    /**
+     * @param directory   the directory of the cache files, created if needed
+     * @param contentHash true if a checksum of the content is part of the fingerprint of the classpath entries
+     */
+    public PersistentIndexCache(Path directory, boolean contentHash)
+    {
+        this.directory = directory;
+        this.contentHash = contentHash;
+    }
+
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns the index of the classpath entry, from its cache file when the fingerprint of the entry
+     * did not change since it was indexed. Only the jar files and the directories of the file system
+     * are cached.
+     *
+     * @param url     the classpath entry
+     * @param indexer the function indexing the classpath entry when it is not in the cache
+     * @return the unfiltered index
+     */
+    public UrlIndex get(URL url, Function<URL, UrlIndex> indexer)
+    {
+        String fingerprint = UrlFingerprint.of(url, contentHash);
+        if (fingerprint == null)
+        {
+            return indexer.apply(url);
+        }
+        String key = url.toExternalForm();
+        Path cacheFile = directory.resolve(fileName(key));
+        UrlIndex urlIndex = read(cacheFile, key, fingerprint);
+        if (urlIndex == null)
+        {
+            urlIndex = indexer.apply(url);
+            write(cacheFile, key, fingerprint, urlIndex);
+        }
+        return urlIndex;
+    }
+
+    private UrlIndex read(Path cacheFile, String key, String fingerprint)
+    {
+        if (!Files.isRegularFile(cacheFile))
+        {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ))
+        {
+            DataInputStream in = new DataInputStream(new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION || !key.equals(in.readUTF()))
+            {
+                return null;
+            }
+            if (!fingerprint.equals(in.readUTF()))
+            {
+                LOGGER.debug("{} changed since it was cached", key);
+                return null;
+            }
+            return UrlIndex.readFrom(in);
+        } catch (IOException | RuntimeException e)
+        {
+            LOGGER.debug("Unable to read the cached index of {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Path cacheFile, String key, String fingerprint, UrlIndex urlIndex)
+    {
+        Path temporaryFile = null;
+        try
+        {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile))))
+            {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeUTF(key);
+                out.writeUTF(fingerprint);
+                out.flush();
+                urlIndex.writeTo(out);
+            }
+            move(temporaryFile, cacheFile);
+        } catch (IOException | RuntimeException e)
+        {
+            LOGGER.debug("Unable to cache the index of {}: {}", key, e.getMessage());
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private void move(Path source, Path target) throws IOException
+    {
+        try
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(Path file)
+    {
+        if (file != null)
+        {
+            try
+            {
+                Files.deleteIfExists(file);
+            } catch (IOException e)
+            {
+                LOGGER.debug("Unable to delete {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    static String fileName(String key)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder fileName = new StringBuilder(digest.length * 2 + SUFFIX.length());
+            for (byte b : digest)
+            {
+                fileName.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return fileName.append(SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream
+    {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length)
+        {
+            if (!buffer.hasRemaining())
+            {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.spi.index.UrlIndex;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A process wide cache of the unfiltered indexes of the classpath entries, shared by all the kernels
+ * of the JVM. Each scanner feeds its own store from the cached indexes with its own package roots.
+ * <p>
+ * The entries are keyed by the URL and a stamp made of the last modification time and the size of
+ * the classpath entry, so a modified jar or directory is indexed again. The cache holds no class and
+ * no class loader, only strings, and the indexes are softly referenced, so it neither prevents the
+ * redeployed class loaders from being collected nor the memory from being reclaimed. The number of
+ * indexed files kept is bounded by the {@value #MAX_WEIGHT_PROPERTY} system property and the least
+ * recently used indexes are evicted first.
+ */
+public final class SharedIndexCache
+{
+    public static final String MAX_WEIGHT_PROPERTY = "nuun.scan.cache.max.files";
+    private static final int DEFAULT_MAX_WEIGHT = 1_000_000;
+    private static final SharedIndexCache INSTANCE = new SharedIndexCache(Integer.getInteger(MAX_WEIGHT_PROPERTY, DEFAULT_MAX_WEIGHT));
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxWeight;
+    private long weight;
+
+    SharedIndexCache(long maxWeight)
+    {
+        this.maxWeight = maxWeight;
+    }
+
+    public static SharedIndexCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the index of the classpath entry, from the cache when it was not modified since it
+     * was indexed. Only the jar files and the directories of the file system are cached.
+     *
+     * @param url     the classpath entry
+     * @param indexer the function indexing the classpath entry when it is not in the cache
+     * @return the unfiltered index
+     */
+    public UrlIndex get(URL url, Function<URL, UrlIndex> indexer)
+    {
+        String stamp = UrlFingerprint.of(url, false);
+        if (stamp == null)
+        {
+            return indexer.apply(url);
+        }
+        String key = url.toExternalForm();
+        synchronized (this)
+        {
+            Entry entry = entries.get(key);
+            UrlIndex urlIndex = entry != null && entry.stamp.equals(stamp) ? entry.urlIndex.get() : null;
+            if (urlIndex != null)
+            {
+                return urlIndex;
+            }
+        }
+        UrlIndex urlIndex = indexer.apply(url);
+        put(key, new Entry(stamp, urlIndex));
+        return urlIndex;
+    }
+
+    /**
+     * Removes all the cached indexes.
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized int size()
+    {
+        return entries.size();
+    }
+
+    private synchronized void put(String key, Entry entry)
+    {
+        Entry previous = entries.put(key, entry);
+        if (previous != null)
+        {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (weight > maxWeight && iterator.hasNext())
+        {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.weight;
+        }
+    }
+
+    private static class Entry
+    {
+        private final String stamp;
+        private final long weight;
+        private final SoftReference<UrlIndex> urlIndex;
+
+        Entry(String stamp, UrlIndex urlIndex)
+        {
+            this.stamp = stamp;
+            this.weight = urlIndex.getClasses().size() + urlIndex.getResources().size();
+            this.urlIndex = new SoftReference<>(urlIndex);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Computes the fingerprint of a jar file or a directory, which changes when the classpath entry is
+ * modified. The fingerprint is made of the last modification time and the size of the jar, or the
+ * latest modification time, the total size and the number of files of the directory. A checksum of
+ * the content can be added to detect the modifications which keep the time and the size.
+ */
+final class UrlFingerprint
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(UrlFingerprint.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private UrlFingerprint()
+    {
+    }
+
+    /**
+     * @param url         the classpath entry
+     * @param contentHash true if a checksum of the content is part of the fingerprint
+     * @return the fingerprint or null if the classpath entry is not a jar file or a directory of the file system
+     */
+    static String of(URL url, boolean contentHash)
+    {
+        if (!"file".equals(url.getProtocol()))
+        {
+            return null;
+        }
+        try
+        {
+            File file = new File(url.toURI());
+            if (file.isFile())
+            {
+                String fingerprint = file.lastModified() + ":" + file.length();
+                return contentHash ? fingerprint + ":" + Long.toHexString(checksum(file.toPath(), new CRC32())) : fingerprint;
+            } else if (file.isDirectory())
+            {
+                return directoryFingerprint(file.toPath(), contentHash);
+            }
+        } catch (URISyntaxException | IllegalArgumentException | IOException | UncheckedIOException e)
+        {
+            LOGGER.debug("Unable to fingerprint {}: {}", url, e.getMessage());
+        }
+        return null;
+    }
+
+    private static String directoryFingerprint(Path directory, boolean contentHash) throws IOException
+    {
+        long lastModified = 0;
+        long size = 0;
+        long count = 0;
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            Iterator<Path> iterator = paths.iterator();
+            while (iterator.hasNext())
+            {
+                BasicFileAttributes attributes = Files.readAttributes(iterator.next(), BasicFileAttributes.class);
+                lastModified = Math.max(lastModified, attributes.lastModifiedTime().toMillis());
+                size += attributes.size();
+                count++;
+            }
+        }
+        String fingerprint = lastModified + ":" + size + ":" + count;
+        if (!contentHash)
+        {
+            return fingerprint;
+        }
+        // the files are checksummed in a stable order, with their relative path
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        CRC32 crc32 = new CRC32();
+        for (Path file : files)
+        {
+            crc32.update(directory.relativize(file).toString().getBytes("UTF-8"));
+            checksum(file, crc32);
+        }
+        return fingerprint + ":" + Long.toHexString(crc32.getValue());
+    }
+
+    private static long checksum(Path file, CRC32 crc32) throws IOException
+    {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file))
+        {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1)
+            {
+                crc32.update(buffer, 0, read);
+            }
+        }
+        return crc32.getValue();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import com.google.common.base.Predicate;
+import com.google.common.io.CountingInputStream;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.ClassFileReader;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.reflections.vfs.Vfs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the {@link UrlIndex} of a classpath entry by reading its class files.
+ */
+public class UrlIndexer
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(UrlIndexer.class);
+
+    private final List<Vfs.UrlType> urlTypes;
+
+    public UrlIndexer()
+    {
+        this(Vfs.getDefaultUrlTypes());
+    }
+
+    /**
+     * @param urlTypes the URL types opening the classpath entries
+     */
+    public UrlIndexer(List<Vfs.UrlType> urlTypes)
+    {
+        this.urlTypes = urlTypes;
+    }
+
+    /**
+     * Indexes the given jar or directory. The index file itself is never indexed.
+     *
+     * @param url the classpath entry
+     * @return the index
+     */
+    public UrlIndex index(URL url)
+    {
+        return index(url, null);
+    }
+
+    /**
+     * Indexes the files of the given jar or directory accepted by the filter.
+     *
+     * @param url          the classpath entry
+     * @param inputsFilter the filter on relative paths, or null to accept everything
+     * @return the index
+     */
+    public UrlIndex index(URL url, Predicate<String> inputsFilter)
+    {
+        return index(url, inputsFilter, null);
+    }
+
+    /**
+     * Indexes the files of the given jar or directory accepted by the filter and counts the bytes
+     * read from the class files.
+     *
+     * @param url          the classpath entry
+     * @param inputsFilter the filter on relative paths, or null to accept everything
+     * @param bytesRead    the counter of the bytes read, or null
+     * @return the index
+     */
+    public UrlIndex index(URL url, Predicate<String> inputsFilter, AtomicLong bytesRead)
+    {
+        List<ClassEntry> classes = new ArrayList<>();
+        List<String> resources = new ArrayList<>();
+        Vfs.Dir dir = Vfs.fromURL(url, urlTypes);
+        try
+        {
+            for (Vfs.File file : dir.getFiles())
+            {
+                String path = file.getRelativePath();
+                if (UrlIndex.LOCATION.equals(path) || !accept(inputsFilter, path))
+                {
+                    continue;
+                }
+                if (path.endsWith(".class"))
+                {
+                    ClassEntry classEntry = read(file, bytesRead);
+                    if (classEntry != null)
+                    {
+                        classes.add(classEntry);
+                    }
+                } else
+                {
+                    resources.add(path);
+                }
+            }
+        } finally
+        {
+            dir.close();
+        }
+        return new UrlIndex(classes, resources);
+    }
+
+    private boolean accept(Predicate<String> inputsFilter, String path)
+    {
+        return inputsFilter == null || inputsFilter.apply(path) || inputsFilter.apply(path.replace('/', '.'));
+    }
+
+    private ClassEntry read(Vfs.File file, AtomicLong bytesRead)
+    {
+        try (CountingInputStream inputStream = new CountingInputStream(file.openInputStream()))
+        {
+            try
+            {
+                return ClassFileReader.read(file.getRelativePath(), inputStream);
+            } finally
+            {
+                if (bytesRead != null)
+                {
+                    bytesRead.addAndGet(inputStream.getCount());
+                }
+            }
+        } catch (IOException | RuntimeException e)
+        {
+            LOGGER.debug("Unable to index {}: {}", file.getRelativePath(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Multimap;
+import com.google.common.io.CountingInputStream;
+import io.nuun.kernel.core.internal.scanner.disk.TypeModifiersScanner;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.reflections.Store;
+import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.scanners.TypeElementsScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * Reads the {@link UrlIndex} packaged in the classpath entries and feeds it into a Reflections
+ * {@link Store} like if the classpath entry had been scanned.
+ */
+public final class UrlIndexes
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(UrlIndexes.class);
+    private static final String OBJECT = Object.class.getName();
+
+    private UrlIndexes()
+    {
+    }
+
+    /**
+     * Feeds the store as the type elements, sub types, type annotations and resources scanners
+     * would have done when scanning the classpath entry.
+     *
+     * @param urlIndex     the index of the classpath entry
+     * @param store        the store to feed
+     * @param inputsFilter the filter on relative paths, or null to accept everything
+     */
+    public static void feed(UrlIndex urlIndex, Store store, Predicate<String> inputsFilter)
+    {
+        Multimap<String, String> typeElements = store.getOrCreate(TypeElementsScanner.class.getSimpleName());
+        Multimap<String, String> subTypes = store.getOrCreate(SubTypesScanner.class.getSimpleName());
+        Multimap<String, String> typeAnnotations = store.getOrCreate(TypeAnnotationsScanner.class.getSimpleName());
+        Multimap<String, String> resourceNames = store.getOrCreate(ResourcesScanner.class.getSimpleName());
+        Multimap<String, String> typeModifiers = store.getOrCreate(TypeModifiersScanner.class.getSimpleName());
+
+        for (ClassEntry classEntry : urlIndex.getClasses())
+        {
+            if (accept(inputsFilter, classEntry.getPath()))
+            {
+                String className = classEntry.getName();
+                typeElements.put(className, "");
+                typeModifiers.put(className, Integer.toString(classEntry.getModifiers()));
+                if (classEntry.getSuperclassName() != null && !OBJECT.equals(classEntry.getSuperclassName()))
+                {
+                    subTypes.put(classEntry.getSuperclassName(), className);
+                }
+                for (String interfaceName : classEntry.getInterfaceNames())
+                {
+                    subTypes.put(interfaceName, className);
+                }
+                for (String annotationName : classEntry.getAnnotationNames())
+                {
+                    typeAnnotations.put(annotationName, className);
+                }
+                // as the Reflections resources scanner, class files are also indexed as resources
+                resourceNames.put(simpleName(classEntry.getPath()), classEntry.getPath());
+            }
+        }
+        for (String resource : urlIndex.getResources())
+        {
+            if (accept(inputsFilter, resource))
+            {
+                resourceNames.put(simpleName(resource), resource);
+            }
+        }
+    }
+
+    private static boolean accept(Predicate<String> inputsFilter, String path)
+    {
+        return inputsFilter == null || inputsFilter.apply(path) || inputsFilter.apply(path.replace('/', '.'));
+    }
+
+    private static String simpleName(String path)
+    {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Reads the index packaged at {@link UrlIndex#LOCATION} in the given jar or directory. The index
+     * of a directory is ignored when it does not match the directory content, as the classes
+     * compiled since the index was generated would not be part of the scan results.
+     *
+     * @param url the classpath entry
+     * @return the index or null if the classpath entry is not indexed or if its index is stale
+     */
+    public static UrlIndex fromArtifact(URL url)
+    {
+        return fromArtifact(url, new AtomicLong());
+    }
+
+    /**
+     * Reads the index packaged in the given jar or directory, as {@link #fromArtifact(URL)}.
+     *
+     * @param url       the classpath entry
+     * @param bytesRead incremented by the number of bytes of the index read
+     * @return the index or null if the classpath entry is not indexed or if its index is stale
+     */
+    public static UrlIndex fromArtifact(URL url, AtomicLong bytesRead)
+    {
+        if (!"file".equals(url.getProtocol()))
+        {
+            return null;
+        }
+        try
+        {
+            File file = new File(url.toURI());
+            if (file.isDirectory())
+            {
+                File indexFile = new File(file, UrlIndex.LOCATION);
+                if (indexFile.isFile())
+                {
+                    UrlIndex urlIndex;
+                    try (CountingInputStream inputStream = new CountingInputStream(new FileInputStream(indexFile)))
+                    {
+                        urlIndex = UrlIndex.readFrom(inputStream);
+                        bytesRead.addAndGet(inputStream.getCount());
+                    }
+                    if (isStale(file.toPath(), indexFile.lastModified(), urlIndex))
+                    {
+                        LOGGER.info("The scan index of {} does not match its content, the directory is scanned", url);
+                        return null;
+                    }
+                    return urlIndex;
+                }
+            } else if (file.isFile())
+            {
+                try (JarFile jarFile = new JarFile(file))
+                {
+                    ZipEntry entry = jarFile.getEntry(UrlIndex.LOCATION);
+                    if (entry != null)
+                    {
+                        try (CountingInputStream inputStream = new CountingInputStream(jarFile.getInputStream(entry)))
+                        {
+                            UrlIndex urlIndex = UrlIndex.readFrom(inputStream);
+                            bytesRead.addAndGet(inputStream.getCount());
+                            return urlIndex;
+                        }
+                    }
+                }
+            }
+        } catch (URISyntaxException | IllegalArgumentException | IOException e)
+        {
+            LOGGER.debug("Unable to read the scan index of {}: {}", url, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Checks the index of a directory against its content. An index listing the resources was
+     * generated from the compiled directory, it is stale when a file was modified after it. A types
+     * only index is written by the annotation processor before the class files, so it is compared to
+     * the class files instead of their modification time.
+     */
+    private static boolean isStale(Path directory, long indexTimestamp, UrlIndex urlIndex) throws IOException
+    {
+        if (urlIndex.isResourcesIndexed())
+        {
+            return isModifiedAfter(directory, indexTimestamp);
+        }
+        return !hasIndexedClassFiles(directory, urlIndex);
+    }
+
+    /**
+     * @return true if the directory has the class file of each class entry and no other class file,
+     * apart from the ones the annotation processor cannot see
+     */
+    private static boolean hasIndexedClassFiles(final Path directory, UrlIndex urlIndex) throws IOException
+    {
+        final Set<String> indexedPaths = new HashSet<>();
+        for (ClassEntry classEntry : urlIndex.getClasses())
+        {
+            indexedPaths.add(classEntry.getPath());
+        }
+        final Set<String> foundPaths = new HashSet<>();
+        final AtomicBoolean unindexed = new AtomicBoolean();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
+            {
+                String path = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                if (indexedPaths.contains(path))
+                {
+                    foundPaths.add(path);
+                } else if (path.endsWith(".class") && !isHiddenFromProcessor(path))
+                {
+                    unindexed.set(true);
+                    return FileVisitResult.TERMINATE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return !unindexed.get() && foundPaths.size() == indexedPaths.size();
+    }
+
+    /**
+     * @return true for the package and module descriptors and for the local and anonymous classes,
+     * which javac names {@code Outer$1Local} and {@code Outer$1}
+     */
+    private static boolean isHiddenFromProcessor(String classFilePath)
+    {
+        String simpleName = classFilePath.substring(classFilePath.lastIndexOf('/') + 1, classFilePath.length() - ".class".length());
+        if (simpleName.equals("package-info") || simpleName.equals("module-info"))
+        {
+            return true;
+        }
+        int dollar = simpleName.indexOf('$');
+        while (dollar >= 0 && dollar + 1 < simpleName.length())
+        {
+            if (Character.isDigit(simpleName.charAt(dollar + 1)))
+            {
+                return true;
+            }
+            dollar = simpleName.indexOf('$', dollar + 1);
+        }
+        return false;
+    }
+
+    private static boolean isModifiedAfter(Path directory, final long timestamp) throws IOException
+    {
+        // a deleted file is detected from the modification time of its directory
+        final AtomicBoolean modified = new AtomicBoolean();
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes)
+            {
+                return visit(attributes);
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
+            {
+                return visit(attributes);
+            }
+
+            private FileVisitResult visit(BasicFileAttributes attributes)
+            {
+                if (attributes.lastModifiedTime().toMillis() > timestamp)
+                {
+                    modified.set(true);
+                    return FileVisitResult.TERMINATE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return modified.get();
+    }
+}
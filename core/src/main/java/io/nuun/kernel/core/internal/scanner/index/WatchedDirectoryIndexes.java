@@ -0,0 +1,306 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.ClassFileReader;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the indexes of the exploded classpath directories up to date in development mode. Each
+ * directory is fully indexed the first time it is asked for and then watched with a {@link WatchService}.
+ * The next kernels of the JVM only read again the files created, modified or deleted in the meantime.
+ */
+public final class WatchedDirectoryIndexes
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(WatchedDirectoryIndexes.class);
+    private static final WatchedDirectoryIndexes INSTANCE = new WatchedDirectoryIndexes();
+
+    private final Map<Path, WatchedDirectory> directories = new HashMap<>();
+    private final Map<WatchKey, Path> watchedPaths = new HashMap<>();
+    private WatchService watchService;
+
+    WatchedDirectoryIndexes()
+    {
+    }
+
+    public static WatchedDirectoryIndexes getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the up to date index of the given directory.
+     *
+     * @param url the URL of a directory of the file system
+     * @return the unfiltered index or null if the URL is not a directory
+     */
+    public synchronized UrlIndex get(URL url)
+    {
+        Path root = toDirectory(url);
+        if (root == null)
+        {
+            return null;
+        }
+        applyChanges();
+        WatchedDirectory watchedDirectory = directories.get(root);
+        if (watchedDirectory != null && !watchedDirectory.stale)
+        {
+            watchedDirectory.update();
+        }
+        if (watchedDirectory == null || watchedDirectory.stale)
+        {
+            watchedDirectory = new WatchedDirectory(root, new UrlIndexer().index(url));
+            directories.put(root, watchedDirectory);
+            watch(root);
+        }
+        return watchedDirectory.toUrlIndex();
+    }
+
+    /**
+     * Stops watching the directories and forgets their indexes.
+     */
+    public synchronized void clear()
+    {
+        directories.clear();
+        watchedPaths.clear();
+        if (watchService != null)
+        {
+            try
+            {
+                watchService.close();
+            } catch (IOException e)
+            {
+                LOGGER.debug("Unable to close the watch service: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    private Path toDirectory(URL url)
+    {
+        if (!"file".equals(url.getProtocol()))
+        {
+            return null;
+        }
+        try
+        {
+            Path path = Paths.get(url.toURI()).toAbsolutePath().normalize();
+            return Files.isDirectory(path) ? path : null;
+        } catch (URISyntaxException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    private void watch(Path directory)
+    {
+        try
+        {
+            if (watchService == null)
+            {
+                watchService = FileSystems.getDefault().newWatchService();
+            }
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+            {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException
+                {
+                    WatchKey watchKey = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    watchedPaths.put(watchKey, dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException | RuntimeException e)
+        {
+            // without watch the directory is fully indexed again by the next kernel
+            LOGGER.debug("Unable to watch {}: {}", directory, e.getMessage());
+            markStale(directory);
+        }
+    }
+
+    private void applyChanges()
+    {
+        if (watchService == null)
+        {
+            return;
+        }
+        WatchKey watchKey;
+        while ((watchKey = watchService.poll()) != null)
+        {
+            Path dir = watchedPaths.get(watchKey);
+            for (WatchEvent<?> event : watchKey.pollEvents())
+            {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null)
+                {
+                    markStale(dir);
+                } else
+                {
+                    Path changedPath = dir.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath))
+                    {
+                        watch(changedPath);
+                    }
+                    for (WatchedDirectory watchedDirectory : directories.values())
+                    {
+                        if (changedPath.startsWith(watchedDirectory.root))
+                        {
+                            watchedDirectory.changedPaths.add(changedPath);
+                        }
+                    }
+                }
+            }
+            if (!watchKey.reset())
+            {
+                watchedPaths.remove(watchKey);
+            }
+        }
+    }
+
+    private void markStale(Path dir)
+    {
+        for (WatchedDirectory watchedDirectory : directories.values())
+        {
+            if (dir == null || dir.startsWith(watchedDirectory.root))
+            {
+                watchedDirectory.stale = true;
+            }
+        }
+    }
+
+    private static class WatchedDirectory
+    {
+        private final Path root;
+        private final Map<String, ClassEntry> classes = new LinkedHashMap<>();
+        private final Set<String> resources = new LinkedHashSet<>();
+        private final Set<Path> changedPaths = new LinkedHashSet<>();
+        private boolean stale;
+
+        WatchedDirectory(Path root, UrlIndex urlIndex)
+        {
+            this.root = root;
+            for (ClassEntry classEntry : urlIndex.getClasses())
+            {
+                classes.put(classEntry.getPath(), classEntry);
+            }
+            resources.addAll(urlIndex.getResources());
+        }
+
+        UrlIndex toUrlIndex()
+        {
+            return new UrlIndex(new ArrayList<>(classes.values()), new ArrayList<>(resources));
+        }
+
+        void update()
+        {
+            for (Path changedPath : changedPaths)
+            {
+                String relativePath = root.relativize(changedPath).toString().replace('\\', '/');
+                remove(relativePath);
+                if (Files.isDirectory(changedPath))
+                {
+                    // a directory created or moved in the watched tree
+                    try (Stream<Path> paths = Files.walk(changedPath))
+                    {
+                        paths.filter(Files::isRegularFile).forEach(this::read);
+                    } catch (IOException | RuntimeException e)
+                    {
+                        LOGGER.debug("Unable to read {}: {}", changedPath, e.getMessage());
+                        stale = true;
+                    }
+                } else if (Files.isRegularFile(changedPath))
+                {
+                    read(changedPath);
+                }
+            }
+            changedPaths.clear();
+        }
+
+        private void remove(String relativePath)
+        {
+            String directoryPrefix = relativePath + "/";
+            classes.remove(relativePath);
+            resources.remove(relativePath);
+            removeStartingWith(classes.keySet().iterator(), directoryPrefix);
+            removeStartingWith(resources.iterator(), directoryPrefix);
+        }
+
+        private void removeStartingWith(Iterator<String> paths, String prefix)
+        {
+            while (paths.hasNext())
+            {
+                if (paths.next().startsWith(prefix))
+                {
+                    paths.remove();
+                }
+            }
+        }
+
+        private void read(Path file)
+        {
+            String relativePath = root.relativize(file).toString().replace('\\', '/');
+            if (UrlIndex.LOCATION.equals(relativePath))
+            {
+                return;
+            }
+            if (!relativePath.endsWith(".class"))
+            {
+                resources.add(relativePath);
+                return;
+            }
+            try (InputStream inputStream = Files.newInputStream(file))
+            {
+                ClassEntry classEntry = ClassFileReader.read(relativePath, inputStream);
+                if (classEntry != null)
+                {
+                    classes.put(relativePath, classEntry);
+                }
+            } catch (IOException | RuntimeException e)
+            {
+                // the class file may still be written, it is read again on the next change
+                LOGGER.debug("Unable to index {}: {}", relativePath, e.getMessage());
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.reflections.util.ConfigurationBuilder;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -64,6 +65,7 @@ public class ClasspathScannerInMemory extends ClasspathScannerDisk
         }
         urls.addAll(configurationBuilder.getUrls());
         reflections = new Reflections(configurationBuilder);
+        clearIndexViews();
     }
 
     @Override
@@ -72,6 +74,16 @@ public class ClasspathScannerInMemory extends ClasspathScannerDisk
         return urls;
     }
 
+    @Override
+    public void extend(Set<URL> additionalClasspath, List<String> packageRoots)
+    {
+        // the in memory classpath is cheap to scan, so it is simply rebuilt
+        if (!addPackageRoots(packageRoots).isEmpty())
+        {
+            actualInitReflections();
+        }
+    }
+
     @Override
     protected void initializeReflections() {
         // override the Reflections initialization in the super constructor.
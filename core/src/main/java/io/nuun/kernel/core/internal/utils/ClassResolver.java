@@ -0,0 +1,273 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves class names against a class loader without initializing the classes. The names which
+ * cannot be loaded without initialization are remembered and never tried again by the same
+ * resolver. A failed initialization is not remembered, as the class can still be loaded. The
+ * batches of names are resolved concurrently when more than one thread is allowed and the class
+ * loader is registered as parallel capable, as a class loader locking on itself would serialize the
+ * loads anyway. The concurrent batches run on a pool of daemon threads created once per resolver.
+ */
+public class ClassResolver
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassResolver.class);
+    private static final int MIN_NAMES_PER_THREAD = 64;
+
+    private final ClassLoader classLoader;
+    private final int threads;
+    private final boolean parallelCapable;
+    private final Set<String> missingNames = ConcurrentHashMap.newKeySet();
+    private final AtomicLong loadedCount = new AtomicLong();
+    private final AtomicLong loadingNanos = new AtomicLong();
+    private volatile ExecutorService executorService;
+
+    /**
+     * @param classLoader the class loader loading the classes
+     * @param threads     the number of threads resolving a batch of names
+     */
+    public ClassResolver(ClassLoader classLoader, int threads)
+    {
+        this.classLoader = classLoader;
+        this.threads = Math.max(1, threads);
+        this.parallelCapable = isParallelCapable(classLoader);
+    }
+
+    /**
+     * Loads a class without initializing it.
+     *
+     * @param name the class name
+     * @return the class or null if it cannot be loaded
+     */
+    public Class<?> resolve(String name)
+    {
+        return resolve(name, false);
+    }
+
+    /**
+     * @param name       the class name
+     * @param initialize true if the class has to be initialized
+     * @return the class or null if it cannot be loaded or initialized
+     */
+    public Class<?> resolve(String name, boolean initialize)
+    {
+        if (missingNames.contains(name))
+        {
+            return null;
+        }
+        long start = System.nanoTime();
+        try
+        {
+            Class<?> aClass = Class.forName(name, initialize, classLoader);
+            loadedCount.incrementAndGet();
+            return aClass;
+        } catch (ClassNotFoundException | LinkageError e)
+        {
+            if (!initialize)
+            {
+                missingNames.add(name);
+            }
+            LOGGER.debug("Fail to load class {}: {}", name, e.getMessage());
+            return null;
+        } finally
+        {
+            loadingNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Loads the classes without initializing them, in the order of the names. The names which
+     * cannot be loaded are skipped.
+     *
+     * @param names the class names
+     * @return the loaded classes
+     */
+    public List<Class<?>> resolveAll(Collection<String> names)
+    {
+        List<String> candidates = new ArrayList<>(names.size());
+        for (String name : names)
+        {
+            if (!missingNames.contains(name))
+            {
+                candidates.add(name);
+            }
+        }
+        int batchThreads = Math.min(threads, candidates.size() / MIN_NAMES_PER_THREAD);
+        if (batchThreads < 2 || !parallelCapable)
+        {
+            return resolveAll(candidates, 0, candidates.size());
+        }
+        return resolveConcurrently(candidates, batchThreads);
+    }
+
+    private List<Class<?>> resolveConcurrently(List<String> candidates, int batchThreads)
+    {
+        ExecutorService executorService = executorService();
+        List<Future<List<Class<?>>>> futures = new ArrayList<>(batchThreads);
+        try
+        {
+            int chunkSize = (candidates.size() + batchThreads - 1) / batchThreads;
+            for (int from = 0; from < candidates.size(); from += chunkSize)
+            {
+                int to = Math.min(candidates.size(), from + chunkSize);
+                int chunkFrom = from;
+                futures.add(executorService.submit(
+                        (Callable<List<Class<?>>>) () -> resolveAll(candidates, chunkFrom, to)));
+            }
+            List<Class<?>> classes = new ArrayList<>(candidates.size());
+            for (Future<List<Class<?>>> future : futures)
+            {
+                classes.addAll(future.get());
+            }
+            return classes;
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new IllegalStateException("Interrupted while loading the classes", e);
+        } catch (ExecutionException e)
+        {
+            cancel(futures);
+            throw new IllegalStateException("Unable to load the classes", e.getCause());
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures)
+    {
+        for (Future<?> future : futures)
+        {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * @return the pool resolving the concurrent batches, created on the first batch. Its threads are
+     * daemon threads which terminate when idle, so it needs no shutdown.
+     */
+    private ExecutorService executorService()
+    {
+        ExecutorService pool = executorService;
+        if (pool == null)
+        {
+            synchronized (this)
+            {
+                pool = executorService;
+                if (pool == null)
+                {
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), runnable -> {
+                                Thread thread = new Thread(runnable, "nuun-scan-resolve-" + threadIndex.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    threadPool.allowCoreThreadTimeOut(true);
+                    pool = threadPool;
+                    executorService = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private List<Class<?>> resolveAll(List<String> names, int from, int to)
+    {
+        List<Class<?>> classes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++)
+        {
+            Class<?> aClass = resolve(names.get(i));
+            if (aClass != null)
+            {
+                classes.add(aClass);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * @return the number of names which could not be loaded
+     */
+    public int missingCount()
+    {
+        return missingNames.size();
+    }
+
+    /**
+     * @return the number of names resolved to a class, a name resolved twice being counted twice
+     */
+    public long loadedCount()
+    {
+        return loadedCount.get();
+    }
+
+    /**
+     * @return the time spent loading the classes, in nanoseconds
+     */
+    public long loadingNanos()
+    {
+        return loadingNanos.get();
+    }
+
+    static boolean isParallelCapable(ClassLoader classLoader)
+    {
+        if (classLoader == null)
+        {
+            return true;
+        }
+        try
+        {
+            Method method = ClassLoader.class.getMethod("isRegisteredAsParallelCapable");
+            return (Boolean) method.invoke(classLoader);
+        } catch (NoSuchMethodException e)
+        {
+            // before Java 9, only the parallel capable class loaders have a lock map
+            try
+            {
+                Field parallelLockMap = ClassLoader.class.getDeclaredField("parallelLockMap");
+                parallelLockMap.setAccessible(true);
+                return parallelLockMap.get(classLoader) != null;
+            } catch (ReflectiveOperationException | RuntimeException e1)
+            {
+                return false;
+            }
+        } catch (ReflectiveOperationException | RuntimeException e)
+        {
+            return false;
+        }
+    }
+}
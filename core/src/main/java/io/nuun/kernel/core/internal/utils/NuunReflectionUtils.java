@@ -42,9 +42,15 @@ public class NuunReflectionUtils {
         }
     }
 
+    /**
+     * Loads a class without initializing it.
+     *
+     * @param candidate the class name
+     * @return the class or null if it cannot be loaded
+     */
     public static Class<?> forNameSilent(String candidate) {
         try {
-            return Class.forName(candidate);
+            return Class.forName(candidate, false, NuunReflectionUtils.class.getClassLoader());
         } catch (Throwable e) {
             LOGGER.debug("Fail to load class {}: {}", candidate, e.getMessage());
         }
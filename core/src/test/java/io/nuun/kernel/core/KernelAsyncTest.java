@@ -0,0 +1,106 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core;
+
+import com.google.common.collect.Lists;
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.plugin.InitState;
+import io.nuun.kernel.api.plugin.context.InitContext;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class KernelAsyncTest
+{
+    private Kernel underTest;
+
+    @Test
+    public void kernel_should_run_its_lifecycle_on_its_own_thread() throws Exception
+    {
+        ThreadRecordingPlugin plugin = new ThreadRecordingPlugin();
+        underTest = createKernel(newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.scan"))
+                .plugins(plugin));
+
+        // the start is asked before the end of the initialization
+        CompletableFuture<Void> initialized = underTest.initAsync();
+        CompletableFuture<Void> started = underTest.startAsync();
+        started.get(30, TimeUnit.SECONDS);
+
+        assertThat(initialized.isDone()).isTrue();
+        assertThat(underTest.isStarted()).isTrue();
+        assertThat(plugin.initThread).isNotSameAs(Thread.currentThread());
+        assertThat(plugin.initThread.getName()).startsWith(underTest.name() + "-lifecycle");
+
+        underTest.stopAsync().get(30, TimeUnit.SECONDS);
+        assertThat(underTest.isStarted()).isFalse();
+    }
+
+    @Test
+    public void kernel_failures_should_complete_the_futures_exceptionally() throws Exception
+    {
+        underTest = createKernel(newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.scan")));
+
+        try
+        {
+            underTest.startAsync().get(30, TimeUnit.SECONDS);
+            fail("The kernel should not start before being initialized");
+        } catch (ExecutionException e)
+        {
+            assertThat(e.getCause()).isInstanceOf(KernelException.class);
+        }
+    }
+
+    @After
+    public void stopKernel()
+    {
+        if (underTest.isStarted())
+        {
+            underTest.stop();
+        }
+    }
+
+    static class ThreadRecordingPlugin extends AbstractPlugin
+    {
+        private volatile Thread initThread;
+
+        @Override
+        public String name()
+        {
+            return "thread-recording";
+        }
+
+        @Override
+        public InitState init(InitContext initContext)
+        {
+            initThread = Thread.currentThread();
+            return InitState.INITIALIZED;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.config.ClasspathScanMode;
+import io.nuun.kernel.api.config.KernelConfiguration;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.plugin.InitState;
+import io.nuun.kernel.api.plugin.context.InitContext;
+import io.nuun.kernel.api.plugin.request.ClasspathScanRequest;
+import io.nuun.kernel.api.statistics.UrlStatistics;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+import it.fixture.indexed.Indexed;
+import it.fixture.indexed.IndexedService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KernelIndexedScanTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private URL indexedDirectory;
+    private Kernel underTest;
+
+    @Before
+    public void writeIndex() throws IOException
+    {
+        // The directory only contains an index which declares IndexedService as annotated, its class file is not
+        File directory = temporaryFolder.newFolder("indexed");
+        File indexFile = new File(directory, UrlIndex.LOCATION);
+        assertThat(indexFile.getParentFile().mkdirs()).isTrue();
+        ClassEntry classEntry = new ClassEntry("it/fixture/indexed/IndexedService.class", IndexedService.class.getName(),
+                Object.class.getName(), Collections.<String>emptyList(), Lists.newArrayList(Indexed.class.getName()), 1);
+        try (OutputStream outputStream = new FileOutputStream(indexFile))
+        {
+            new UrlIndex(Lists.newArrayList(classEntry), Collections.<String>emptyList()).writeTo(outputStream);
+        }
+        indexedDirectory = directory.toURI().toURL();
+    }
+
+    @Test
+    public void indexed_kernel_should_read_the_classes_from_the_packaged_index()
+    {
+        IndexedPlugin plugin = new IndexedPlugin(indexedDirectory);
+        underTest = createKernel(kernelConfiguration(ClasspathScanMode.INDEXED, plugin));
+        underTest.init();
+        underTest.start();
+
+        assertThat(plugin.annotatedClasses).containsOnly(IndexedService.class);
+    }
+
+    @Test
+    public void indexed_kernel_should_record_the_statistics_of_the_indexed_urls()
+    {
+        underTest = createKernel(kernelConfiguration(ClasspathScanMode.INDEXED, new IndexedPlugin(indexedDirectory)));
+        underTest.init();
+
+        UrlStatistics indexedStatistics = null;
+        for (UrlStatistics urlStatistics : underTest.scanStatistics().getUrls())
+        {
+            if (urlStatistics.getUrl().equals(indexedDirectory))
+            {
+                indexedStatistics = urlStatistics;
+            }
+        }
+        assertThat(indexedStatistics).isNotNull();
+        assertThat(indexedStatistics.getSource()).isEqualTo(UrlStatistics.Source.INDEX);
+        assertThat(indexedStatistics.getClassCount()).isEqualTo(1);
+        assertThat(indexedStatistics.getBytesRead()).isPositive();
+        assertThat(indexedStatistics.getParseNanos()).isPositive();
+    }
+
+    @Test
+    public void indexed_kernel_should_scan_a_directory_modified_after_its_index() throws Exception
+    {
+        File directory = new File(indexedDirectory.toURI());
+        File newerFile = new File(directory, "it/fixture/indexed/newer.properties");
+        assertThat(newerFile.getParentFile().mkdirs()).isTrue();
+        assertThat(newerFile.createNewFile()).isTrue();
+        assertThat(newerFile.setLastModified(new File(directory, UrlIndex.LOCATION).lastModified() + 10000)).isTrue();
+
+        IndexedPlugin plugin = new IndexedPlugin(indexedDirectory);
+        underTest = createKernel(kernelConfiguration(ClasspathScanMode.INDEXED, plugin));
+        underTest.init();
+        underTest.start();
+
+        assertThat(plugin.annotatedClasses).isEmpty();
+    }
+
+    @Test
+    public void nominal_kernel_should_ignore_the_packaged_index()
+    {
+        IndexedPlugin plugin = new IndexedPlugin(indexedDirectory);
+        underTest = createKernel(kernelConfiguration(ClasspathScanMode.NOMINAL, plugin));
+        underTest.init();
+        underTest.start();
+
+        assertThat(plugin.annotatedClasses).isEmpty();
+    }
+
+    private KernelConfiguration kernelConfiguration(ClasspathScanMode mode, IndexedPlugin plugin)
+    {
+        return newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.indexed"))
+                .classpathScanMode(mode)
+                .plugins(plugin);
+    }
+
+    @After
+    public void stopKernel()
+    {
+        if (underTest != null && underTest.isStarted())
+        {
+            underTest.stop();
+        }
+    }
+
+    static class IndexedPlugin extends AbstractPlugin
+    {
+        private final URL indexedDirectory;
+        private final Collection<Class<?>> annotatedClasses = new ArrayList<>();
+
+        IndexedPlugin(URL indexedDirectory)
+        {
+            this.indexedDirectory = indexedDirectory;
+        }
+
+        @Override
+        public String name()
+        {
+            return "indexed";
+        }
+
+        @Override
+        public Set<URL> computeAdditionalClasspathScan()
+        {
+            return Sets.newHashSet(indexedDirectory);
+        }
+
+        @Override
+        public Collection<ClasspathScanRequest> classpathScanRequests()
+        {
+            return classpathScanRequestBuilder().annotationType(Indexed.class).build();
+        }
+
+        @Override
+        public InitState init(InitContext initContext)
+        {
+            annotatedClasses.addAll(initContext.scannedClassesByAnnotationClass().get(Indexed.class));
+            return InitState.INITIALIZED;
+        }
+    }
+}
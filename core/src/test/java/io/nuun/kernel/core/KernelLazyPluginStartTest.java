@@ -0,0 +1,214 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.annotations.Facet;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.plugin.context.Context;
+import io.nuun.kernel.api.plugin.request.BindingRequest;
+import it.fixture.scan.ClassToScan1;
+import it.fixture.scan.ToScan;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KernelLazyPluginStartTest
+{
+    private final ReportingPlugin reportingPlugin = new ReportingPlugin();
+    private final RequiredPlugin requiredPlugin = new RequiredPlugin();
+    private final EagerPlugin eagerPlugin = new EagerPlugin();
+    private Kernel underTest;
+
+    @Before
+    public void startKernel()
+    {
+        underTest = createKernel(newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.LAZY_PLUGIN_START, true)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.scan"))
+                .plugins(reportingPlugin, requiredPlugin, eagerPlugin));
+        underTest.init();
+        underTest.start();
+    }
+
+    @Test
+    public void plugin_exposing_a_facet_should_start_on_the_first_use_of_its_bindings()
+    {
+        assertThat(eagerPlugin.starts.get()).isEqualTo(1);
+        // an eager plugin depends on it
+        assertThat(requiredPlugin.starts.get()).isEqualTo(1);
+        assertThat(reportingPlugin.starts.get()).isEqualTo(0);
+
+        Injector injector = underTest.objectGraph().as(Injector.class);
+        assertThat(injector.getInstance(ReportService.class)).isNotNull();
+        assertThat(injector.getInstance(ReportService.class)).isNotNull();
+
+        assertThat(reportingPlugin.starts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void plugin_should_start_on_the_first_use_of_a_class_bound_by_its_requests()
+    {
+        assertThat(underTest.objectGraph().as(Injector.class).getInstance(ClassToScan1.class)).isNotNull();
+
+        assertThat(reportingPlugin.starts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void plugin_should_start_once_when_its_bindings_are_used_concurrently() throws Exception
+    {
+        Injector injector = underTest.objectGraph().as(Injector.class);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try
+        {
+            List<Callable<ReportService>> lookups = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+            {
+                lookups.add(() -> injector.getInstance(ReportService.class));
+            }
+            for (Future<ReportService> reportService : executorService.invokeAll(lookups))
+            {
+                assertThat(reportService.get()).isNotNull();
+            }
+        } finally
+        {
+            executorService.shutdown();
+        }
+
+        assertThat(reportingPlugin.starts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void plugin_never_started_should_not_be_stopped()
+    {
+        underTest.stop();
+
+        assertThat(eagerPlugin.stops.get()).isEqualTo(1);
+        assertThat(requiredPlugin.stops.get()).isEqualTo(1);
+        assertThat(reportingPlugin.stops.get()).isEqualTo(0);
+    }
+
+    @After
+    public void stopKernel()
+    {
+        if (underTest.isStarted())
+        {
+            underTest.stop();
+        }
+    }
+
+    @Facet
+    public interface Reporting
+    {
+    }
+
+    @Facet
+    public interface Required
+    {
+    }
+
+    public static class ReportService
+    {
+    }
+
+    static abstract class CountingPlugin extends AbstractPlugin
+    {
+        final AtomicInteger starts = new AtomicInteger();
+        final AtomicInteger stops = new AtomicInteger();
+
+        @Override
+        public void start(Context context)
+        {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public void stop()
+        {
+            stops.incrementAndGet();
+        }
+    }
+
+    static class ReportingPlugin extends CountingPlugin implements Reporting
+    {
+        @Override
+        public String name()
+        {
+            return "reporting";
+        }
+
+        @Override
+        public Collection<BindingRequest> bindingRequests()
+        {
+            return bindingRequestsBuilder().annotationType(ToScan.class).build();
+        }
+
+        @Override
+        public Object nativeUnitModule()
+        {
+            return new AbstractModule()
+            {
+                @Override
+                protected void configure()
+                {
+                    bind(ReportService.class);
+                }
+            };
+        }
+    }
+
+    static class RequiredPlugin extends CountingPlugin implements Required
+    {
+        @Override
+        public String name()
+        {
+            return "required";
+        }
+    }
+
+    static class EagerPlugin extends CountingPlugin
+    {
+        @Override
+        public String name()
+        {
+            return "eager";
+        }
+
+        @Override
+        public Collection<Class<?>> requiredPlugins()
+        {
+            return Lists.newArrayList(Required.class);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Injector;
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.KernelPrototype;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.plugin.request.BindingRequest;
+import io.nuun.kernel.api.statistics.RequestStatistics;
+import io.nuun.kernel.api.statistics.ScanStatistics;
+import it.fixture.scan.ClassToScan1;
+import it.fixture.scan.ClassToScan2;
+import it.fixture.scan.ScanningPlugin;
+import it.fixture.scan.ToScan;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.createPrototype;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class KernelPrototypeTest
+{
+    private final List<Kernel> kernels = new ArrayList<>();
+    private Kernel prototypeKernel;
+
+    @Before
+    public void initPrototypeKernel()
+    {
+        prototypeKernel = newKernel(createKernel(newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.scan"))
+                .addPlugin(ScanningPlugin.class)
+                .addPlugin(BindingPlugin.class)));
+        prototypeKernel.init();
+    }
+
+    @Test
+    public void kernels_created_from_a_prototype_should_have_their_own_plugins_and_injector()
+    {
+        KernelPrototype prototype = createPrototype(prototypeKernel);
+        prototypeKernel.start();
+        Kernel underTest = newKernel(prototype.newKernel());
+        underTest.init();
+        underTest.start();
+
+        ScanningPlugin scanningPlugin = (ScanningPlugin) underTest.plugins().get(ScanningPlugin.NAME);
+        assertThat(scanningPlugin).isNotSameAs(prototypeKernel.plugins().get(ScanningPlugin.NAME));
+        assertThat(scanningPlugin.getScannedClasses()).containsOnly(ClassToScan1.class, ClassToScan2.class);
+
+        Injector injector = underTest.objectGraph().as(Injector.class);
+        assertThat(injector).isNotSameAs(prototypeKernel.objectGraph().as(Injector.class));
+        assertThat(injector.getInstance(ClassToScan1.class)).isNotNull();
+        assertThat(underTest.scannedURLs()).isEqualTo(prototypeKernel.scannedURLs());
+    }
+
+    @Test
+    public void kernels_created_from_a_prototype_should_not_execute_the_requests_again()
+    {
+        KernelPrototype prototype = createPrototype(prototypeKernel);
+        Kernel first = newKernel(prototype.newKernel());
+        Kernel second = newKernel(prototype.newKernel());
+        first.init();
+        second.init();
+
+        // only the predicate of the new scanning plugin instance is evaluated
+        assertThat(bindingRequestCount(first.scanStatistics())).isEqualTo(bindingRequestCount(prototypeKernel.scanStatistics()));
+        assertThat(first.scanStatistics().getRequests()).hasSize(prototypeKernel.scanStatistics().getRequests().size() + 1);
+        assertThat(second.scanStatistics().getRequests()).hasSize(prototypeKernel.scanStatistics().getRequests().size() + 1);
+
+        first.start();
+        second.start();
+        assertThat(first.objectGraph().as(Injector.class).getInstance(ClassToScan2.class)).isNotNull();
+        assertThat(second.objectGraph().as(Injector.class).getInstance(ClassToScan2.class)).isNotNull();
+    }
+
+    @Test
+    public void prototype_should_not_be_created_from_a_kernel_not_initialized()
+    {
+        try
+        {
+            createPrototype(newKernel(createKernel(newKernelConfiguration())));
+            fail("The kernel is not initialized");
+        } catch (KernelException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("Kernel is not initialized.");
+        }
+    }
+
+    private int bindingRequestCount(ScanStatistics scanStatistics)
+    {
+        int count = 0;
+        for (RequestStatistics request : scanStatistics.getRequests())
+        {
+            if (request.getKind() == RequestStatistics.Kind.BINDING)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Kernel newKernel(Kernel kernel)
+    {
+        kernels.add(kernel);
+        return kernel;
+    }
+
+    @After
+    public void stopKernels()
+    {
+        for (Kernel kernel : kernels)
+        {
+            if (kernel.isStarted())
+            {
+                kernel.stop();
+            }
+        }
+    }
+
+    public static class BindingPlugin extends AbstractPlugin
+    {
+        @Override
+        public String name()
+        {
+            return "binding";
+        }
+
+        @Override
+        public Collection<BindingRequest> bindingRequests()
+        {
+            return bindingRequestsBuilder().annotationType(ToScan.class).build();
+        }
+    }
+}
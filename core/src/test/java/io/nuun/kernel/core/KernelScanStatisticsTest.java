@@ -0,0 +1,118 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core;
+
+import com.google.common.collect.Lists;
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.plugin.request.BindingRequest;
+import io.nuun.kernel.api.plugin.request.ClasspathScanRequest;
+import io.nuun.kernel.api.plugin.request.RequestType;
+import io.nuun.kernel.api.statistics.RequestStatistics;
+import io.nuun.kernel.api.statistics.ScanStatistics;
+import io.nuun.kernel.api.statistics.UrlStatistics;
+import it.fixture.scan.ScanningPlugin;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collection;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KernelScanStatisticsTest
+{
+    private Kernel underTest;
+
+    @Test
+    public void kernel_should_give_the_statistics_of_the_scanned_urls_and_requests()
+    {
+        underTest = createKernel(newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.scan"))
+                .plugins(new ScanningPlugin(), new UnmatchedRequestsPlugin()));
+        underTest.init();
+
+        ScanStatistics scanStatistics = underTest.scanStatistics();
+
+        assertThat(scanStatistics.getUrls()).isNotEmpty();
+        int classCount = 0;
+        for (UrlStatistics url : scanStatistics.getUrls())
+        {
+            assertThat(underTest.scannedURLs()).contains(url.getUrl());
+            classCount += url.getClassCount();
+        }
+        assertThat(classCount).isGreaterThanOrEqualTo(2);
+        assertThat(scanStatistics.getScannerNanos()).containsKey("TypeAnnotationsScanner");
+
+        RequestStatistics predicateRequest = requestOf(scanStatistics, RequestType.CLASS_PREDICATE);
+        assertThat(predicateRequest.getKind()).isEqualTo(RequestStatistics.Kind.SCAN);
+        assertThat(predicateRequest.getRound()).isEqualTo(0);
+        assertThat(predicateRequest.getPlugins()).containsOnly(ScanningPlugin.class);
+        assertThat(predicateRequest.getMatchCount()).isEqualTo(2);
+
+        assertThat(scanStatistics.getUnmatchedRequests()).hasSize(2);
+        for (RequestStatistics unmatchedRequest : scanStatistics.getUnmatchedRequests())
+        {
+            assertThat(unmatchedRequest.getPlugins()).containsOnly(UnmatchedRequestsPlugin.class);
+            assertThat(unmatchedRequest.getCriteria()).startsWith(".*NoSuch");
+        }
+    }
+
+    private RequestStatistics requestOf(ScanStatistics scanStatistics, RequestType requestType)
+    {
+        for (RequestStatistics request : scanStatistics.getRequests())
+        {
+            if (request.getRequestType() == requestType)
+            {
+                return request;
+            }
+        }
+        throw new AssertionError("No " + requestType + " request");
+    }
+
+    @After
+    public void stopKernel()
+    {
+        if (underTest.isStarted())
+        {
+            underTest.stop();
+        }
+    }
+
+    static class UnmatchedRequestsPlugin extends AbstractPlugin
+    {
+        @Override
+        public String name()
+        {
+            return "unmatched-requests";
+        }
+
+        @Override
+        public Collection<ClasspathScanRequest> classpathScanRequests()
+        {
+            return classpathScanRequestBuilder().annotationRegex(".*NoSuchAnnotation").build();
+        }
+
+        @Override
+        public Collection<BindingRequest> bindingRequests()
+        {
+            return bindingRequestsBuilder().subtypeOfRegex(".*NoSuchType").build();
+        }
+    }
+}
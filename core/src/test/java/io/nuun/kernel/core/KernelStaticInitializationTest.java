@@ -0,0 +1,115 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Injector;
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.plugin.InitState;
+import io.nuun.kernel.api.plugin.context.InitContext;
+import io.nuun.kernel.api.plugin.request.BindingRequest;
+import io.nuun.kernel.api.plugin.request.ClasspathScanRequest;
+import io.nuun.kernel.api.statistics.ClassLoadingStatistics;
+import it.fixture.lazyinit.Composite;
+import it.fixture.lazyinit.InitializationCounter;
+import it.fixture.lazyinit.Marker;
+import it.fixture.lazyinit.Service;
+import it.fixture.lazyinit.StaticInitializedService;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KernelStaticInitializationTest
+{
+    private Kernel underTest;
+
+    @Test
+    public void kernel_should_not_initialize_the_scanned_classes_before_they_are_provisioned()
+    {
+        ScanningPlugin scanningPlugin = new ScanningPlugin();
+        underTest = createKernel(newKernelConfiguration()
+                .option(KernelOptions.SCAN_PLUGIN, false)
+                .option(KernelOptions.ROOT_PACKAGES, Lists.newArrayList("it.fixture.lazyinit"))
+                .plugins(scanningPlugin));
+        underTest.init();
+        underTest.start();
+
+        assertThat(scanningPlugin.scannedClasses).contains(StaticInitializedService.class);
+        assertThat(InitializationCounter.COUNT.get()).isEqualTo(0);
+
+        ClassLoadingStatistics classLoading = underTest.scanStatistics().getClassLoading();
+        assertThat(classLoading.getLoadedCount()).isGreaterThan(0);
+        assertThat(classLoading.getLoadingNanos()).isGreaterThan(0);
+
+        assertThat(underTest.objectGraph().as(Injector.class).getInstance(StaticInitializedService.class)).isNotNull();
+        assertThat(InitializationCounter.COUNT.get()).isEqualTo(1);
+    }
+
+    @After
+    public void stopKernel()
+    {
+        if (underTest.isStarted())
+        {
+            underTest.stop();
+        }
+    }
+
+    static class ScanningPlugin extends AbstractPlugin
+    {
+        private final Predicate<Class<?>> servicePredicate = candidate -> candidate.getSimpleName().endsWith("Service");
+        private final Collection<Class<?>> scannedClasses = new ArrayList<>();
+
+        @Override
+        public String name()
+        {
+            return "static-initialization";
+        }
+
+        @Override
+        public Collection<ClasspathScanRequest> classpathScanRequests()
+        {
+            return classpathScanRequestBuilder()
+                    .annotationType(Composite.class)
+                    .subtypeOf(Service.class)
+                    .predicate(servicePredicate)
+                    .build();
+        }
+
+        @Override
+        public Collection<BindingRequest> bindingRequests()
+        {
+            return bindingRequestsBuilder().metaAnnotationType(Marker.class).build();
+        }
+
+        @Override
+        public InitState init(InitContext initContext)
+        {
+            scannedClasses.addAll(initContext.scannedClassesByAnnotationClass().get(Composite.class));
+            scannedClasses.addAll(initContext.scannedSubTypesByParentClass().get(Service.class));
+            scannedClasses.addAll(initContext.scannedTypesByPredicate().get(servicePredicate));
+            return InitState.INITIALIZED;
+        }
+    }
+}
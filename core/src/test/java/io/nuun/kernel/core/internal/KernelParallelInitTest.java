@@ -0,0 +1,57 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import io.nuun.kernel.api.Kernel;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.core.pluginsit.dummy1.DummyPlugin;
+import io.nuun.kernel.core.pluginsit.dummy23.DummyPlugin2;
+import io.nuun.kernel.core.pluginsit.dummy23.DummyPlugin3;
+import io.nuun.kernel.core.pluginsit.dummy4.DummyPlugin4;
+import io.nuun.kernel.core.pluginsit.dummy5.DummyPlugin5;
+import org.junit.Test;
+
+import static io.nuun.kernel.core.NuunCore.createKernel;
+import static io.nuun.kernel.core.NuunCore.newKernelConfiguration;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KernelParallelInitTest
+{
+    @Test
+    public void kernel_should_initialize_start_and_stop_the_plugins_concurrently_when_asked()
+    {
+        Kernel underTest = createKernel(newKernelConfiguration()
+                .rootPackages("internal", KernelCoreIT.class.getPackage().getName())
+                .option(KernelOptions.PLUGIN_INIT_THREADS, 4)
+                .option(KernelOptions.PLUGIN_LIFECYCLE_THREADS, 4)
+                .option(KernelOptions.PLUGIN_STOP_TIMEOUT, 30_000L)
+                .param(DummyPlugin.ALIAS_DUMMY_PLUGIN1, "WAZAAAA")
+                .addPlugin(DummyPlugin.class)
+                .addPlugin(DummyPlugin3.class)
+                .addPlugin(DummyPlugin2.class)
+                .addPlugin(new DummyPlugin4())
+                .addPlugin(DummyPlugin5.class)
+        );
+
+        underTest.init();
+        underTest.start();
+
+        assertThat(underTest.isStarted()).isTrue();
+        assertThat(underTest.plugins()).containsKeys(DummyPlugin.NAME, "dummuyPlugin4");
+        underTest.stop();
+    }
+}
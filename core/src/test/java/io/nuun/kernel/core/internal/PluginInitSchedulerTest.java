@@ -0,0 +1,192 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import com.google.common.collect.Lists;
+import io.nuun.kernel.api.Plugin;
+import io.nuun.kernel.api.annotations.Facet;
+import io.nuun.kernel.api.plugin.InitState;
+import io.nuun.kernel.core.AbstractPlugin;
+import io.nuun.kernel.core.KernelException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class PluginInitSchedulerTest
+{
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final List<Plugin> initializedPlugins = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void shutdownExecutor()
+    {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void independent_plugins_are_initialized_concurrently()
+    {
+        Plugin1 plugin1 = new Plugin1();
+        Plugin4 plugin4 = new Plugin4();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        List<Plugin> nonInitializedPlugins = schedulerFor(plugin1, plugin4).initPlugins(Lists.newArrayList(plugin1, plugin4), plugin -> {
+            bothStarted.countDown();
+            try
+            {
+                return bothStarted.await(5, TimeUnit.SECONDS) ? InitState.INITIALIZED : InitState.NON_INITIALIZED;
+            } catch (InterruptedException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(nonInitializedPlugins).isEmpty();
+    }
+
+    @Test
+    public void plugins_are_initialized_after_their_dependencies()
+    {
+        Plugin1 plugin1 = new Plugin1(); // declares P2 as dependent
+        Plugin2 plugin2 = new Plugin2();
+        Plugin3 plugin3 = new Plugin3(); // requires P2
+        Plugin4 plugin4 = new Plugin4();
+
+        List<Plugin> nonInitializedPlugins = schedulerFor(plugin1, plugin2, plugin3, plugin4)
+                .initPlugins(Lists.newArrayList(plugin1, plugin2, plugin3, plugin4), plugin -> {
+                    initializedPlugins.add(plugin);
+                    return plugin == plugin4 || plugin == plugin2 ? InitState.NON_INITIALIZED : InitState.INITIALIZED;
+                });
+
+        assertThat(initializedPlugins).containsSubsequence(plugin1, plugin2, plugin3);
+        assertThat(initializedPlugins).contains(plugin4);
+        assertThat(nonInitializedPlugins).containsExactly(plugin2, plugin4);
+    }
+
+    @Test
+    public void plugins_depending_on_a_failed_plugin_are_not_initialized()
+    {
+        Plugin2 plugin2 = new Plugin2();
+        Plugin3 plugin3 = new Plugin3();
+        Plugin4 plugin4 = new Plugin4();
+
+        try
+        {
+            schedulerFor(plugin2, plugin3, plugin4).initPlugins(Lists.newArrayList(plugin2, plugin3, plugin4), plugin -> {
+                if (plugin == plugin2)
+                {
+                    throw new KernelException("P2 failed");
+                }
+                initializedPlugins.add(plugin);
+                return InitState.INITIALIZED;
+            });
+            fail("The failure of P2 should be thrown");
+        } catch (KernelException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("P2 failed");
+        }
+        assertThat(initializedPlugins).containsExactly(plugin4);
+    }
+
+    private PluginInitScheduler schedulerFor(Plugin... plugins)
+    {
+        PluginRegistry pluginRegistry = new PluginRegistry();
+        for (Plugin plugin : plugins)
+        {
+            pluginRegistry.add(plugin);
+        }
+        FacetRegistry facetRegistry = new FacetRegistry(pluginRegistry.getPlugins());
+        return new PluginInitScheduler(new DependencyProvider(pluginRegistry, facetRegistry), executorService);
+    }
+
+    @Facet
+    private interface Facet1
+    {
+    }
+
+    private static class Plugin1 extends TestPlugin
+    {
+        public Plugin1()
+        {
+            index = 1;
+        }
+
+        @Override
+        public Collection<Class<?>> dependentPlugins()
+        {
+            return Lists.newArrayList(Facet1.class);
+        }
+    }
+
+    private static class Plugin2 extends TestPlugin implements Facet1
+    {
+        public Plugin2()
+        {
+            index = 2;
+        }
+    }
+
+    private static class Plugin3 extends TestPlugin
+    {
+        public Plugin3()
+        {
+            index = 3;
+        }
+
+        @Override
+        public Collection<Class<?>> requiredPlugins()
+        {
+            return Lists.newArrayList(Facet1.class);
+        }
+    }
+
+    private static class Plugin4 extends TestPlugin
+    {
+        public Plugin4()
+        {
+            index = 4;
+        }
+    }
+
+    private static class TestPlugin extends AbstractPlugin
+    {
+        protected int index;
+
+        @Override
+        public String name()
+        {
+            return "P" + index;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name();
+        }
+    }
+}
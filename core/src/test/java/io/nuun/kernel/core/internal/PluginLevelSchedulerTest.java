@@ -0,0 +1,272 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.nuun.kernel.api.Plugin;
+import io.nuun.kernel.api.annotations.Facet;
+import io.nuun.kernel.core.AbstractPlugin;
+import io.nuun.kernel.core.KernelException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class PluginLevelSchedulerTest
+{
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final List<Plugin> calledPlugins = Collections.synchronizedList(new ArrayList<>());
+
+    private final Plugin1 plugin1 = new Plugin1(); // declares P2 as dependent
+    private final Plugin2 plugin2 = new Plugin2();
+    private final Plugin3 plugin3 = new Plugin3(); // requires P2
+    private final Plugin4 plugin4 = new Plugin4();
+    private final List<List<Plugin>> levels = levelsOf(plugin1, plugin4, plugin2, plugin3);
+
+    @After
+    public void shutdownExecutor()
+    {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void plugins_are_grouped_by_dependency_level()
+    {
+        assertThat(levels).containsExactly(
+                Lists.<Plugin>newArrayList(plugin1, plugin4),
+                Lists.<Plugin>newArrayList(plugin2),
+                Lists.<Plugin>newArrayList(plugin3));
+    }
+
+    @Test
+    public void plugins_of_a_level_are_started_concurrently_after_the_previous_level()
+    {
+        CountDownLatch firstLevelStarted = new CountDownLatch(2);
+
+        new PluginLevelScheduler(levels, executorService, 4).startPlugins(plugin -> {
+            if (plugin == plugin1 || plugin == plugin4)
+            {
+                firstLevelStarted.countDown();
+                await(firstLevelStarted);
+            }
+            calledPlugins.add(plugin);
+        });
+
+        assertThat(calledPlugins).hasSize(4);
+        assertThat(calledPlugins.subList(2, 4)).containsExactly(plugin2, plugin3);
+    }
+
+    @Test
+    public void plugins_are_stopped_in_reverse_level_order_within_the_timeout()
+    {
+        long start = System.nanoTime();
+
+        new PluginLevelScheduler(levels, executorService, 4).stopPlugins(plugin -> {
+            calledPlugins.add(plugin);
+            if (plugin == plugin3)
+            {
+                await(new CountDownLatch(1));
+            }
+        }, 100);
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+        assertThat(calledPlugins.subList(0, 2)).containsExactly(plugin3, plugin2);
+        assertThat(calledPlugins.subList(2, 4)).containsOnly(plugin1, plugin4);
+    }
+
+    @Test
+    public void a_failing_plugin_does_not_prevent_the_other_plugins_from_stopping()
+    {
+        try
+        {
+            new PluginLevelScheduler(levels, executorService, 4).stopPlugins(plugin -> {
+                if (plugin == plugin2)
+                {
+                    throw new KernelException("P2 failed");
+                }
+                calledPlugins.add(plugin);
+            }, 0);
+            fail("The failure of P2 should be thrown");
+        } catch (KernelException e)
+        {
+            assertThat(e.getMessage()).isEqualTo("P2 failed");
+        }
+        assertThat(calledPlugins).containsOnly(plugin1, plugin3, plugin4);
+    }
+
+    @Test
+    public void plugins_beyond_the_threads_are_given_their_own_stop_timeout()
+    {
+        List<Plugin> level = new ArrayList<>();
+        for (int i = 5; i <= 10; i++)
+        {
+            level.add(testPlugin(i));
+        }
+
+        new PluginLevelScheduler(Collections.singletonList(level), executorService, 2).stopPlugins(plugin -> {
+            sleep(100);
+            calledPlugins.add(plugin);
+        }, 250);
+
+        assertThat(calledPlugins).hasSize(6).containsOnly(level.toArray(new Plugin[level.size()]));
+    }
+
+    @Test
+    public void a_plugin_ignoring_its_stop_timeout_does_not_hold_back_the_next_plugins()
+    {
+        Plugin plugin5 = testPlugin(5);
+        Plugin plugin6 = testPlugin(6);
+        Plugin plugin7 = testPlugin(7);
+        CountDownLatch released = new CountDownLatch(1);
+        long start = System.nanoTime();
+        try
+        {
+            new PluginLevelScheduler(Lists.<List<Plugin>>newArrayList(Collections.singletonList(plugin5), Collections.singletonList(plugin6),
+                    Collections.singletonList(plugin7)), executorService, 1).stopPlugins(plugin -> {
+                calledPlugins.add(plugin);
+                if (plugin == plugin6)
+                {
+                    Uninterruptibles.awaitUninterruptibly(released, 10, TimeUnit.SECONDS);
+                }
+            }, 100);
+        } finally
+        {
+            released.countDown();
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+        assertThat(calledPlugins).containsExactly(plugin7, plugin6, plugin5);
+    }
+
+    private static Plugin testPlugin(int index)
+    {
+        TestPlugin plugin = new TestPlugin();
+        plugin.index = index;
+        return plugin;
+    }
+
+    private static void sleep(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<List<Plugin>> levelsOf(Plugin... sortedPlugins)
+    {
+        PluginRegistry pluginRegistry = new PluginRegistry();
+        for (Plugin plugin : sortedPlugins)
+        {
+            pluginRegistry.add(plugin);
+        }
+        FacetRegistry facetRegistry = new FacetRegistry(pluginRegistry.getPlugins());
+        return PluginLevelScheduler.levelsOf(Lists.newArrayList(sortedPlugins), new DependencyProvider(pluginRegistry, facetRegistry));
+    }
+
+    @Facet
+    private interface Facet1
+    {
+    }
+
+    private static class Plugin1 extends TestPlugin
+    {
+        public Plugin1()
+        {
+            index = 1;
+        }
+
+        @Override
+        public Collection<Class<?>> dependentPlugins()
+        {
+            return Lists.newArrayList(Facet1.class);
+        }
+    }
+
+    private static class Plugin2 extends TestPlugin implements Facet1
+    {
+        public Plugin2()
+        {
+            index = 2;
+        }
+    }
+
+    private static class Plugin3 extends TestPlugin
+    {
+        public Plugin3()
+        {
+            index = 3;
+        }
+
+        @Override
+        public Collection<Class<?>> requiredPlugins()
+        {
+            return Lists.newArrayList(Facet1.class);
+        }
+    }
+
+    private static class Plugin4 extends TestPlugin
+    {
+        public Plugin4()
+        {
+            index = 4;
+        }
+    }
+
+    private static class TestPlugin extends AbstractPlugin
+    {
+        protected int index;
+
+        @Override
+        public String name()
+        {
+            return "P" + index;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name();
+        }
+    }
+}
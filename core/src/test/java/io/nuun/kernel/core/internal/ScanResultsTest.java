@@ -0,0 +1,64 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal;
+
+import io.nuun.kernel.api.plugin.context.ClassHandle;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ScanResultsTest
+{
+    private final ClassHandle classHandle = mock(ClassHandle.class);
+    private final AtomicInteger scanCount = new AtomicInteger();
+
+    @Test
+    public void handle_results_should_be_computed_when_they_are_first_read()
+    {
+        ScanResults scanResults = new ScanResults();
+        scanResults.addSubTypeHandles(Runnable.class, this::scan);
+
+        assertThat(scanCount.get()).isEqualTo(0);
+        assertThat(scanResults.scannedSubTypeHandlesByParentClass().get(Runnable.class)).containsOnly(classHandle);
+        assertThat(scanResults.scannedSubTypeHandlesByParentClass().get(Runnable.class)).containsOnly(classHandle);
+        assertThat(scanCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void handle_results_should_be_computed_once_for_the_copies()
+    {
+        ScanResults prototype = new ScanResults();
+        prototype.addTypeHandlesByName(".*Runnable", this::scan);
+        prototype.computeHandleResults();
+
+        ScanResults copy = new ScanResults(prototype);
+
+        assertThat(copy.scannedTypeHandlesByRegex().get(".*Runnable")).containsOnly(classHandle);
+        assertThat(scanCount.get()).isEqualTo(1);
+    }
+
+    private Collection<ClassHandle> scan()
+    {
+        scanCount.incrementAndGet();
+        return Collections.singleton(classHandle);
+    }
+}
@@ -16,14 +16,24 @@
  */
 package io.nuun.kernel.core.internal.scanner;
 
+import com.google.inject.Module;
 import io.nuun.kernel.api.annotations.KernelModule;
+import io.nuun.kernel.api.plugin.context.ClassHandle;
 import io.nuun.kernel.core.internal.scanner.sample.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * @author epo.jemba{@literal @}kametic.com
@@ -100,4 +110,120 @@ public abstract class ClasspathScannerTestBase
         assertThat(scanClasspathForAnnotation).hasSize(1);
         assertThat(scanClasspathForAnnotation).containsOnly(Bean2.class);
     }
+
+    @Test
+    public void classpathscanner_should_return_materialized_results()
+    {
+        for (Collection<Class<?>> results : Arrays.asList(underTest.scanTypesAnnotatedBy(ScanMarkerSample2.class),
+                underTest.scanTypesAnnotatedBy(".*MarkerSample2"), underTest.scanSubTypesOf(HierarchyRoot.class)))
+        {
+            assertThat(results).isNotEmpty();
+            assertThat(results).doesNotHaveDuplicates();
+            assertThat(results).containsAll(new ArrayList<>(results));
+            try
+            {
+                results.clear();
+                fail("The scan results should not be modifiable");
+            } catch (UnsupportedOperationException e)
+            {
+                assertThat(results).isNotEmpty();
+            }
+        }
+    }
+
+    @Test
+    public void classpathscanner_should_evaluate_predicates_together()
+    {
+        Predicate<Class<?>> annotated = aClass -> aClass.isAnnotationPresent(ScanMarkerSample.class);
+        Predicate<Class<?>> modules = Module.class::isAssignableFrom;
+
+        Map<Predicate<Class<?>>, Collection<Class<?>>> results = underTest.scanTypes(Arrays.asList(annotated, modules));
+
+        assertThat(results).hasSize(2);
+        assertThat(new HashSet<>(results.get(annotated))).isEqualTo(new HashSet<>(underTest.scanTypes(annotated)));
+        assertThat(new HashSet<>(results.get(modules))).isEqualTo(new HashSet<>(underTest.scanTypes(modules)));
+        assertThat(results.get(annotated)).contains(Bean1.class, Bean3.class);
+    }
+
+    @Test
+    public void classpathscanner_should_retrieve_the_same_types_as_handles()
+    {
+        assertThat(handleNames(underTest.scanTypeHandlesAnnotatedBy(ScanMarkerSample.class)))
+                .isEqualTo(classNames(underTest.scanTypesAnnotatedBy(ScanMarkerSample.class)));
+        assertThat(handleNames(underTest.scanTypeHandlesAnnotatedBy(".*ScanMarkerSample")))
+                .isEqualTo(classNames(underTest.scanTypesAnnotatedBy(".*ScanMarkerSample")));
+        assertThat(handleNames(underTest.scanTypeHandlesAnnotatedBy(ScanMarkerSample2.class)))
+                .isEqualTo(classNames(underTest.scanTypesAnnotatedBy(ScanMarkerSample2.class)));
+        assertThat(handleNames(underTest.scanTypeHandlesAnnotatedBy(KernelModule.class)))
+                .isEqualTo(classNames(underTest.scanTypesAnnotatedBy(KernelModule.class)));
+        assertThat(handleNames(underTest.scanSubTypeHandlesOf(Module.class)))
+                .isEqualTo(classNames(underTest.scanSubTypesOf(Module.class)));
+        assertThat(handleNames(underTest.scanSubTypeHandlesOf(".*\\.Module")))
+                .isEqualTo(classNames(underTest.scanSubTypesOf(".*\\.Module")));
+        assertThat(handleNames(underTest.scanTypeHandles(".*\\.Bean[0-9]")))
+                .isEqualTo(classNames(underTest.scanTypes(".*\\.Bean[0-9]")));
+    }
+
+    @Test
+    public void classpathscanner_should_ignore_the_same_types_as_handles()
+    {
+        // the ignore annotation of the parent is inherited by the child
+        assertThat(underTest.scanTypes(".*\\.InheritedIgnore(Parent|Child)")).isEmpty();
+        assertThat(underTest.scanTypeHandles(".*\\.InheritedIgnore(Parent|Child)")).isEmpty();
+        assertThat(handleNames(underTest.scanSubTypeHandlesOf(Object.class)))
+                .isEqualTo(classNames(underTest.scanSubTypesOf(Object.class)));
+    }
+
+    @Test
+    public void classpathscanner_should_retrieve_the_ancestor_types()
+    {
+        // Serializable is not scanned and stays out of the results
+        assertThat(underTest.scanAncestorTypesOf(HierarchyLeaf.class))
+                .containsOnly(HierarchyMiddle.class, HierarchyRoot.class);
+        assertThat(underTest.scanSubTypesOf(HierarchyRoot.class))
+                .containsOnly(HierarchyMiddle.class, HierarchyLeaf.class);
+        assertThat(handleNames(underTest.scanAncestorTypeHandlesOf(HierarchyLeaf.class)))
+                .isEqualTo(classNames(underTest.scanAncestorTypesOf(HierarchyLeaf.class)));
+        assertThat(underTest.scanAncestorTypesOf(HierarchyRoot.class)).isEmpty();
+    }
+
+    @Test
+    public void classpathscanner_should_describe_handles_from_the_index()
+    {
+        Collection<ClassHandle> classHandles = underTest.scanTypeHandlesAnnotatedBy(ScanMarkerSample.class);
+        ClassHandle bean1 = null;
+        for (ClassHandle classHandle : classHandles)
+        {
+            if (classHandle.getName().equals(Bean1.class.getName()))
+            {
+                bean1 = classHandle;
+            }
+        }
+
+        assertThat(bean1).isNotNull();
+        assertThat(bean1.getAnnotationNames()).containsOnly(ScanMarkerSample.class.getName());
+        assertThat(Modifier.isPublic(bean1.getModifiers())).isTrue();
+        assertThat(Modifier.isAbstract(bean1.getModifiers())).isFalse();
+        assertThat(bean1.resolve()).isEqualTo(Bean1.class);
+    }
+
+    private Set<String> handleNames(Collection<ClassHandle> classHandles)
+    {
+        Set<String> names = new HashSet<>();
+        for (ClassHandle classHandle : classHandles)
+        {
+            names.add(classHandle.getName());
+        }
+        return names;
+    }
+
+    private Set<String> classNames(Collection<Class<?>> classes)
+    {
+        Set<String> names = new HashSet<>();
+        for (Class<?> aClass : classes)
+        {
+            names.add(aClass.getName());
+        }
+        return names;
+    }
 }
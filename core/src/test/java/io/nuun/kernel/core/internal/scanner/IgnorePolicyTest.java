@@ -44,6 +44,15 @@ public class IgnorePolicyTest
         Assertions.assertThat(ignorePredicate.apply(IgnoredClass2.class)).isFalse();
     }
 
+    @Test
+    public void testIgnorePredicateVerdictIsStable()
+    {
+        Assertions.assertThat(ignorePredicate.apply(IgnoredClass2.class)).isFalse();
+        Assertions.assertThat(ignorePredicate.apply(IgnoredClass2.class)).isFalse();
+        Assertions.assertThat(ignorePredicate.apply(NormalClass.class)).isTrue();
+        Assertions.assertThat(ignorePredicate.apply(NormalClass.class)).isTrue();
+    }
+
     @Ignore
     @Retention(RetentionPolicy.RUNTIME)
     @Target({ElementType.TYPE})
@@ -0,0 +1,88 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiRegexMatcherTest
+{
+    private static final List<String> NAMES = Arrays.asList(
+            "io.nuun.kernel.core.Bean1",
+            "io.nuun.kernel.core.Bean2",
+            "io.nuun.kernel.api.Plugin",
+            "org.acme.MyService",
+            "org.acme.MyServiceImpl",
+            "org.acme.internal.Helper",
+            "a",
+            "");
+
+    private static final List<String> REGEXES = Arrays.asList(
+            "io\\.nuun\\.kernel\\.core\\.Bean[0-9]",
+            "io\\.nuun\\..*",
+            ".*Service",
+            ".*Service.*",
+            "org\\.acme\\.My.*|io\\.nuun.*Plugin",
+            "^org\\.acme\\..*",
+            "orgx?\\.acme\\.internal\\..*",
+            "(?i)ORG\\.ACME\\..*",
+            "\\Qorg.acme.\\E.*",
+            "a",
+            "a*",
+            "io.nuun.kernel.api.Plugin");
+
+    @Test
+    public void literal_prefixes_should_stop_at_the_first_meta_character()
+    {
+        assertThat(MultiRegexMatcher.literalPrefix("io\\.nuun\\..*")).isEqualTo("io.nuun.");
+        assertThat(MultiRegexMatcher.literalPrefix("^org\\.acme\\..*")).isEqualTo("org.acme.");
+        assertThat(MultiRegexMatcher.literalPrefix("orgx?\\.acme")).isEqualTo("org");
+        assertThat(MultiRegexMatcher.literalPrefix("ab{2}")).isEqualTo("a");
+        assertThat(MultiRegexMatcher.literalPrefix(".*Service")).isEmpty();
+        assertThat(MultiRegexMatcher.literalPrefix("org\\.acme|io\\.nuun")).isEmpty();
+        assertThat(MultiRegexMatcher.literalPrefix("(?i)org")).isEmpty();
+        assertThat(MultiRegexMatcher.literalPrefix("\\Qorg\\E")).isEmpty();
+        assertThat(MultiRegexMatcher.literalPrefix("io.nuun")).isEqualTo("io");
+    }
+
+    @Test
+    public void matches_should_be_the_same_as_string_matches()
+    {
+        Map<String, Set<String>> matches = new MultiRegexMatcher(REGEXES).match(NAMES);
+
+        assertThat(matches.keySet()).isEqualTo(new HashSet<>(REGEXES));
+        for (String regex : REGEXES)
+        {
+            Set<String> expected = new HashSet<>();
+            for (String name : NAMES)
+            {
+                if (name.matches(regex))
+                {
+                    expected.add(name);
+                }
+            }
+            assertThat(matches.get(regex)).as(regex).isEqualTo(expected);
+        }
+    }
+}
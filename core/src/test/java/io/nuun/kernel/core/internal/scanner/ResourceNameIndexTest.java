@@ -0,0 +1,90 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceNameIndexTest
+{
+    private static final List<String> NAMES = Arrays.asList(
+            "nuun-one.properties",
+            "nuun-two.properties",
+            "nuun.properties",
+            "tst-one.properties",
+            "application.yaml",
+            "logback.xml",
+            "nuun-logback.xml",
+            "a.properties.bak",
+            ".properties",
+            "");
+
+    private static final List<String> REGEXES = Arrays.asList(
+            ".*\\.properties",
+            "nuun-.*\\.properties",
+            "nuun.*",
+            "^nuun-.*\\.xml$",
+            "\\Qnuun-\\E.*",
+            "logback.xml",
+            "logback\\.xml",
+            "unknown",
+            ".*",
+            ".*one.*",
+            "(?i)NUUN.*",
+            "[a-z]+\\.xml",
+            "nuun-.*?\\.properties",
+            "tst-\\w+\\.properties");
+
+    private final ResourceNameIndex underTest = new ResourceNameIndex(NAMES);
+
+    @Test
+    public void literal_regexes_should_be_parsed_as_prefix_and_suffix()
+    {
+        ResourceNameIndex.Query query = ResourceNameIndex.Query.parse("^nuun-.*\\.properties$");
+        assertThat(query.prefix).isEqualTo("nuun-");
+        assertThat(query.wildcard).isTrue();
+        assertThat(query.suffix).isEqualTo(".properties");
+
+        assertThat(ResourceNameIndex.Query.parse("\\Qa.b\\E").prefix).isEqualTo("a.b");
+        assertThat(ResourceNameIndex.Query.parse("logback.xml")).isNull();
+        assertThat(ResourceNameIndex.Query.parse(".*a.*")).isNull();
+        assertThat(ResourceNameIndex.Query.parse("a\\d")).isNull();
+    }
+
+    @Test
+    public void index_should_match_as_the_regexes()
+    {
+        for (String regex : REGEXES)
+        {
+            Set<String> expected = new HashSet<>();
+            for (String name : NAMES)
+            {
+                if (name.matches(regex))
+                {
+                    expected.add(name);
+                }
+            }
+            assertThat(underTest.match(regex)).as(regex).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TypeHierarchyTest
+{
+    private final TypeHierarchy underTest = new TypeHierarchy(subTypes(
+            "Root", "Middle",
+            "Middle", "Leaf1",
+            "Middle", "Leaf2",
+            "Other", "Leaf2",
+            "Leaf2", "Leaf3"));
+
+    @Test
+    public void hierarchy_should_give_dense_ids_to_each_type()
+    {
+        assertThat(underTest.size()).isEqualTo(6);
+    }
+
+    @Test
+    public void hierarchy_should_give_the_transitive_sub_types()
+    {
+        assertThat(underTest.descendantsOf("Root")).isEqualTo(new HashSet<>(Arrays.asList("Middle", "Leaf1", "Leaf2", "Leaf3")));
+        assertThat(underTest.descendantsOf("Other")).isEqualTo(new HashSet<>(Arrays.asList("Leaf2", "Leaf3")));
+        assertThat(underTest.descendantsOf("Leaf1")).isEmpty();
+        assertThat(underTest.descendantsOf("Unknown")).isEmpty();
+    }
+
+    @Test
+    public void hierarchy_should_merge_the_sub_types_of_several_types()
+    {
+        assertThat(underTest.descendantsOf(Arrays.asList("Other", "Middle", "Unknown")))
+                .isEqualTo(new HashSet<>(Arrays.asList("Leaf1", "Leaf2", "Leaf3")));
+        // the cached closures are not modified by the merge
+        assertThat(underTest.descendantsOf("Other")).isEqualTo(new HashSet<>(Arrays.asList("Leaf2", "Leaf3")));
+    }
+
+    @Test
+    public void hierarchy_should_give_the_transitive_super_types()
+    {
+        assertThat(underTest.ancestorsOf("Leaf3")).isEqualTo(new HashSet<>(Arrays.asList("Leaf2", "Middle", "Other", "Root")));
+        assertThat(underTest.ancestorsOf("Leaf1")).isEqualTo(new HashSet<>(Arrays.asList("Middle", "Root")));
+        assertThat(underTest.ancestorsOf("Root")).isEmpty();
+    }
+
+    @Test
+    public void hierarchy_should_follow_the_diamonds_once()
+    {
+        Multimap<String, String> subTypes = subTypes("A", "B", "B", "C", "C", "D", "A", "D");
+        TypeHierarchy typeHierarchy = new TypeHierarchy(subTypes);
+
+        assertThat(typeHierarchy.descendantsOf("A")).isEqualTo(new HashSet<>(Arrays.asList("B", "C", "D")));
+        assertThat(typeHierarchy.ancestorsOf("D")).isEqualTo(new HashSet<>(Arrays.asList("A", "B", "C")));
+    }
+
+    private static Multimap<String, String> subTypes(String... superAndSubTypes)
+    {
+        Multimap<String, String> subTypes = HashMultimap.create();
+        for (int i = 0; i < superAndSubTypes.length; i += 2)
+        {
+            subTypes.put(superAndSubTypes[i], superAndSubTypes[i + 1]);
+        }
+        return subTypes;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.bytecode;
+
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.core.internal.scanner.AbstractClasspathScanner;
+import io.nuun.kernel.core.internal.scanner.ClasspathScannerTestBase;
+import io.nuun.kernel.core.internal.scanner.ScannerOptions;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathScannerDisk;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.core.internal.scanner.sample.MyModule2;
+import io.nuun.kernel.core.internal.scanner.sample.ScanMarkerSample;
+import io.nuun.kernel.core.internal.scanner.sample.ScanMarkerSample2;
+import it.fixture.bytecode.MetaAnnotatedBean;
+import it.fixture.bytecode.MetaMarkerSample;
+import it.fixture.bytecode.StaticInitializers;
+import it.fixture.inherited.InheritedMetaAnnotatedChild;
+import it.fixture.inherited.InheritedMetaAnnotatedParent;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClasspathScannerBytecodeTest extends ClasspathScannerTestBase
+{
+    private static final String SAMPLE_PACKAGE = MyModule2.class.getPackage().getName();
+
+    @Override
+    protected AbstractClasspathScanner createUnderTest()
+    {
+        return new ClasspathScannerBytecode(new ClasspathStrategy(), null, "META-INF.properties", SAMPLE_PACKAGE);
+    }
+
+    @Test
+    public void classpathscanner_should_find_meta_annotated_types_without_initializing_them()
+    {
+        ClasspathScannerBytecode scanner = new ClasspathScannerBytecode(new ClasspathStrategy(), null,
+                SAMPLE_PACKAGE, MetaAnnotatedBean.class.getPackage().getName());
+
+        Collection<Class<?>> metaAnnotatedTypes = scanner.scanTypesMetaAnnotated(ScanMarkerSample.class);
+
+        assertThat(metaAnnotatedTypes).contains(MetaAnnotatedBean.class);
+        assertThat(metaAnnotatedTypes).doesNotContain(MetaMarkerSample.class);
+        assertThat(StaticInitializers.INITIALIZED_CLASSES).isEmpty();
+    }
+
+    @Test
+    public void classpathscanner_should_find_the_same_meta_annotated_types_than_the_disk_scanner()
+    {
+        ClasspathScannerDisk diskScanner = new ClasspathScannerDisk(new ClasspathStrategy(), null, "META-INF.properties", SAMPLE_PACKAGE);
+
+        assertThat(new HashSet<>(underTest.scanTypesMetaAnnotated(ScanMarkerSample.class)))
+                .isEqualTo(new HashSet<>(diskScanner.scanTypesMetaAnnotated(ScanMarkerSample.class)));
+        assertThat(new HashSet<>(underTest.scanTypesMetaAnnotated(ScanMarkerSample2.class)))
+                .isEqualTo(new HashSet<>(diskScanner.scanTypesMetaAnnotated(ScanMarkerSample2.class)));
+        assertThat(new HashSet<>(underTest.scanTypesMetaAnnotated(".*MarkerSample.*")))
+                .isEqualTo(new HashSet<>(diskScanner.scanTypesMetaAnnotated(".*MarkerSample.*")));
+        assertThat(new HashSet<>(underTest.scanSubTypesOf(Object.class)))
+                .isEqualTo(new HashSet<>(diskScanner.scanSubTypesOf(Object.class)));
+    }
+
+    @Test
+    public void classpathscanner_should_find_the_types_inheriting_a_meta_annotation_like_the_disk_scanner()
+    {
+        String inheritedPackage = InheritedMetaAnnotatedChild.class.getPackage().getName();
+        ClasspathScannerBytecode bytecodeScanner = new ClasspathScannerBytecode(new ClasspathStrategy(), null, SAMPLE_PACKAGE, inheritedPackage);
+        ClasspathScannerDisk diskScanner = new ClasspathScannerDisk(new ClasspathStrategy(), null, SAMPLE_PACKAGE, inheritedPackage);
+
+        Collection<Class<?>> metaAnnotatedTypes = bytecodeScanner.scanTypesMetaAnnotated(ScanMarkerSample.class);
+
+        assertThat(metaAnnotatedTypes).contains(InheritedMetaAnnotatedParent.class, InheritedMetaAnnotatedChild.class);
+        assertThat(new HashSet<>(metaAnnotatedTypes)).isEqualTo(new HashSet<>(diskScanner.scanTypesMetaAnnotated(ScanMarkerSample.class)));
+        assertThat(new HashSet<>(bytecodeScanner.scanTypesMetaAnnotated(".*MetaMarkerSample")))
+                .isEqualTo(new HashSet<>(diskScanner.scanTypesMetaAnnotated(".*MetaMarkerSample")));
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_results_when_scanning_concurrently()
+    {
+        ClasspathScannerBytecode concurrentScanner = new ClasspathScannerBytecode(new ClasspathStrategy(), null,
+                new ScannerOptions(new KernelOptions().set(KernelOptions.SCAN_THREADS, 4)), "META-INF.properties", SAMPLE_PACKAGE);
+
+        assertThat(new HashSet<>(concurrentScanner.scanSubTypesOf(Object.class)))
+                .isEqualTo(new HashSet<>(underTest.scanSubTypesOf(Object.class)));
+        assertThat(concurrentScanner.scanResources(".*\\.properties"))
+                .isEqualTo(underTest.scanResources(".*\\.properties"));
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import io.nuun.kernel.core.internal.scanner.TypeHierarchy;
+import org.junit.Test;
+import org.reflections.Reflections;
+import org.reflections.ReflectionsException;
+import org.reflections.Store;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompactStoreTest
+{
+    private final Store store = newStore();
+
+    private static Store newStore()
+    {
+        Store store = new Reflections()
+        {
+        }.getStore();
+        store.getOrCreate("SubTypesScanner").put("Root", "Middle");
+        store.getOrCreate("SubTypesScanner").put("Middle", "Leaf1");
+        store.getOrCreate("SubTypesScanner").put("Middle", "Leaf2");
+        store.getOrCreate("TypeAnnotationsScanner").put("Marker", "Leaf1");
+        store.getOrCreate("TypeElementsScanner").put("Leaf1", "Leaf1");
+        store.getOrCreate("TypeElementsScanner").put("Leaf2", "Leaf2");
+        store.getOrCreate("ResourcesScanner");
+        return store;
+    }
+
+    @Test
+    public void compact_store_should_intern_each_name_once()
+    {
+        assertThat(new CompactStore(newStore(), false).symbolCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void compact_store_should_give_the_same_indexes_on_heap()
+    {
+        assertSameIndexes(new CompactStore(newStore(), false));
+    }
+
+    @Test
+    public void compact_store_should_give_the_same_indexes_off_heap()
+    {
+        assertSameIndexes(new CompactStore(newStore(), true));
+    }
+
+    @Test
+    public void compact_store_should_support_the_recursive_queries()
+    {
+        CompactStore compactStore = new CompactStore(newStore(), true);
+
+        assertThat(ImmutableSet.copyOf(compactStore.getAll("SubTypesScanner", "Root")))
+                .isEqualTo(ImmutableSet.of("Middle", "Leaf1", "Leaf2"));
+    }
+
+    @Test
+    public void compact_store_should_empty_the_copied_store()
+    {
+        Store source = newStore();
+        new CompactStore(source, false);
+
+        for (String index : source.keySet())
+        {
+            assertThat(source.get(index).isEmpty()).isTrue();
+        }
+    }
+
+    @Test
+    public void compact_multimap_should_be_inverted_from_the_ids()
+    {
+        CompactMultimap subTypes = (CompactMultimap) new CompactStore(newStore(), true).get("SubTypesScanner");
+
+        assertThat(subTypes.inverse()).isEqualTo(Multimaps.invertFrom(store.get("SubTypesScanner"), HashMultimap.<String, String>create()));
+    }
+
+    @Test
+    public void compact_multimap_should_give_the_type_hierarchy()
+    {
+        CompactMultimap subTypes = (CompactMultimap) new CompactStore(newStore(), false).get("SubTypesScanner");
+        TypeHierarchy typeHierarchy = subTypes.toTypeHierarchy();
+
+        assertThat(typeHierarchy.size()).isEqualTo(4);
+        assertThat(typeHierarchy.descendantsOf("Root")).isEqualTo(new HashSet<>(Arrays.asList("Middle", "Leaf1", "Leaf2")));
+        assertThat(typeHierarchy.ancestorsOf("Leaf2")).isEqualTo(new HashSet<>(Arrays.asList("Middle", "Root")));
+        assertThat(typeHierarchy.superTypesOf("Middle")).containsOnly("Root");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void compact_store_should_be_read_only()
+    {
+        new CompactStore(newStore(), false).get("SubTypesScanner").put("Root", "Other");
+    }
+
+    @Test(expected = ReflectionsException.class)
+    public void compact_store_should_fail_on_unknown_index()
+    {
+        new CompactStore(newStore(), false).get("MethodAnnotationsScanner");
+    }
+
+    private void assertSameIndexes(CompactStore compactStore)
+    {
+        assertThat(compactStore.keySet()).isEqualTo(store.keySet());
+        for (String index : store.keySet())
+        {
+            Multimap<String, String> expected = store.get(index);
+            Multimap<String, String> multimap = compactStore.get(index);
+            assertThat(multimap).isEqualTo(expected);
+            assertThat(multimap.size()).isEqualTo(expected.size());
+            assertThat(multimap.keySet()).isEqualTo(expected.keySet());
+            assertThat(new HashSet<>(multimap.entries())).isEqualTo(new HashSet<>(expected.entries()));
+            assertThat(multimap.keys()).isEqualTo(expected.keys());
+            assertThat(new HashSet<>(multimap.values())).isEqualTo(new HashSet<>(expected.values()));
+        }
+        Multimap<String, String> subTypes = compactStore.get("SubTypesScanner");
+        assertThat(subTypes.get("Middle")).isEqualTo(new HashSet<>(Arrays.asList("Leaf1", "Leaf2")));
+        assertThat(subTypes.get("Unknown")).isEmpty();
+        assertThat(subTypes.containsKey("Leaf1")).isFalse();
+        assertThat(subTypes.containsValue("Leaf1")).isTrue();
+        assertThat(subTypes.containsEntry("Root", "Middle")).isTrue();
+        assertThat(Multimaps.invertFrom(subTypes, HashMultimap.<String, String>create()).get("Leaf2")).containsOnly("Middle");
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JarPrunerTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final JarPruner underTest = new JarPruner(Arrays.asList("org.acme", "io.nuun.kernel.core"));
+
+    @Test
+    public void pruner_should_keep_the_jars_with_entries_under_the_roots() throws IOException
+    {
+        assertThat(underTest.mayContainPackageRoots(jar(null, "org/acme/app/Service.class"))).isTrue();
+        assertThat(underTest.mayContainPackageRoots(jar(null, "io/nuun/kernel/core/Kernel.class"))).isTrue();
+    }
+
+    @Test
+    public void pruner_should_drop_the_jars_without_entries_under_the_roots() throws IOException
+    {
+        assertThat(underTest.mayContainPackageRoots(jar(null, "com/google/Foo.class", "io/nuun/kernel/api/Plugin.class"))).isFalse();
+    }
+
+    @Test
+    public void pruner_should_read_the_packages_from_the_index_list() throws IOException
+    {
+        URL indexed = jar(null, "META-INF/INDEX.LIST", "JarIndex-Version: 1.0\n\nlib.jar\norg/acme/app\n\nother.jar\ncom/google\n",
+                "org/acme/app/Service.class");
+        URL otherIndexed = jar(null, "META-INF/INDEX.LIST", "JarIndex-Version: 1.0\n\nlib.jar\ncom/google\n",
+                "org/acme/app/Service.class");
+
+        assertThat(underTest.mayContainPackageRoots(indexed)).isTrue();
+        // the index is trusted over the entries
+        assertThat(underTest.mayContainPackageRoots(otherIndexed)).isFalse();
+    }
+
+    @Test
+    public void pruner_should_read_the_packages_from_the_manifest() throws IOException
+    {
+        assertThat(underTest.mayContainPackageRoots(jar("com.google, io.nuun.kernel", "io/nuun/kernel/Kernel.class"))).isTrue();
+        assertThat(underTest.mayContainPackageRoots(jar("com.google", "org/acme/app/Service.class"))).isFalse();
+    }
+
+    @Test
+    public void pruner_should_list_the_entries_for_the_meta_inf_roots() throws IOException
+    {
+        JarPruner pruner = new JarPruner(Collections.singletonList("META-INF.properties"));
+
+        assertThat(pruner.mayContainPackageRoots(jar("com.google", "META-INF/properties/tst.properties"))).isTrue();
+        assertThat(pruner.mayContainPackageRoots(jar("com.google", "com/google/Foo.class"))).isFalse();
+    }
+
+    @Test
+    public void pruner_should_keep_what_is_not_a_jar() throws IOException
+    {
+        assertThat(underTest.mayContainPackageRoots(temporaryFolder.newFolder().toURI().toURL())).isTrue();
+        assertThat(underTest.mayContainPackageRoots(temporaryFolder.newFile("broken.jar").toURI().toURL())).isTrue();
+        assertThat(underTest.mayContainPackageRoots(new URL("http://localhost/lib.jar"))).isTrue();
+    }
+
+    private URL jar(String packagesAttribute, String... entries) throws IOException
+    {
+        File file = new File(temporaryFolder.newFolder(), "lib.jar");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (packagesAttribute != null)
+        {
+            manifest.getMainAttributes().put(new Attributes.Name(JarPruner.PACKAGES_ATTRIBUTE), packagesAttribute);
+        }
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file), manifest))
+        {
+            for (int i = 0; i < entries.length; i++)
+            {
+                jarOutputStream.putNextEntry(new JarEntry(entries[i]));
+                if (entries[i].equals("META-INF/INDEX.LIST"))
+                {
+                    jarOutputStream.write(entries[++i].getBytes(StandardCharsets.UTF_8));
+                }
+                jarOutputStream.closeEntry();
+            }
+        }
+        return file.toURI().toURL();
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.disk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reflections.vfs.Vfs;
+
+import javax.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedJarUrlTypeTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MappedJarUrlType underTest = new MappedJarUrlType();
+
+    @Test
+    public void mapped_jar_should_read_stored_and_deflated_entries() throws Exception
+    {
+        File jar = temporaryFolder.newFile("sample.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar)))
+        {
+            zip.putNextEntry(new ZipEntry("META-INF/"));
+            zip.closeEntry();
+            putEntry(zip, "META-INF/stored.txt", "stored content", ZipEntry.STORED);
+            putEntry(zip, "org/sample/deflated.txt", repeat("deflated content ", 100), ZipEntry.DEFLATED);
+        }
+
+        Map<String, String> files = read(underTest.createDir(jar.toURI().toURL()));
+
+        assertThat(files).hasSize(2);
+        assertThat(files.get("META-INF/stored.txt")).isEqualTo("stored content");
+        assertThat(files.get("org/sample/deflated.txt")).isEqualTo(repeat("deflated content ", 100));
+    }
+
+    @Test
+    public void mapped_jar_should_read_the_same_files_than_the_zip_file_type() throws Exception
+    {
+        URL jar = Inject.class.getProtectionDomain().getCodeSource().getLocation();
+        assertThat(underTest.matches(jar)).isTrue();
+
+        MappedJarUrlType.Prefetch prefetch = underTest.prefetch(Arrays.asList(jar, jar));
+        try
+        {
+            assertThat(read(underTest.createDir(jar))).isEqualTo(read(Vfs.DefaultUrlTypes.jarFile.createDir(jar)));
+        } finally
+        {
+            prefetch.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void mapped_jar_should_not_be_read_once_closed() throws Exception
+    {
+        File jar = temporaryFolder.newFile("closed.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar)))
+        {
+            putEntry(zip, "file.txt", "content", ZipEntry.DEFLATED);
+        }
+        Vfs.Dir dir = underTest.createDir(jar.toURI().toURL());
+        Vfs.File file = dir.getFiles().iterator().next();
+
+        dir.close();
+
+        file.openInputStream();
+    }
+
+    @Test
+    public void mapped_jar_should_fall_back_to_the_zip_file_type() throws Exception
+    {
+        File jar = temporaryFolder.newFile("empty.jar");
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(jar)))
+        {
+            zip.setComment("not mapped");
+            putEntry(zip, "file.txt", "content", ZipEntry.DEFLATED);
+        }
+        // corrupt the end of central directory entry count to make it look like a zip64 archive
+        byte[] bytes = Files.readAllBytes(jar.toPath());
+        int end = bytes.length - 22 - "not mapped".length();
+        bytes[end + 10] = (byte) 0xFF;
+        bytes[end + 11] = (byte) 0xFF;
+        Files.write(jar.toPath(), bytes);
+
+        Vfs.Dir dir = underTest.createDir(jar.toURI().toURL());
+
+        assertThat(dir.getClass().getSimpleName()).isEqualTo("ZipDir");
+    }
+
+    private void putEntry(ZipOutputStream zip, String name, String content, int method) throws IOException
+    {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED)
+        {
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    private Map<String, String> read(Vfs.Dir dir) throws IOException
+    {
+        Map<String, String> files = new HashMap<>();
+        try
+        {
+            for (Vfs.File file : dir.getFiles())
+            {
+                assertThat(file.getRelativePath()).endsWith(file.getName());
+                try (InputStream inputStream = file.openInputStream())
+                {
+                    ByteArrayOutputStream content = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[1024];
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1)
+                    {
+                        content.write(buffer, 0, read);
+                    }
+                    files.put(file.getRelativePath(), new String(content.toByteArray(), StandardCharsets.ISO_8859_1));
+                }
+            }
+        } finally
+        {
+            dir.close();
+        }
+        return files;
+    }
+
+    private String repeat(String value, int count)
+    {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < count; i++)
+        {
+            stringBuilder.append(value);
+        }
+        return stringBuilder.toString();
+    }
+}
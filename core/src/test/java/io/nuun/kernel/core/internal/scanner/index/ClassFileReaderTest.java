@@ -0,0 +1,80 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import com.google.inject.AbstractModule;
+import io.nuun.kernel.api.annotations.KernelModule;
+import io.nuun.kernel.core.internal.scanner.sample.DummyMethod;
+import io.nuun.kernel.core.internal.scanner.sample.MyModule4;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.ClassFileReader;
+import org.junit.Test;
+
+import javax.inject.Scope;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.reflect.Modifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassFileReaderTest
+{
+    @Test
+    public void reader_should_read_the_class_header()
+    {
+        ClassEntry classEntry = read(MyModule4.class);
+
+        assertThat(classEntry.getName()).isEqualTo(MyModule4.class.getName());
+        assertThat(classEntry.getSuperclassName()).isEqualTo(AbstractModule.class.getName());
+        assertThat(classEntry.getInterfaceNames()).isEmpty();
+        assertThat(classEntry.getAnnotationNames()).containsOnly(KernelModule.class.getName());
+        assertThat(classEntry.getModifiers()).isEqualTo(MyModule4.class.getModifiers());
+    }
+
+    @Test
+    public void reader_should_read_the_annotations_with_values()
+    {
+        ClassEntry classEntry = read(DummyMethod.class);
+
+        assertThat(classEntry.getInterfaceNames()).containsOnly(Annotation.class.getName());
+        assertThat(classEntry.getAnnotationNames()).containsOnly(Scope.class.getName(), Documented.class.getName(),
+                Retention.class.getName(), Target.class.getName());
+        assertThat(Modifier.isInterface(classEntry.getModifiers())).isTrue();
+    }
+
+    @Test(expected = IOException.class)
+    public void reader_should_reject_an_invalid_class_file() throws IOException
+    {
+        ClassFileReader.read("Invalid.class", new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0});
+    }
+
+    private ClassEntry read(Class<?> aClass)
+    {
+        String path = aClass.getName().replace('.', '/') + ".class";
+        try (InputStream inputStream = aClass.getClassLoader().getResourceAsStream(path))
+        {
+            return ClassFileReader.read(path, inputStream);
+        } catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentIndexCacheTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger indexations = new AtomicInteger();
+    private final Function<URL, UrlIndex> indexer = url -> {
+        indexations.incrementAndGet();
+        return new UrlIndexer().index(url);
+    };
+
+    @Test
+    public void cache_should_load_the_index_of_an_unmodified_entry_after_a_restart() throws IOException
+    {
+        URL url = directoryWith("a.properties", "b.properties").toURI().toURL();
+        Path cacheDirectory = temporaryFolder.getRoot().toPath().resolve("cache");
+
+        UrlIndex first = new PersistentIndexCache(cacheDirectory, false).get(url, indexer);
+        UrlIndex second = new PersistentIndexCache(cacheDirectory, false).get(url, indexer);
+
+        assertThat(indexations.get()).isEqualTo(1);
+        assertThat(second.getResources()).isEqualTo(first.getResources()).containsOnly("a.properties", "b.properties");
+        assertThat(second.isResourcesIndexed()).isTrue();
+    }
+
+    @Test
+    public void cache_should_index_a_modified_entry_again() throws IOException
+    {
+        File directory = directoryWith("a.properties");
+        PersistentIndexCache indexCache = new PersistentIndexCache(temporaryFolder.newFolder().toPath(), false);
+        indexCache.get(directory.toURI().toURL(), indexer);
+
+        Files.write(new File(directory, "c.properties").toPath(), Collections.singletonList("key=value"));
+        UrlIndex urlIndex = indexCache.get(directory.toURI().toURL(), indexer);
+
+        assertThat(indexations.get()).isEqualTo(2);
+        assertThat(urlIndex.getResources()).containsOnly("a.properties", "c.properties");
+    }
+
+    @Test
+    public void cache_should_detect_a_modification_keeping_the_time_and_the_size_with_the_content_hash() throws IOException
+    {
+        File directory = directoryWith("a.properties");
+        Path file = new File(directory, "a.properties").toPath();
+        long lastModified = file.toFile().lastModified();
+        PersistentIndexCache indexCache = new PersistentIndexCache(temporaryFolder.newFolder().toPath(), true);
+        indexCache.get(directory.toURI().toURL(), indexer);
+
+        Files.write(file, Collections.singletonList("key=other"));
+        assertThat(file.toFile().setLastModified(lastModified)).isTrue();
+        indexCache.get(directory.toURI().toURL(), indexer);
+
+        assertThat(indexations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cache_should_index_again_when_the_cache_file_is_corrupted() throws IOException
+    {
+        URL url = directoryWith("a.properties").toURI().toURL();
+        Path cacheDirectory = temporaryFolder.newFolder().toPath();
+        PersistentIndexCache indexCache = new PersistentIndexCache(cacheDirectory, false);
+        indexCache.get(url, indexer);
+
+        Files.write(cacheDirectory.resolve(PersistentIndexCache.fileName(url.toExternalForm())), new byte[] {1, 2, 3});
+        UrlIndex urlIndex = indexCache.get(url, indexer);
+
+        assertThat(indexations.get()).isEqualTo(2);
+        assertThat(urlIndex.getResources()).containsOnly("a.properties");
+        assertThat(indexCache.get(url, indexer).getResources()).containsOnly("a.properties");
+        assertThat(indexations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cache_should_not_persist_what_is_not_on_the_file_system() throws IOException
+    {
+        Path cacheDirectory = temporaryFolder.getRoot().toPath().resolve("cache");
+        PersistentIndexCache indexCache = new PersistentIndexCache(cacheDirectory, false);
+
+        indexCache.get(new URL("http://localhost/lib.jar"), url -> new UrlIndex(Collections.<ClassEntry>emptyList(), Collections.<String>emptyList()));
+
+        assertThat(cacheDirectory.toFile()).doesNotExist();
+    }
+
+    private File directoryWith(String... resources) throws IOException
+    {
+        File directory = temporaryFolder.newFolder();
+        for (String resource : resources)
+        {
+            Files.write(new File(directory, resource).toPath(), Collections.singletonList("key=value"));
+        }
+        return directory;
+    }
+}
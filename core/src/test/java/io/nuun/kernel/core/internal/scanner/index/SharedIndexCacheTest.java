@@ -0,0 +1,99 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedIndexCacheTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger indexations = new AtomicInteger();
+    private final Function<URL, UrlIndex> indexer = url -> {
+        indexations.incrementAndGet();
+        return new UrlIndexer().index(url);
+    };
+
+    @Test
+    public void cache_should_reuse_the_index_of_an_unmodified_directory() throws IOException
+    {
+        File directory = directoryWith("a.properties", "b.properties");
+        SharedIndexCache indexCache = new SharedIndexCache(100);
+
+        UrlIndex first = indexCache.get(directory.toURI().toURL(), indexer);
+        UrlIndex second = indexCache.get(directory.toURI().toURL(), indexer);
+
+        assertThat(second).isSameAs(first);
+        assertThat(indexations.get()).isEqualTo(1);
+        assertThat(first.getResources()).containsOnly("a.properties", "b.properties");
+    }
+
+    @Test
+    public void cache_should_index_a_modified_directory_again() throws IOException
+    {
+        File directory = directoryWith("a.properties");
+        SharedIndexCache indexCache = new SharedIndexCache(100);
+        indexCache.get(directory.toURI().toURL(), indexer);
+
+        Files.write(new File(directory, "c.properties").toPath(), Collections.singletonList("key=value"));
+        UrlIndex urlIndex = indexCache.get(directory.toURI().toURL(), indexer);
+
+        assertThat(indexations.get()).isEqualTo(2);
+        assertThat(urlIndex.getResources()).containsOnly("a.properties", "c.properties");
+    }
+
+    @Test
+    public void cache_should_evict_the_least_recently_used_indexes() throws IOException
+    {
+        URL first = directoryWith("a.properties", "b.properties").toURI().toURL();
+        URL second = directoryWith("c.properties", "d.properties").toURI().toURL();
+        SharedIndexCache indexCache = new SharedIndexCache(3);
+
+        indexCache.get(first, indexer);
+        indexCache.get(second, indexer);
+
+        assertThat(indexCache.size()).isEqualTo(1);
+        indexCache.get(second, indexer);
+        assertThat(indexations.get()).isEqualTo(2);
+        indexCache.get(first, indexer);
+        assertThat(indexations.get()).isEqualTo(3);
+    }
+
+    private File directoryWith(String... resources) throws IOException
+    {
+        File directory = temporaryFolder.newFolder();
+        for (String resource : resources)
+        {
+            Files.write(new File(directory, resource).toPath(), Collections.singletonList("key=value"));
+        }
+        return directory;
+    }
+}
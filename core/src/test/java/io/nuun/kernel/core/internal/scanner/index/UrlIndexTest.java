@@ -0,0 +1,106 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.core.internal.scanner.sample.MyModule1;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.junit.Before;
+import org.junit.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.scanners.TypeElementsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UrlIndexTest
+{
+    private static final String SAMPLE_PACKAGE = MyModule1.class.getPackage().getName();
+
+    private URL testClasses;
+
+    @Before
+    public void before()
+    {
+        testClasses = ClasspathHelper.forClass(MyModule1.class);
+    }
+
+    @Test
+    public void url_index_should_survive_a_write_read_round_trip() throws IOException
+    {
+        UrlIndex urlIndex = new UrlIndexer().index(testClasses);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        urlIndex.writeTo(outputStream);
+
+        UrlIndex readIndex = UrlIndex.readFrom(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertThat(readIndex.getResources()).isEqualTo(urlIndex.getResources());
+        assertThat(readIndex.getClasses()).hasSize(urlIndex.getClasses().size());
+        for (int i = 0; i < urlIndex.getClasses().size(); i++)
+        {
+            ClassEntry expected = urlIndex.getClasses().get(i);
+            ClassEntry actual = readIndex.getClasses().get(i);
+            assertThat(actual.getPath()).isEqualTo(expected.getPath());
+            assertThat(actual.getName()).isEqualTo(expected.getName());
+            assertThat(actual.getSuperclassName()).isEqualTo(expected.getSuperclassName());
+            assertThat(actual.getInterfaceNames()).isEqualTo(expected.getInterfaceNames());
+            assertThat(actual.getAnnotationNames()).isEqualTo(expected.getAnnotationNames());
+            assertThat(actual.getModifiers()).isEqualTo(expected.getModifiers());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void url_index_should_reject_an_unknown_format() throws IOException
+    {
+        UrlIndex.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test
+    public void url_index_should_feed_the_store_like_a_reflections_scan()
+    {
+        ConfigurationBuilder configuration = new ConfigurationBuilder()
+                .filterInputsBy(new FilterBuilder().include(FilterBuilder.prefix(SAMPLE_PACKAGE)))
+                .addUrls(testClasses)
+                .setScanners(new TypeElementsScanner().includeFields(false).includeMethods(false).includeAnnotations(false),
+                        new SubTypesScanner(), new TypeAnnotationsScanner(), new ResourcesScanner());
+        Reflections scanned = new Reflections(configuration);
+        Reflections indexed = new Reflections()
+        {
+        };
+
+        UrlIndexes.feed(new UrlIndexer().index(testClasses), indexed.getStore(), configuration.getInputsFilter());
+
+        for (String index : new String[]{"TypeElementsScanner", "SubTypesScanner", "TypeAnnotationsScanner", "ResourcesScanner"})
+        {
+            assertThat(new HashSet<>(indexed.getStore().get(index).entries()))
+                    .as(index)
+                    .isEqualTo(new HashSet<>(scanned.getStore().get(index).entries()));
+        }
+        assertThat(indexed.getStore().get("TypeElementsScanner").keySet()).contains(MyModule1.class.getName());
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.scanner.index;
+
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WatchedDirectoryIndexesTest
+{
+    private static final String CLASS_PATH = "io/nuun/kernel/core/internal/scanner/index/WatchedDirectoryIndexesTest.class";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final WatchedDirectoryIndexes underTest = new WatchedDirectoryIndexes();
+
+    @After
+    public void tearDown()
+    {
+        underTest.clear();
+    }
+
+    @Test
+    public void watched_directories_should_ignore_the_urls_which_are_not_directories() throws IOException
+    {
+        File file = temporaryFolder.newFile("a.jar");
+
+        assertThat(underTest.get(file.toURI().toURL())).isNull();
+        assertThat(underTest.get(new URL("http://localhost/classes/"))).isNull();
+    }
+
+    @Test
+    public void watched_directories_should_index_a_directory_the_first_time() throws IOException
+    {
+        File directory = temporaryFolder.newFolder();
+        write(directory, "a.properties");
+        copyClass(directory);
+
+        UrlIndex urlIndex = underTest.get(directory.toURI().toURL());
+
+        assertThat(urlIndex.getResources()).containsOnly("a.properties");
+        assertThat(urlIndex.getClasses()).hasSize(1);
+        assertThat(urlIndex.getClasses().get(0).getName()).isEqualTo(WatchedDirectoryIndexesTest.class.getName());
+    }
+
+    @Test
+    public void watched_directories_should_apply_the_changes_of_the_directory() throws Exception
+    {
+        File directory = temporaryFolder.newFolder();
+        write(directory, "a.properties");
+        write(directory, "b.properties");
+        URL url = directory.toURI().toURL();
+        underTest.get(url);
+
+        write(directory, "c.properties");
+        Files.delete(new File(directory, "b.properties").toPath());
+        File subDirectory = new File(directory, "sub");
+        assertThat(subDirectory.mkdir()).isTrue();
+        write(subDirectory, "d.properties");
+        copyClass(directory);
+
+        UrlIndex urlIndex = awaitIndex(url, index -> resources(index).contains("sub/d.properties") && index.getClasses().size() == 1
+                && !resources(index).contains("b.properties") && resources(index).contains("c.properties"));
+
+        assertThat(resources(urlIndex)).containsOnly("a.properties", "c.properties", "sub/d.properties");
+        assertThat(urlIndex.getClasses().get(0).getName()).isEqualTo(WatchedDirectoryIndexesTest.class.getName());
+    }
+
+    @Test
+    public void watched_directories_should_forget_a_deleted_sub_directory() throws Exception
+    {
+        File directory = temporaryFolder.newFolder();
+        File subDirectory = new File(directory, "sub");
+        assertThat(subDirectory.mkdir()).isTrue();
+        write(directory, "a.properties");
+        write(subDirectory, "b.properties");
+        URL url = directory.toURI().toURL();
+        assertThat(underTest.get(url).getResources()).containsOnly("a.properties", "sub/b.properties");
+
+        Files.delete(new File(subDirectory, "b.properties").toPath());
+        Files.delete(subDirectory.toPath());
+
+        UrlIndex urlIndex = awaitIndex(url, index -> !resources(index).contains("sub/b.properties"));
+
+        assertThat(resources(urlIndex)).containsOnly("a.properties");
+    }
+
+    private UrlIndex awaitIndex(URL url, Predicate<UrlIndex> expectation) throws InterruptedException
+    {
+        // the watch events are delivered asynchronously by the file system
+        UrlIndex urlIndex = underTest.get(url);
+        for (int i = 0; i < 100 && !expectation.test(urlIndex); i++)
+        {
+            Thread.sleep(100);
+            urlIndex = underTest.get(url);
+        }
+        return urlIndex;
+    }
+
+    private Set<String> resources(UrlIndex urlIndex)
+    {
+        return new HashSet<>(urlIndex.getResources());
+    }
+
+    private void write(File directory, String resource) throws IOException
+    {
+        Files.write(new File(directory, resource).toPath(), Collections.singletonList("key=value"));
+    }
+
+    private void copyClass(File directory) throws IOException
+    {
+        File classFile = new File(directory, CLASS_PATH);
+        assertThat(classFile.getParentFile().mkdirs()).isTrue();
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(CLASS_PATH))
+        {
+            Files.copy(inputStream, classFile.toPath());
+        }
+    }
+}
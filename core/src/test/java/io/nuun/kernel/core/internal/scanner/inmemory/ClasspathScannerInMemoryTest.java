@@ -48,6 +48,9 @@ public class ClasspathScannerInMemoryTest extends ClasspathScannerTestBase
                         .add(new ClasspathClass(Bean2.class))
                         .add(new ClasspathClass(Bean3.class))
                         .add(new ClasspathClass(Bean6.class))
+                        .add(new ClasspathClass(HierarchyRoot.class))
+                        .add(new ClasspathClass(HierarchyMiddle.class))
+                        .add(new ClasspathClass(HierarchyLeaf.class))
                 )
                 .add(ClasspathJar.create("modules.jar")
                         .add(new ClasspathClass(MyModule1.class))
@@ -16,15 +16,52 @@
  */
 package io.nuun.kernel.core.internal.scanner.reflections;
 
+import io.nuun.kernel.api.annotations.KernelModule;
+import io.nuun.kernel.api.config.DependencyInjectionMode;
+import io.nuun.kernel.api.config.KernelOptions;
+import io.nuun.kernel.api.config.ScanStoreMode;
+import io.nuun.kernel.api.statistics.UrlStatistics;
 import io.nuun.kernel.core.internal.scanner.AbstractClasspathScanner;
 import io.nuun.kernel.core.internal.scanner.ClasspathScannerTestBase;
+import io.nuun.kernel.core.internal.scanner.ScannerOptions;
 import io.nuun.kernel.core.internal.scanner.disk.ClasspathScannerDisk;
 import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.core.internal.scanner.sample.MyModule1;
 import io.nuun.kernel.core.internal.scanner.sample.MyModule2;
+import io.nuun.kernel.core.internal.scanner.sample.MyModule4;
+import it.fixture.scan.ClassToScan1;
+import it.fixture.scan.ClassToScan2;
+import it.fixture.scan.ToScan;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reflections.scanners.ResourcesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static io.nuun.kernel.api.config.KernelOptions.DEPENDENCY_INJECTION_MODE;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_CACHE_DIRECTORY;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_SHARED_INDEX_CACHE;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_STORE_MODE;
+import static io.nuun.kernel.api.config.KernelOptions.SCAN_THREADS;
+import static org.assertj.core.api.Assertions.assertThat;
 
 
 public class ClasspathScannerReflectionsTest extends ClasspathScannerTestBase
 {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Override
     protected AbstractClasspathScanner createUnderTest()
@@ -32,4 +69,154 @@ public class ClasspathScannerReflectionsTest extends ClasspathScannerTestBase
     	return new ClasspathScannerDisk(new ClasspathStrategy(), true, null, "META-INF.properties", MyModule2.class.getPackage().getName());
     }
 
+    @Test
+    public void classpathscanner_should_extend_its_index_with_new_package_roots()
+    {
+        assertThat(underTest.scanTypesAnnotatedBy(ToScan.class)).isEmpty();
+
+        underTest.extend(Collections.emptySet(), Collections.singletonList(ToScan.class.getPackage().getName()));
+
+        assertThat(underTest.scanTypesAnnotatedBy(ToScan.class)).containsOnly(ClassToScan1.class, ClassToScan2.class);
+        assertThat(underTest.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_results_when_scanning_concurrently()
+    {
+        ClasspathScannerDisk concurrentScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null,
+                new ScannerOptions(new KernelOptions().set(SCAN_THREADS, 4)), "META-INF.properties", MyModule2.class.getPackage().getName());
+
+        assertThat(concurrentScanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+        assertThat(concurrentScanner.scanResources("tst-.*\\.properties"))
+                .isEqualTo(underTest.scanResources("tst-.*\\.properties"));
+        assertThat(new HashSet<>(concurrentScanner.scanSubTypesOf(Object.class)))
+                .isEqualTo(new HashSet<>(underTest.scanSubTypesOf(Object.class)));
+    }
+
+    @Test
+    public void classpathscanner_should_ignore_a_missing_jar_sequentially_and_concurrently() throws IOException
+    {
+        Set<URL> missingJar = Collections.singleton(new File(temporaryFolder.getRoot(), "missing.jar").toURI().toURL());
+
+        for (int scanThreads : new int[]{1, 4})
+        {
+            KernelOptions options = new KernelOptions().set(SCAN_THREADS, scanThreads);
+            ClasspathScannerDisk scanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, missingJar, new ScannerOptions(options),
+                    MyModule2.class.getPackage().getName());
+            ClasspathScannerDisk indexingScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, missingJar,
+                    new ScannerOptions(options.set(SCAN_SHARED_INDEX_CACHE, true)), MyModule2.class.getPackage().getName());
+
+            assertThat(scanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+            assertThat(indexingScanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+        }
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_results_from_the_shared_index_cache()
+    {
+        ScannerOptions options = new ScannerOptions(new KernelOptions().set(SCAN_SHARED_INDEX_CACHE, true));
+        ClasspathScannerDisk firstScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null, options,
+                "META-INF.properties", MyModule2.class.getPackage().getName());
+        ClasspathScannerDisk secondScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null, options,
+                ToScan.class.getPackage().getName());
+
+        assertThat(firstScanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+        assertThat(firstScanner.scanResources("tst-.*\\.properties"))
+                .isEqualTo(underTest.scanResources("tst-.*\\.properties"));
+        assertThat(new HashSet<>(firstScanner.scanSubTypesOf(Object.class)))
+                .isEqualTo(new HashSet<>(underTest.scanSubTypesOf(Object.class)));
+        assertThat(secondScanner.scanTypesAnnotatedBy(ToScan.class)).containsOnly(ClassToScan1.class, ClassToScan2.class);
+        assertThat(secondScanner.scanTypesAnnotatedBy(KernelModule.class)).isEmpty();
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_results_from_the_watched_directories()
+    {
+        ClasspathScannerDisk watchingScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null,
+                new ScannerOptions(new KernelOptions().set(DEPENDENCY_INJECTION_MODE, DependencyInjectionMode.DEVELOPMENT)),
+                "META-INF.properties", MyModule2.class.getPackage().getName());
+
+        assertThat(watchingScanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+        assertThat(watchingScanner.scanResources("tst-.*\\.properties"))
+                .isEqualTo(underTest.scanResources("tst-.*\\.properties"));
+        assertThat(new HashSet<>(watchingScanner.scanSubTypesOf(Object.class)))
+                .isEqualTo(new HashSet<>(underTest.scanSubTypesOf(Object.class)));
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_results_from_the_persistent_index_cache() throws IOException
+    {
+        KernelOptions options = new KernelOptions().set(SCAN_CACHE_DIRECTORY, temporaryFolder.newFolder().getPath());
+        ClasspathScannerDisk coldScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null, new ScannerOptions(options),
+                "META-INF.properties", MyModule2.class.getPackage().getName());
+        ClasspathScannerDisk warmScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null, new ScannerOptions(options),
+                "META-INF.properties", MyModule2.class.getPackage().getName());
+
+        for (ClasspathScannerDisk scanner : Arrays.asList(coldScanner, warmScanner))
+        {
+            assertThat(scanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+            assertThat(scanner.scanResources("tst-.*\\.properties"))
+                    .isEqualTo(underTest.scanResources("tst-.*\\.properties"));
+            assertThat(new HashSet<>(scanner.scanSubTypesOf(Object.class)))
+                    .isEqualTo(new HashSet<>(underTest.scanSubTypesOf(Object.class)));
+        }
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_results_from_the_compact_store()
+    {
+        ClasspathScannerDisk compactScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null,
+                new ScannerOptions(new KernelOptions().set(SCAN_STORE_MODE, ScanStoreMode.COMPACT_OFF_HEAP)), "META-INF.properties", MyModule2.class.getPackage().getName());
+
+        assertThat(compactScanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+        assertThat(compactScanner.scanResources("tst-.*\\.properties"))
+                .isEqualTo(underTest.scanResources("tst-.*\\.properties"));
+        assertThat(new HashSet<>(compactScanner.scanSubTypesOf(Object.class)))
+                .isEqualTo(new HashSet<>(underTest.scanSubTypesOf(Object.class)));
+
+        compactScanner.extend(Collections.<URL>emptySet(), Collections.singletonList(ToScan.class.getPackage().getName()));
+
+        assertThat(compactScanner.scanTypesAnnotatedBy(ToScan.class)).containsOnly(ClassToScan1.class, ClassToScan2.class);
+        assertThat(compactScanner.scanTypesAnnotatedBy(KernelModule.class)).containsOnly(MyModule1.class, MyModule4.class);
+    }
+
+    @Test
+    public void classpathscanner_should_record_the_statistics_of_the_scanned_urls()
+    {
+        ClasspathScannerDisk indexingScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null,
+                new ScannerOptions(new KernelOptions().set(SCAN_SHARED_INDEX_CACHE, true)), ToScan.class.getPackage().getName());
+
+        for (AbstractClasspathScanner scanner : Arrays.asList(underTest, indexingScanner))
+        {
+            List<UrlStatistics> urlStatistics = scanner.getStatistics().urlStatistics();
+            assertThat(urlStatistics).isNotEmpty();
+            int classCount = 0;
+            for (UrlStatistics url : urlStatistics)
+            {
+                classCount += url.getClassCount();
+                assertThat(url.getParseNanos()).isPositive();
+            }
+            assertThat(classCount).isPositive();
+        }
+        assertThat(underTest.getStatistics().scannerNanos())
+                .containsKeys(TypeAnnotationsScanner.class.getSimpleName(), ResourcesScanner.class.getSimpleName());
+    }
+
+    @Test
+    public void classpathscanner_should_give_the_same_predicate_results_when_evaluating_concurrently()
+    {
+        ClasspathScannerDisk sequentialScanner = new ClasspathScannerDisk(new ClasspathStrategy(), null, "io.nuun.kernel");
+        ClasspathScannerDisk concurrentScanner = new ClasspathScannerDisk(new ClasspathStrategy(), true, null,
+                new ScannerOptions(new KernelOptions().set(SCAN_THREADS, 4)), "io.nuun.kernel");
+        Predicate<Class<?>> interfaces = Class::isInterface;
+        Predicate<Class<?>> tests = aClass -> aClass.getSimpleName().endsWith("Test");
+
+        Map<Predicate<Class<?>>, Collection<Class<?>>> expected = sequentialScanner.scanTypes(Arrays.asList(interfaces, tests));
+        Map<Predicate<Class<?>>, Collection<Class<?>>> results = concurrentScanner.scanTypes(Arrays.asList(interfaces, tests));
+
+        assertThat(results.get(interfaces)).isNotEmpty();
+        assertThat(new HashSet<>(results.get(interfaces))).isEqualTo(new HashSet<>(expected.get(interfaces)));
+        assertThat(new HashSet<>(results.get(tests))).isEqualTo(new HashSet<>(expected.get(tests)));
+    }
+
 }
@@ -0,0 +1,168 @@
+/**
+ * This file is part of Nuun IO Kernel Core.
+ *
+ * Nuun IO Kernel Core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.core.internal.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassResolverTest
+{
+    private static final String MISSING = "io.nuun.kernel.core.internal.utils.MissingClass";
+
+    @Test
+    public void resolver_should_load_the_classes_in_order_and_skip_the_missing_ones()
+    {
+        ClassResolver underTest = new ClassResolver(getClass().getClassLoader(), 1);
+
+        List<Class<?>> classes = underTest.resolveAll(Arrays.asList(String.class.getName(), MISSING, List.class.getName()));
+
+        assertThat(classes).containsExactly(String.class, List.class);
+        assertThat(underTest.missingCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void resolver_should_not_initialize_the_classes()
+    {
+        ClassResolver underTest = new ClassResolver(getClass().getClassLoader(), 1);
+
+        assertThat(underTest.resolve(NotInitialized.class.getName() + "$Holder")).isNotNull();
+        assertThat(NotInitialized.INITIALIZATIONS.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void resolver_should_not_try_the_missing_names_again()
+    {
+        CountingClassLoader classLoader = new CountingClassLoader(getClass().getClassLoader());
+        ClassResolver underTest = new ClassResolver(classLoader, 1);
+
+        assertThat(underTest.resolve(MISSING)).isNull();
+        assertThat(underTest.resolveAll(Arrays.asList(MISSING, MISSING))).isEmpty();
+        assertThat(underTest.resolve(MISSING)).isNull();
+
+        assertThat(classLoader.loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void resolver_should_still_load_a_class_which_failed_to_initialize()
+    {
+        ClassResolver underTest = new ClassResolver(getClass().getClassLoader(), 1);
+        String name = FailingInitialization.class.getName();
+
+        assertThat(underTest.resolve(name, true)).isNull();
+        assertThat(underTest.resolve(name, false)).isEqualTo(FailingInitialization.class);
+        assertThat(underTest.missingCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void resolver_should_give_the_same_classes_when_resolving_concurrently()
+    {
+        assertThat(ClassResolver.isParallelCapable(ClassLoader.getSystemClassLoader())).isTrue();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            names.add(String.class.getName());
+            names.add(MISSING + i);
+            names.add(Integer.class.getName());
+            names.add(ClassResolverTest.class.getName());
+        }
+
+        List<Class<?>> sequential = new ClassResolver(getClass().getClassLoader(), 1).resolveAll(names);
+        ClassResolver concurrentResolver = new ClassResolver(getClass().getClassLoader(), 4);
+        List<Class<?>> concurrent = concurrentResolver.resolveAll(names);
+
+        assertThat(concurrent).hasSize(300).isEqualTo(sequential);
+        assertThat(concurrentResolver.missingCount()).isEqualTo(100);
+    }
+
+    @Test
+    public void resolver_should_resolve_the_concurrent_batches_on_daemon_threads()
+    {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+        {
+            names.add(String.class.getName());
+        }
+        ClassResolver underTest = new ClassResolver(getClass().getClassLoader(), 2);
+
+        assertThat(underTest.resolveAll(names)).hasSize(200);
+        assertThat(underTest.resolveAll(names)).hasSize(200);
+
+        List<Thread> resolverThreads = new ArrayList<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            if (thread.getName().startsWith("nuun-scan-resolve-"))
+            {
+                resolverThreads.add(thread);
+            }
+        }
+        assertThat(resolverThreads).isNotEmpty();
+        for (Thread thread : resolverThreads)
+        {
+            assertThat(thread.isDaemon()).isTrue();
+        }
+    }
+
+    static class NotInitialized
+    {
+        static final AtomicInteger INITIALIZATIONS = new AtomicInteger();
+
+        static class Holder
+        {
+            static
+            {
+                INITIALIZATIONS.incrementAndGet();
+            }
+        }
+    }
+
+    static class FailingInitialization
+    {
+        static
+        {
+            if (FailingInitialization.class != null)
+            {
+                throw new IllegalStateException("initialization failure");
+            }
+        }
+    }
+
+    private static class CountingClassLoader extends ClassLoader
+    {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        CountingClassLoader(ClassLoader parent)
+        {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+        {
+            if (name.equals(MISSING))
+            {
+                loads.incrementAndGet();
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+}
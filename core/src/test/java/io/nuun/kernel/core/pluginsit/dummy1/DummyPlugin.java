@@ -93,6 +93,9 @@ public class DummyPlugin extends AbstractPlugin
         Collection<Class<?>> cParent1 = scannedSubTypesByParentClass.get(DummyMarker.class);
         assertThat(cParent1).hasSize(1);
 
+        Collection<Class<?>> ancestors = initContext.scannedAncestorTypesByChildClass().get(BeanWithParentType.class);
+        assertThat(ancestors).containsOnly(DummyMarker.class);
+
         Map<String, Collection<Class<?>>> scannedClassesByAnnotationRegex = initContext.scannedClassesByAnnotationRegex();
         Collection<Class<?>> cAnnotations2 = scannedClassesByAnnotationRegex.get(".*MarkerSample3");
         assertThat(cAnnotations2).hasSize(1);
@@ -133,6 +136,7 @@ public class DummyPlugin extends AbstractPlugin
                 .annotationRegex(".*MarkerSample3")
                 .annotationType(MarkerSample4.class)
                 .subtypeOf(DummyMarker.class)
+                .ancestorOf(BeanWithParentType.class)
                 .subtypeOfRegex(".*WithCustomSuffix")
                 .typeOfRegex(".*WithCustomSuffix")
                 .build();
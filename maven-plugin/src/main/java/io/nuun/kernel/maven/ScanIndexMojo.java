@@ -0,0 +1,145 @@
+/**
+ * This file is part of Nuun IO Kernel Maven Plugin.
+ *
+ * Nuun IO Kernel Maven Plugin is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Maven Plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Maven Plugin.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.maven;
+
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.ClassFileReader;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates the scan index of the project classes. The index is written in the output directory
+ * at {@link UrlIndex#LOCATION}, so it is packaged with the classes and read by the kernel when it
+ * runs in the {@code INDEXED} classpath scan mode.
+ */
+@Mojo(name = "index", defaultPhase = LifecyclePhase.PREPARE_PACKAGE, threadSafe = true)
+public class ScanIndexMojo extends AbstractMojo
+{
+    /**
+     * The directory containing the classes to index.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * Skips the index generation.
+     */
+    @Parameter(property = "nuun.index.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException
+    {
+        if (skip)
+        {
+            getLog().info("Scan index generation is skipped");
+            return;
+        }
+        if (!outputDirectory.isDirectory())
+        {
+            getLog().info("No class to index in " + outputDirectory);
+            return;
+        }
+
+        UrlIndex urlIndex;
+        try
+        {
+            urlIndex = index(outputDirectory.toPath());
+        } catch (IOException e)
+        {
+            throw new MojoExecutionException("Unable to index " + outputDirectory, e);
+        }
+
+        File indexFile = new File(outputDirectory, UrlIndex.LOCATION);
+        if (!indexFile.getParentFile().isDirectory() && !indexFile.getParentFile().mkdirs())
+        {
+            throw new MojoExecutionException("Unable to create the directory " + indexFile.getParentFile());
+        }
+        try (OutputStream outputStream = new FileOutputStream(indexFile))
+        {
+            urlIndex.writeTo(outputStream);
+        } catch (IOException e)
+        {
+            throw new MojoExecutionException("Unable to write the scan index " + indexFile, e);
+        }
+        getLog().info("Indexed " + urlIndex.getClasses().size() + " classes and "
+                + urlIndex.getResources().size() + " resources in " + indexFile);
+    }
+
+    /**
+     * Indexes the files of the directory, the index file itself excepted. Only the headers of the
+     * class files are read, with the reader the kernel uses for the classpath entries.
+     */
+    private UrlIndex index(Path directory) throws IOException
+    {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        List<ClassEntry> classes = new ArrayList<>();
+        List<String> resources = new ArrayList<>();
+        for (Path file : files)
+        {
+            String path = directory.relativize(file).toString().replace(File.separatorChar, '/');
+            if (UrlIndex.LOCATION.equals(path))
+            {
+                continue;
+            }
+            if (path.endsWith(".class"))
+            {
+                ClassEntry classEntry = read(file, path);
+                if (classEntry != null)
+                {
+                    classes.add(classEntry);
+                }
+            } else
+            {
+                resources.add(path);
+            }
+        }
+        return new UrlIndex(classes, resources);
+    }
+
+    private ClassEntry read(Path file, String path)
+    {
+        try (InputStream inputStream = Files.newInputStream(file))
+        {
+            return ClassFileReader.read(path, inputStream);
+        } catch (IOException e)
+        {
+            getLog().warn("Unable to index " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
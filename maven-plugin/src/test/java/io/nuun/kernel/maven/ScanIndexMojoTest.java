@@ -0,0 +1,124 @@
+/**
+ * This file is part of Nuun IO Kernel Maven Plugin.
+ *
+ * Nuun IO Kernel Maven Plugin is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Maven Plugin is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Maven Plugin.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.maven;
+
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.apache.maven.plugin.AbstractMojo;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScanIndexMojoTest
+{
+    private static final String MOJO_CLASS_FILE = ScanIndexMojo.class.getName().replace('.', '/') + ".class";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File outputDirectory;
+
+    @Before
+    public void before() throws IOException
+    {
+        outputDirectory = temporaryFolder.newFolder("classes");
+        Path classFile = outputDirectory.toPath().resolve(MOJO_CLASS_FILE);
+        Files.createDirectories(classFile.getParent());
+        try (InputStream inputStream = ScanIndexMojo.class.getClassLoader().getResourceAsStream(MOJO_CLASS_FILE))
+        {
+            Files.copy(inputStream, classFile);
+        }
+        Files.write(outputDirectory.toPath().resolve("mojo.properties"), "key=value".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void mojo_should_write_the_index_of_the_output_directory() throws Exception
+    {
+        mojo(outputDirectory, false).execute();
+
+        File indexFile = new File(outputDirectory, UrlIndex.LOCATION);
+        assertThat(indexFile).isFile();
+        UrlIndex urlIndex;
+        try (InputStream inputStream = new FileInputStream(indexFile))
+        {
+            urlIndex = UrlIndex.readFrom(inputStream);
+        }
+        assertThat(urlIndex.isResourcesIndexed()).isTrue();
+        assertThat(urlIndex.getResources()).containsOnly("mojo.properties");
+        assertThat(urlIndex.getClasses()).hasSize(1);
+        ClassEntry classEntry = urlIndex.getClasses().get(0);
+        assertThat(classEntry.getName()).isEqualTo(ScanIndexMojo.class.getName());
+        assertThat(classEntry.getPath()).isEqualTo(MOJO_CLASS_FILE);
+        assertThat(classEntry.getSuperclassName()).isEqualTo(AbstractMojo.class.getName());
+    }
+
+    @Test
+    public void mojo_should_not_index_the_previous_index() throws Exception
+    {
+        mojo(outputDirectory, false).execute();
+        mojo(outputDirectory, false).execute();
+
+        try (InputStream inputStream = new FileInputStream(new File(outputDirectory, UrlIndex.LOCATION)))
+        {
+            assertThat(UrlIndex.readFrom(inputStream).getResources()).containsOnly("mojo.properties");
+        }
+    }
+
+    @Test
+    public void mojo_should_write_nothing_when_skipped() throws Exception
+    {
+        mojo(outputDirectory, true).execute();
+
+        assertThat(new File(outputDirectory, UrlIndex.LOCATION)).doesNotExist();
+    }
+
+    @Test
+    public void mojo_should_ignore_a_missing_output_directory() throws Exception
+    {
+        File missingDirectory = new File(temporaryFolder.getRoot(), "missing");
+
+        mojo(missingDirectory, false).execute();
+
+        assertThat(missingDirectory).doesNotExist();
+    }
+
+    private ScanIndexMojo mojo(File outputDirectory, boolean skip) throws ReflectiveOperationException
+    {
+        ScanIndexMojo mojo = new ScanIndexMojo();
+        setField(mojo, "outputDirectory", outputDirectory);
+        setField(mojo, "skip", skip);
+        return mojo;
+    }
+
+    private void setField(ScanIndexMojo mojo, String name, Object value) throws ReflectiveOperationException
+    {
+        Field field = ScanIndexMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
@@ -0,0 +1,275 @@
+/**
+ * This file is part of Nuun IO Kernel Processor.
+ *
+ * Nuun IO Kernel Processor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Processor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Processor.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.processor;
+
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes at compile time the type index of the compiled classes at {@link UrlIndex#LOCATION}.
+ * For each type it records its direct super class, its interfaces and its runtime annotations.
+ * This is what the kernel needs to answer the {@code annotationType}, {@code subtypeOf} and
+ * {@code metaAnnotationType} requests without scanning the classes.
+ * <p>
+ * On incremental compilations, the types of the previous index which still exist are kept.
+ * As they are not visible to annotation processors, local and anonymous classes are not indexed.
+ */
+@SupportedAnnotationTypes("*")
+public class ScanIndexProcessor extends AbstractProcessor
+{
+    private static final String OBJECT = Object.class.getName();
+    private static final String ANNOTATION = Annotation.class.getName();
+
+    private final Map<String, ClassEntry> classEntries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+    {
+        for (Element element : roundEnv.getRootElements())
+        {
+            collect(element);
+        }
+        if (roundEnv.processingOver() && !classEntries.isEmpty())
+        {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collect(Element element)
+    {
+        if (element.getKind().isClass() || element.getKind().isInterface())
+        {
+            TypeElement typeElement = (TypeElement) element;
+            ClassEntry classEntry = classEntry(typeElement);
+            classEntries.put(classEntry.getName(), classEntry);
+            for (Element enclosedElement : typeElement.getEnclosedElements())
+            {
+                collect(enclosedElement);
+            }
+        }
+    }
+
+    private ClassEntry classEntry(TypeElement typeElement)
+    {
+        String name = binaryName(typeElement);
+
+        String superclassName = null;
+        if (typeElement.getSuperclass().getKind() == TypeKind.DECLARED)
+        {
+            superclassName = binaryName(typeElement.getSuperclass());
+        } else if (!OBJECT.equals(name))
+        {
+            // interfaces extend Object in the class files
+            superclassName = OBJECT;
+        }
+
+        List<String> interfaceNames = new ArrayList<>();
+        for (TypeMirror interfaceType : typeElement.getInterfaces())
+        {
+            if (interfaceType.getKind() == TypeKind.DECLARED)
+            {
+                interfaceNames.add(binaryName(interfaceType));
+            }
+        }
+        if (typeElement.getKind() == ElementKind.ANNOTATION_TYPE && !interfaceNames.contains(ANNOTATION))
+        {
+            interfaceNames.add(ANNOTATION);
+        }
+
+        List<String> annotationNames = new ArrayList<>();
+        for (AnnotationMirror annotationMirror : typeElement.getAnnotationMirrors())
+        {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            Retention retention = annotationElement.getAnnotation(Retention.class);
+            if (retention != null && retention.value() == RetentionPolicy.RUNTIME)
+            {
+                annotationNames.add(binaryName(annotationElement));
+            }
+        }
+
+        return new ClassEntry(name.replace('.', '/') + ".class", name, superclassName, interfaceNames,
+                annotationNames, modifiers(typeElement));
+    }
+
+    private int modifiers(TypeElement typeElement)
+    {
+        Set<Modifier> modifiers = typeElement.getModifiers();
+        int flags = 0;
+        // nested classes are at least package private in the class files
+        if (modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.PROTECTED))
+        {
+            flags |= java.lang.reflect.Modifier.PUBLIC;
+        }
+        if (modifiers.contains(Modifier.FINAL))
+        {
+            flags |= java.lang.reflect.Modifier.FINAL;
+        }
+        if (modifiers.contains(Modifier.ABSTRACT) || typeElement.getKind().isInterface())
+        {
+            flags |= java.lang.reflect.Modifier.ABSTRACT;
+        }
+        if (typeElement.getKind().isInterface())
+        {
+            flags |= java.lang.reflect.Modifier.INTERFACE;
+        }
+        if (typeElement.getKind() == ElementKind.ANNOTATION_TYPE)
+        {
+            flags |= 0x2000;
+        }
+        if (typeElement.getKind() == ElementKind.ENUM)
+        {
+            flags |= 0x4000;
+        }
+        return flags;
+    }
+
+    private String binaryName(TypeMirror typeMirror)
+    {
+        return binaryName((TypeElement) ((DeclaredType) typeMirror).asElement());
+    }
+
+    private String binaryName(TypeElement typeElement)
+    {
+        return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    private void writeIndex()
+    {
+        List<ClassEntry> indexedEntries = new ArrayList<>();
+        for (ClassEntry previousEntry : readPreviousEntries())
+        {
+            if (!classEntries.containsKey(previousEntry.getName()) && stillExists(previousEntry))
+            {
+                indexedEntries.add(previousEntry);
+            }
+        }
+        indexedEntries.addAll(classEntries.values());
+
+        try
+        {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", UrlIndex.LOCATION);
+            try (OutputStream outputStream = resource.openOutputStream())
+            {
+                UrlIndex.typesOnly(indexedEntries).writeTo(outputStream);
+            }
+        } catch (IOException e)
+        {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the scan index: " + e.getMessage());
+        }
+    }
+
+    private List<ClassEntry> readPreviousEntries()
+    {
+        try
+        {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", UrlIndex.LOCATION);
+            try (InputStream inputStream = resource.openInputStream())
+            {
+                return UrlIndex.readFrom(inputStream).getClasses();
+            }
+        } catch (IOException | IllegalArgumentException e)
+        {
+            // No previous index or an unreadable one: it is fully regenerated
+            return Collections.emptyList();
+        }
+    }
+
+    private boolean stillExists(ClassEntry classEntry)
+    {
+        return typeElement(classEntry.getName()) != null;
+    }
+
+    /**
+     * Finds a type from its binary name. As '$' separates the nested types in the binary names but
+     * is also legal in a type name, the outermost type is looked up for each '$' from the end and
+     * its nested types are then matched on their binary name.
+     */
+    private TypeElement typeElement(String binaryName)
+    {
+        Elements elements = processingEnv.getElementUtils();
+        for (int end = binaryName.length(); end > 0; end = binaryName.lastIndexOf('$', end - 1))
+        {
+            TypeElement outerElement = elements.getTypeElement(binaryName.substring(0, end));
+            TypeElement typeElement = outerElement == null ? null : nestedTypeElement(outerElement, binaryName);
+            if (typeElement != null)
+            {
+                return typeElement;
+            }
+        }
+        return null;
+    }
+
+    private TypeElement nestedTypeElement(TypeElement typeElement, String binaryName)
+    {
+        String name = binaryName(typeElement);
+        if (name.equals(binaryName))
+        {
+            return typeElement;
+        }
+        if (binaryName.startsWith(name + "$"))
+        {
+            for (Element enclosedElement : typeElement.getEnclosedElements())
+            {
+                if (enclosedElement.getKind().isClass() || enclosedElement.getKind().isInterface())
+                {
+                    TypeElement nestedElement = nestedTypeElement((TypeElement) enclosedElement, binaryName);
+                    if (nestedElement != null)
+                    {
+                        return nestedElement;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
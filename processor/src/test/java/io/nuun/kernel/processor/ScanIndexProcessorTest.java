@@ -0,0 +1,216 @@
+/**
+ * This file is part of Nuun IO Kernel Processor.
+ *
+ * Nuun IO Kernel Processor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Processor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Processor.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.processor;
+
+import io.nuun.kernel.api.annotations.KernelModule;
+import io.nuun.kernel.api.statistics.UrlStatistics;
+import io.nuun.kernel.core.internal.scanner.disk.ClasspathStrategy;
+import io.nuun.kernel.core.internal.scanner.index.ClasspathScannerIndexed;
+import io.nuun.kernel.core.internal.scanner.index.UrlIndexes;
+import io.nuun.kernel.spi.index.ClassEntry;
+import io.nuun.kernel.spi.index.UrlIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScanIndexProcessorTest
+{
+    private static final String MODULE = "package sample;\n"
+            + "@io.nuun.kernel.api.annotations.KernelModule\n"
+            + "public class Module1 extends com.google.inject.AbstractModule {\n"
+            + "    protected void configure() {}\n"
+            + "    @SuppressWarnings(\"unused\")\n"
+            + "    static final class Nested implements Runnable { public void run() {} }\n"
+            + "}\n";
+
+    private static final String DOLLAR = "package sample;\n"
+            + "public class Dollar$Type {\n"
+            + "    public static class Nested$Type {}\n"
+            + "}\n";
+
+    private static final String SERVICE = "package sample;\n"
+            + "public interface Service extends Runnable {}\n";
+
+    private static final String ANONYMOUS = "package sample;\n"
+            + "public class Anonymous {\n"
+            + "    Runnable runnable = new Runnable() { public void run() {} };\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void processor_should_index_the_compiled_types() throws IOException
+    {
+        File output = temporaryFolder.newFolder("classes");
+
+        compile(output, source("sample.Module1", MODULE), source("sample.Service", SERVICE));
+
+        UrlIndex urlIndex = readIndex(output);
+        assertThat(urlIndex.isResourcesIndexed()).isFalse();
+        Map<String, ClassEntry> classEntries = byName(urlIndex);
+        assertThat(classEntries.keySet()).containsOnly("sample.Module1", "sample.Module1$Nested", "sample.Service");
+
+        ClassEntry module = classEntries.get("sample.Module1");
+        assertThat(module.getPath()).isEqualTo("sample/Module1.class");
+        assertThat(module.getSuperclassName()).isEqualTo("com.google.inject.AbstractModule");
+        assertThat(module.getAnnotationNames()).containsOnly(KernelModule.class.getName());
+
+        ClassEntry nested = classEntries.get("sample.Module1$Nested");
+        assertThat(nested.getInterfaceNames()).containsOnly(Runnable.class.getName());
+        assertThat(nested.getAnnotationNames()).isEmpty();
+
+        ClassEntry service = classEntries.get("sample.Service");
+        assertThat(service.getSuperclassName()).isEqualTo(Object.class.getName());
+        assertThat(service.getModifiers() & java.lang.reflect.Modifier.INTERFACE).isNotEqualTo(0);
+    }
+
+    @Test
+    public void processor_should_keep_the_existing_types_on_incremental_compilation() throws IOException
+    {
+        File output = temporaryFolder.newFolder("classes");
+        compile(output, source("sample.Module1", MODULE), source("sample.Service", SERVICE));
+
+        compile(output, source("sample.Service", SERVICE));
+        assertThat(byName(readIndex(output)).keySet())
+                .containsOnly("sample.Module1", "sample.Module1$Nested", "sample.Service");
+
+        assertThat(new File(output, "sample/Module1.class").delete()).isTrue();
+        assertThat(new File(output, "sample/Module1$Nested.class").delete()).isTrue();
+        compile(output, source("sample.Service", SERVICE));
+        assertThat(byName(readIndex(output)).keySet()).containsOnly("sample.Service");
+    }
+
+    @Test
+    public void processor_should_keep_the_existing_types_whose_name_contains_a_dollar() throws IOException
+    {
+        File output = temporaryFolder.newFolder("classes");
+        compile(output, source("sample.Dollar$Type", DOLLAR), source("sample.Service", SERVICE));
+        assertThat(byName(readIndex(output)).keySet())
+                .containsOnly("sample.Dollar$Type", "sample.Dollar$Type$Nested$Type", "sample.Service");
+
+        compile(output, source("sample.Service", SERVICE));
+        assertThat(byName(readIndex(output)).keySet())
+                .containsOnly("sample.Dollar$Type", "sample.Dollar$Type$Nested$Type", "sample.Service");
+    }
+
+    @Test
+    public void indexed_scanner_should_read_the_generated_index_of_a_directory() throws IOException
+    {
+        File output = temporaryFolder.newFolder("classes");
+        compile(output, source("sample.Module1", MODULE), source("sample.Service", SERVICE), source("sample.Anonymous", ANONYMOUS));
+        URL url = output.toURI().toURL();
+
+        // the index is written before the class files, the anonymous class is not indexed
+        assertThat(new File(output, "sample/Anonymous$1.class").isFile()).isTrue();
+        assertThat(UrlIndexes.fromArtifact(url)).isNotNull();
+        UrlStatistics urlStatistics = indexedScanStatistics(url);
+        assertThat(urlStatistics.getSource()).isEqualTo(UrlStatistics.Source.INDEX);
+        assertThat(urlStatistics.getClassCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void indexed_scanner_should_scan_a_directory_with_classes_missing_from_its_generated_index() throws IOException
+    {
+        File output = temporaryFolder.newFolder("classes");
+        compile(output, source("sample.Module1", MODULE));
+        compile(output, false, source("sample.Service", SERVICE));
+        URL url = output.toURI().toURL();
+
+        assertThat(UrlIndexes.fromArtifact(url)).isNull();
+        assertThat(indexedScanStatistics(url).getSource()).isEqualTo(UrlStatistics.Source.SCAN);
+    }
+
+    private UrlStatistics indexedScanStatistics(URL url)
+    {
+        ClasspathScannerIndexed scanner = new ClasspathScannerIndexed(new ClasspathStrategy(), Collections.singleton(url), "sample");
+        for (UrlStatistics urlStatistics : scanner.getStatistics().urlStatistics())
+        {
+            if (urlStatistics.getUrl().equals(url))
+            {
+                return urlStatistics;
+            }
+        }
+        throw new AssertionError(url + " was not scanned");
+    }
+
+    private void compile(File output, JavaFileObject... sources)
+    {
+        compile(output, true, sources);
+    }
+
+    private void compile(File output, boolean indexed, JavaFileObject... sources)
+    {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-d", output.getPath(),
+                "-classpath", System.getProperty("java.class.path") + File.pathSeparator + output.getPath()));
+        options.addAll(indexed ? Arrays.asList("-processor", ScanIndexProcessor.class.getName()) : Collections.singletonList("-proc:none"));
+        Boolean success = compiler.getTask(null, null, null, options, null, Arrays.asList(sources)).call();
+        assertThat(success).isTrue();
+    }
+
+    private UrlIndex readIndex(File output) throws IOException
+    {
+        try (InputStream inputStream = new FileInputStream(new File(output, UrlIndex.LOCATION)))
+        {
+            return UrlIndex.readFrom(inputStream);
+        }
+    }
+
+    private Map<String, ClassEntry> byName(UrlIndex urlIndex)
+    {
+        Map<String, ClassEntry> classEntries = new HashMap<>();
+        for (ClassEntry classEntry : urlIndex.getClasses())
+        {
+            classEntries.put(classEntry.getName(), classEntry);
+        }
+        return classEntries;
+    }
+
+    private static JavaFileObject source(String className, final String code)
+    {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE)
+        {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors)
+            {
+                return code;
+            }
+        };
+    }
+}
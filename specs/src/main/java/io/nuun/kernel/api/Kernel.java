@@ -19,10 +19,12 @@ package io.nuun.kernel.api;
 import io.nuun.kernel.api.di.GlobalModule;
 import io.nuun.kernel.api.di.ObjectGraph;
 import io.nuun.kernel.api.di.UnitModule;
+import io.nuun.kernel.api.statistics.ScanStatistics;
 
 import java.net.URL;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The Kernel is the main component of the I.O.C. technical stack.
@@ -132,6 +134,14 @@ public interface Kernel
 
     Set<URL> scannedURLs();
 
+    /**
+     * Returns what the kernel scanned during its initialization: the cost of each classpath entry,
+     * the time spent in each scanner and the cost and the results of each plugin request by round.
+     *
+     * @return the scan statistics
+     */
+    ScanStatistics scanStatistics();
+
     /**
      * Tell the kernel to start. Then the kernel will create the ObjectGraph of the application. The ObjectGraph will wrap the actual Guice injector.
      * <p>
@@ -159,4 +169,26 @@ public interface Kernel
      */
     void stop();
 
+    /**
+     * Initializes the kernel on the kernel own thread, see {@link #init()}. The asynchronous calls
+     * run in the order they are made, a start asked before the end of the initialization runs after it.
+     *
+     * @return a future completed when the kernel is initialized
+     */
+    CompletableFuture<Void> initAsync();
+
+    /**
+     * Starts the kernel on the kernel own thread, see {@link #start()}.
+     *
+     * @return a future completed when the kernel is started
+     */
+    CompletableFuture<Void> startAsync();
+
+    /**
+     * Stops the kernel on the kernel own thread, see {@link #stop()}.
+     *
+     * @return a future completed when the kernel is stopped
+     */
+    CompletableFuture<Void> stopAsync();
+
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api;
+
+/**
+ * The state captured from an initialized kernel: its sorted plugins, the results of the plugin
+ * requests and the classes to bind with their scopes.
+ * <p>
+ * The kernels created from a prototype have their own plugin instances and their own injector. They
+ * initialize their plugins against the captured results, without scanning the classpath again.
+ * </p>
+ */
+public interface KernelPrototype
+{
+    /**
+     * Creates a kernel from the prototype. The kernel still has to be initialized and started.
+     *
+     * @return the new kernel
+     */
+    Kernel newKernel();
+}
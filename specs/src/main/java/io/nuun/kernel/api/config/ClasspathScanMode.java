@@ -34,6 +34,20 @@ public enum ClasspathScanMode {
 	 * information from the memory. This mode will be use mainly
 	 * for unit test.
 	 */
-	IN_MEMORY
+	IN_MEMORY,
+
+	/**
+	 *  This mode reads the scan index generated at build time by the
+	 *  kernel maven plugin. The jars and directories without index
+	 *  are scanned from the filesystem as in the nominal mode.
+	 */
+	INDEXED,
+
+	/**
+	 *  This mode reads the class files from the filesystem without
+	 *  loading them. Only the classes matching the scan requests
+	 *  are loaded and they are not initialized.
+	 */
+	BYTECODE
 
 }
@@ -29,6 +29,15 @@ public class KernelOptions
     public static final KernelOption<Boolean> SCAN_PLUGIN = new KernelOption<>("plugin.scan.disable");
     public static final KernelOption<ClasspathScanMode> CLASSPATH_SCAN_MODE = new KernelOption<>("classpath.scan.mode");
     public static final KernelOption<DependencyInjectionMode> DEPENDENCY_INJECTION_MODE = new KernelOption<>("dependency.injection.mode");
+    public static final KernelOption<Integer> SCAN_THREADS = new KernelOption<>("scan.threads");
+    public static final KernelOption<Boolean> SCAN_SHARED_INDEX_CACHE = new KernelOption<>("scan.shared.index.cache");
+    public static final KernelOption<ScanStoreMode> SCAN_STORE_MODE = new KernelOption<>("scan.store.mode");
+    public static final KernelOption<String> SCAN_CACHE_DIRECTORY = new KernelOption<>("scan.cache.directory");
+    public static final KernelOption<Boolean> SCAN_CACHE_CONTENT_HASH = new KernelOption<>("scan.cache.content.hash");
+    public static final KernelOption<Integer> PLUGIN_INIT_THREADS = new KernelOption<>("plugin.init.threads");
+    public static final KernelOption<Integer> PLUGIN_LIFECYCLE_THREADS = new KernelOption<>("plugin.lifecycle.threads");
+    public static final KernelOption<Long> PLUGIN_STOP_TIMEOUT = new KernelOption<>("plugin.stop.timeout");
+    public static final KernelOption<Boolean> LAZY_PLUGIN_START = new KernelOption<>("plugin.lazy.start");
 
     private final Map<String, Object> options = new HashMap<>();
 
@@ -40,6 +49,15 @@ public class KernelOptions
         set(SCAN_PLUGIN, true);
         set(CLASSPATH_SCAN_MODE, ClasspathScanMode.NOMINAL);
         set(DEPENDENCY_INJECTION_MODE, DependencyInjectionMode.PRODUCTION);
+        set(SCAN_THREADS, 1);
+        set(SCAN_SHARED_INDEX_CACHE, false);
+        set(SCAN_STORE_MODE, ScanStoreMode.MULTIMAP);
+        set(SCAN_CACHE_DIRECTORY, null);
+        set(SCAN_CACHE_CONTENT_HASH, false);
+        set(PLUGIN_INIT_THREADS, 1);
+        set(PLUGIN_LIFECYCLE_THREADS, 1);
+        set(PLUGIN_STOP_TIMEOUT, 0L);
+        set(LAZY_PLUGIN_START, false);
     }
 
     public <T> KernelOptions set(KernelOption<T> option, T value)
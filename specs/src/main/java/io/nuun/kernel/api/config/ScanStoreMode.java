@@ -0,0 +1,42 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api.config;
+
+/**
+ * ScanStoreMode lets you configure how the kernel keeps the classpath scan index in memory.
+ */
+public enum ScanStoreMode {
+
+	/**
+	 *  This mode is the nominal behaviour where the index is kept
+	 *  in multimaps of class names.
+	 */
+	MULTIMAP,
+
+	/**
+	 *  This mode interns each class name once in a symbol table and
+	 *  keeps the relations between the names as arrays of ids.
+	 */
+	COMPACT,
+
+	/**
+	 *  This mode is the compact mode with the arrays of ids stored
+	 *  in direct buffers, outside of the garbage collected heap.
+	 */
+	COMPACT_OFF_HEAP
+
+}
@@ -0,0 +1,52 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api.plugin.context;
+
+import java.util.Collection;
+
+/**
+ * A lightweight reference to a scanned class. The name, the modifiers and the annotation
+ * names are read from the scan index, so the class is only loaded when {@link #resolve()}
+ * is called.
+ */
+public interface ClassHandle
+{
+    /**
+     * @return the fully qualified name of the class
+     */
+    String getName();
+
+    /**
+     * Returns the modifiers of the class, as read from its class file. They can be decoded
+     * with {@link java.lang.reflect.Modifier}.
+     *
+     * @return the class modifiers
+     */
+    int getModifiers();
+
+    /**
+     * @return the names of the runtime visible annotations directly present on the class
+     */
+    Collection<String> getAnnotationNames();
+
+    /**
+     * Loads the class, without initializing it. The class is loaded only once.
+     *
+     * @return the class or null if it cannot be loaded, which is logged as a warning
+     */
+    Class<?> resolve();
+}
@@ -59,6 +59,57 @@ public interface InitContext
 
     Map<Predicate<Class<?>>, Collection<Class<?>>> scannedTypesByPredicate();
 
+    /**
+     * Returns the scanned super types, direct or indirect, of the classes requested with
+     * {@code ClasspathScanRequestBuilder.ancestorOf()}.
+     *
+     * @return the ancestor types by child class
+     */
+    Map<Class<?>, Collection<Class<?>>> scannedAncestorTypesByChildClass();
+
+    /**
+     * Returns the same results as {@link #scannedSubTypesByParentClass()}, but as class handles.
+     * The classes are only loaded when their handle is resolved.
+     *
+     * @return the handles of the subtypes by parent class
+     */
+    Map<Class<?>, Collection<ClassHandle>> scannedSubTypeHandlesByParentClass();
+
+    /**
+     * Returns the same results as {@link #scannedSubTypesByParentRegex()}, but as class handles.
+     *
+     * @return the handles of the subtypes by parent regex
+     */
+    Map<String, Collection<ClassHandle>> scannedSubTypeHandlesByParentRegex();
+
+    /**
+     * Returns the same results as {@link #scannedAncestorTypesByChildClass()}, but as class handles.
+     *
+     * @return the handles of the ancestor types by child class
+     */
+    Map<Class<?>, Collection<ClassHandle>> scannedAncestorTypeHandlesByChildClass();
+
+    /**
+     * Returns the same results as {@link #scannedClassesByAnnotationClass()}, but as class handles.
+     *
+     * @return the handles of the annotated classes by annotation class
+     */
+    Map<Class<? extends Annotation>, Collection<ClassHandle>> scannedHandlesByAnnotationClass();
+
+    /**
+     * Returns the same results as {@link #scannedClassesByAnnotationRegex()}, but as class handles.
+     *
+     * @return the handles of the annotated classes by annotation regex
+     */
+    Map<String, Collection<ClassHandle>> scannedHandlesByAnnotationRegex();
+
+    /**
+     * Returns the same results as {@link #scannedTypesByRegex()}, but as class handles.
+     *
+     * @return the handles of the types by regex
+     */
+    Map<String, Collection<ClassHandle>> scannedTypeHandlesByRegex();
+
     /**
      * Returns plugin instances required by the current plugin.
      * The plugin's init phase will be executed after theirs.
@@ -85,6 +85,14 @@ public class ClasspathScanRequestBuilder implements Builder<Collection<Classpath
         return this;
     }
     
+    public ClasspathScanRequestBuilder ancestorOf(Class<?> childTypeRequested)
+    {
+        
+        requests.add(new ClasspathScanRequest(RequestType.ANCESTOR_OF_BY_CLASS, childTypeRequested));
+        
+        return this;
+    }
+    
     public ClasspathScanRequestBuilder typeOfRegex(String typeRegex)
     {
         
@@ -37,6 +37,10 @@ public enum RequestType
      * Request classes based on type of direct parent class
      */
     SUBTYPE_OF_BY_REGEX_MATCH,
+    /**
+     * Request classes based on type of direct or indirect child class
+     */
+    ANCESTOR_OF_BY_CLASS,
     CLASS_PREDICATE,
     RESOURCES_REGEX_MATCH
 }
@@ -0,0 +1,65 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api.statistics;
+
+/**
+ * The cost of loading the scanned classes. The classes are loaded without being initialized, their
+ * static initializers only run when they are first used, for instance when the injector provisions them.
+ */
+public final class ClassLoadingStatistics
+{
+    private final long loadedCount;
+    private final long missingCount;
+    private final long loadingNanos;
+
+    public ClassLoadingStatistics(long loadedCount, long missingCount, long loadingNanos)
+    {
+        this.loadedCount = loadedCount;
+        this.missingCount = missingCount;
+        this.loadingNanos = loadingNanos;
+    }
+
+    /**
+     * @return the number of class names resolved to a class
+     */
+    public long getLoadedCount()
+    {
+        return loadedCount;
+    }
+
+    /**
+     * @return the number of distinct class names which could not be loaded
+     */
+    public long getMissingCount()
+    {
+        return missingCount;
+    }
+
+    /**
+     * @return the time spent loading the classes, in nanoseconds
+     */
+    public long getLoadingNanos()
+    {
+        return loadingNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return loadedCount + " classes loaded, " + missingCount + " missing in " + loadingNanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api.statistics;
+
+import io.nuun.kernel.api.Plugin;
+import io.nuun.kernel.api.plugin.request.RequestType;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The cost and the result of a {@link io.nuun.kernel.api.plugin.request.ClasspathScanRequest} or a
+ * {@link io.nuun.kernel.api.plugin.request.BindingRequest} in the round where it was executed. The
+ * same request made by several plugins is executed once and lists all of them.
+ */
+public final class RequestStatistics
+{
+    /**
+     * The kind of request.
+     */
+    public enum Kind
+    {
+        SCAN, BINDING
+    }
+
+    private final int round;
+    private final Kind kind;
+    private final RequestType requestType;
+    private final String criteria;
+    private final Set<Class<? extends Plugin>> plugins;
+    private final int matchCount;
+    private final long nanos;
+
+    public RequestStatistics(int round, Kind kind, RequestType requestType, String criteria, Set<Class<? extends Plugin>> plugins,
+                             int matchCount, long nanos)
+    {
+        this.round = round;
+        this.kind = kind;
+        this.requestType = requestType;
+        this.criteria = criteria;
+        this.plugins = Collections.unmodifiableSet(plugins);
+        this.matchCount = matchCount;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return the number of the round where the request was executed
+     */
+    public int getRound()
+    {
+        return round;
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public RequestType getRequestType()
+    {
+        return requestType;
+    }
+
+    /**
+     * @return the requested class, regex or predicate as a string
+     */
+    public String getCriteria()
+    {
+        return criteria;
+    }
+
+    /**
+     * @return the plugins which made the request
+     */
+    public Set<Class<? extends Plugin>> getPlugins()
+    {
+        return plugins;
+    }
+
+    public int getMatchCount()
+    {
+        return matchCount;
+    }
+
+    /**
+     * @return the time spent executing the request, in nanoseconds
+     */
+    public long getNanos()
+    {
+        return nanos;
+    }
+
+    /**
+     * @return true if the request matched nothing
+     */
+    public boolean isUnmatched()
+    {
+        return matchCount == 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "round " + round + " " + kind + " " + requestType + " " + criteria + " by " + plugins + ": " + matchCount + " matches in "
+                + nanos / 1_000 + " us";
+    }
+}
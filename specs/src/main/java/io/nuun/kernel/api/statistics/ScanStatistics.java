@@ -0,0 +1,120 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api.statistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of what the kernel scanned and of what the plugin requests cost. The statistics are
+ * only collected while the kernel is initialized.
+ */
+public final class ScanStatistics
+{
+    private final List<UrlStatistics> urls;
+    private final Map<String, Long> scannerNanos;
+    private final List<RequestStatistics> requests;
+    private final ClassLoadingStatistics classLoading;
+
+    public ScanStatistics(List<UrlStatistics> urls, Map<String, Long> scannerNanos, List<RequestStatistics> requests)
+    {
+        this(urls, scannerNanos, requests, new ClassLoadingStatistics(0, 0, 0));
+    }
+
+    public ScanStatistics(List<UrlStatistics> urls, Map<String, Long> scannerNanos, List<RequestStatistics> requests,
+            ClassLoadingStatistics classLoading)
+    {
+        this.urls = Collections.unmodifiableList(new ArrayList<>(urls));
+        this.scannerNanos = Collections.unmodifiableMap(new LinkedHashMap<>(scannerNanos));
+        this.requests = Collections.unmodifiableList(new ArrayList<>(requests));
+        this.classLoading = classLoading;
+    }
+
+    /**
+     * @return the scanned classpath entries
+     */
+    public List<UrlStatistics> getUrls()
+    {
+        return urls;
+    }
+
+    /**
+     * Returns the time spent in each Reflections scanner, by scanner name. The scanners only run
+     * when the classpath entries are read by Reflections, not when they are indexed.
+     *
+     * @return the time spent by scanner, in nanoseconds
+     */
+    public Map<String, Long> getScannerNanos()
+    {
+        return scannerNanos;
+    }
+
+    /**
+     * @return the executed requests, in the order of execution
+     */
+    public List<RequestStatistics> getRequests()
+    {
+        return requests;
+    }
+
+    /**
+     * @return the cost of loading the scanned classes
+     */
+    public ClassLoadingStatistics getClassLoading()
+    {
+        return classLoading;
+    }
+
+    /**
+     * @return the executed requests which matched nothing
+     */
+    public List<RequestStatistics> getUnmatchedRequests()
+    {
+        List<RequestStatistics> unmatchedRequests = new ArrayList<>();
+        for (RequestStatistics request : requests)
+        {
+            if (request.isUnmatched())
+            {
+                unmatchedRequests.add(request);
+            }
+        }
+        return unmatchedRequests;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (UrlStatistics url : urls)
+        {
+            stringBuilder.append(url).append("\n");
+        }
+        for (Map.Entry<String, Long> scanner : scannerNanos.entrySet())
+        {
+            stringBuilder.append(scanner.getKey()).append(": ").append(scanner.getValue() / 1_000_000).append(" ms\n");
+        }
+        for (RequestStatistics request : requests)
+        {
+            stringBuilder.append(request).append(request.isUnmatched() ? " (unmatched)" : "").append("\n");
+        }
+        stringBuilder.append(classLoading).append("\n");
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.api.statistics;
+
+import java.net.URL;
+
+/**
+ * The cost of scanning one classpath entry. When the entry is scanned again, for instance for new
+ * package roots, the counts and times are summed.
+ */
+public final class UrlStatistics
+{
+    /**
+     * How the content of a classpath entry was obtained.
+     */
+    public enum Source
+    {
+        /**
+         * The entry was scanned, or indexed from its files.
+         */
+        SCAN,
+        /**
+         * The entry was read from the scan index packaged in it.
+         */
+        INDEX
+    }
+
+    private final URL url;
+    private final Source source;
+    private final int classCount;
+    private final int resourceCount;
+    private final long bytesRead;
+    private final long parseNanos;
+
+    public UrlStatistics(URL url, int classCount, int resourceCount, long bytesRead, long parseNanos)
+    {
+        this(url, Source.SCAN, classCount, resourceCount, bytesRead, parseNanos);
+    }
+
+    public UrlStatistics(URL url, Source source, int classCount, int resourceCount, long bytesRead, long parseNanos)
+    {
+        this.url = url;
+        this.source = source;
+        this.classCount = classCount;
+        this.resourceCount = resourceCount;
+        this.bytesRead = bytesRead;
+        this.parseNanos = parseNanos;
+    }
+
+    public URL getUrl()
+    {
+        return url;
+    }
+
+    /**
+     * @return how the content of the entry was obtained, the first time it was scanned
+     */
+    public Source getSource()
+    {
+        return source;
+    }
+
+    /**
+     * @return the number of class files scanned, or read from the index
+     */
+    public int getClassCount()
+    {
+        return classCount;
+    }
+
+    /**
+     * @return the number of other files scanned, or read from the index
+     */
+    public int getResourceCount()
+    {
+        return resourceCount;
+    }
+
+    /**
+     * @return the number of bytes read from the files, zero when the index was taken from a cache
+     */
+    public long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    /**
+     * @return the wall clock time spent scanning the entry or loading its index, in nanoseconds
+     */
+    public long getParseNanos()
+    {
+        return parseNanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return url + " (" + source + "): " + classCount + " classes, " + resourceCount + " resources, " + bytesRead + " bytes in " + parseNanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.spi.index;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The metadata of a class file as needed by the kernel scan requests: its name, its direct
+ * super types and its runtime visible annotations. It is read without loading the class.
+ */
+public class ClassEntry
+{
+    private final String path;
+    private final String name;
+    private final String superclassName;
+    private final List<String> interfaceNames;
+    private final List<String> annotationNames;
+    private final int modifiers;
+
+    public ClassEntry(String path, String name, String superclassName, List<String> interfaceNames,
+                      List<String> annotationNames, int modifiers)
+    {
+        this.path = path;
+        this.name = name;
+        this.superclassName = superclassName;
+        this.interfaceNames = Collections.unmodifiableList(interfaceNames);
+        this.annotationNames = Collections.unmodifiableList(annotationNames);
+        this.modifiers = modifiers;
+    }
+
+    /**
+     * @return the path of the class file relative to its classpath entry
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return the super class name or null for {@code java.lang.Object}
+     */
+    public String getSuperclassName()
+    {
+        return superclassName;
+    }
+
+    public List<String> getInterfaceNames()
+    {
+        return interfaceNames;
+    }
+
+    public List<String> getAnnotationNames()
+    {
+        return annotationNames;
+    }
+
+    /**
+     * @return the class modifiers as defined by {@link java.lang.reflect.Modifier}
+     */
+    public int getModifiers()
+    {
+        return modifiers;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
@@ -0,0 +1,313 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.spi.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the header of a class file as defined by the chapter 4 of the JVM specification: the
+ * constant pool, the access flags, the super types and the {@code RuntimeVisibleAnnotations}
+ * attribute of the class. The fields and methods are skipped and the class is never loaded.
+ */
+public final class ClassFileReader
+{
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_MODULE = 0x8000;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final byte[] bytes;
+    private final int[] constantOffsets;
+    private int position;
+
+    private ClassFileReader(byte[] bytes)
+    {
+        this.bytes = bytes;
+        this.position = 0;
+        if (u4() != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        position += 4; // minor and major versions
+        constantOffsets = new int[u2()];
+        for (int i = 1; i < constantOffsets.length; i++)
+        {
+            constantOffsets[i] = position;
+            int tag = u1();
+            switch (tag)
+            {
+                case CONSTANT_UTF8:
+                    int length = u2();
+                    position += length;
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    position += 2;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    position += 3;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    position += 4;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    position += 8;
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    /**
+     * Reads the given class file.
+     *
+     * @param path        the path of the class file relative to its classpath entry
+     * @param inputStream the class file content
+     * @return the class entry or null for a module descriptor
+     * @throws IOException if an I/O error occurs or if the content is not a valid class file
+     */
+    public static ClassEntry read(String path, InputStream inputStream) throws IOException
+    {
+        return read(path, readFully(inputStream));
+    }
+
+    /**
+     * Reads the given class file.
+     *
+     * @param path  the path of the class file relative to its classpath entry
+     * @param bytes the class file content
+     * @return the class entry or null for a module descriptor
+     * @throws IOException if the content is not a valid class file
+     */
+    public static ClassEntry read(String path, byte[] bytes) throws IOException
+    {
+        try
+        {
+            return new ClassFileReader(bytes).readClassEntry(path);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e)
+        {
+            throw new IOException("Invalid class file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ClassEntry readClassEntry(String path) throws IOException
+    {
+        int accessFlags = u2();
+        if ((accessFlags & ACC_MODULE) != 0)
+        {
+            return null;
+        }
+        String name = className(u2());
+        int superIndex = u2();
+        String superclassName = superIndex == 0 ? null : className(superIndex);
+
+        int interfaceCount = u2();
+        List<String> interfaceNames = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++)
+        {
+            interfaceNames.add(className(u2()));
+        }
+
+        skipMembers(); // fields
+        skipMembers(); // methods
+
+        List<String> annotationNames = Collections.emptyList();
+        int attributeCount = u2();
+        for (int i = 0; i < attributeCount; i++)
+        {
+            String attributeName = utf8(u2());
+            int length = u4();
+            int end = position + length;
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName))
+            {
+                annotationNames = readAnnotationNames();
+            }
+            position = end;
+        }
+
+        return new ClassEntry(path, name, superclassName, interfaceNames, annotationNames, accessFlags & ~ACC_SUPER);
+    }
+
+    private void skipMembers()
+    {
+        int memberCount = u2();
+        for (int i = 0; i < memberCount; i++)
+        {
+            position += 6; // access flags, name and descriptor
+            int attributeCount = u2();
+            for (int j = 0; j < attributeCount; j++)
+            {
+                position += 2;
+                int length = u4();
+                position += length;
+            }
+        }
+    }
+
+    private List<String> readAnnotationNames() throws IOException
+    {
+        int annotationCount = u2();
+        List<String> annotationNames = new ArrayList<>(annotationCount);
+        for (int i = 0; i < annotationCount; i++)
+        {
+            annotationNames.add(readAnnotation());
+        }
+        return annotationNames;
+    }
+
+    private String readAnnotation() throws IOException
+    {
+        String descriptor = utf8(u2());
+        int pairCount = u2();
+        for (int i = 0; i < pairCount; i++)
+        {
+            position += 2; // element name
+            skipElementValue();
+        }
+        // Lcom/acme/MyAnnotation;
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    private void skipElementValue() throws IOException
+    {
+        int tag = u1();
+        switch (tag)
+        {
+            case 'e':
+                position += 4;
+                break;
+            case '@':
+                readAnnotation();
+                break;
+            case '[':
+                int valueCount = u2();
+                for (int i = 0; i < valueCount; i++)
+                {
+                    skipElementValue();
+                }
+                break;
+            default:
+                // constant values and class literals
+                position += 2;
+        }
+    }
+
+    private String className(int classIndex) throws IOException
+    {
+        int offset = constantOffsets[classIndex];
+        if ((bytes[offset] & 0xFF) != CONSTANT_CLASS)
+        {
+            throw new IllegalArgumentException("Constant " + classIndex + " is not a class");
+        }
+        return utf8(readU2(offset + 1)).replace('/', '.');
+    }
+
+    private String utf8(int utf8Index) throws IOException
+    {
+        int offset = constantOffsets[utf8Index];
+        if ((bytes[offset] & 0xFF) != CONSTANT_UTF8)
+        {
+            throw new IllegalArgumentException("Constant " + utf8Index + " is not an UTF-8 string");
+        }
+        int length = readU2(offset + 1);
+        int start = offset + 3;
+        for (int i = start; i < start + length; i++)
+        {
+            if ((bytes[i] & 0x80) != 0)
+            {
+                // modified UTF-8, as read by DataInput
+                return new DataInputStream(new ByteArrayInputStream(bytes, offset + 1, length + 2)).readUTF();
+            }
+        }
+        return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private int u1()
+    {
+        return bytes[position++] & 0xFF;
+    }
+
+    private int u2()
+    {
+        int value = readU2(position);
+        position += 2;
+        return value;
+    }
+
+    private int u4()
+    {
+        int value = (readU2(position) << 16) | readU2(position + 2);
+        position += 4;
+        return value;
+    }
+
+    private int readU2(int offset)
+    {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1)
+        {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * This file is part of Nuun IO Kernel Specs.
+ *
+ * Nuun IO Kernel Specs is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Nuun IO Kernel Specs is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Nuun IO Kernel Specs.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.nuun.kernel.spi.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The scan metadata of one classpath entry (a jar or a directory): its class entries and
+ * its resources. The index is written in a compact binary format, at build time by the
+ * kernel maven plugin or at compile time by the kernel annotation processor, and read by
+ * the kernel instead of scanning the classpath entry.
+ */
+public class UrlIndex
+{
+    /**
+     * The location of the index inside an artifact.
+     */
+    public static final String LOCATION = "META-INF/nuun/scan.idx";
+
+    private static final int MAGIC = 0x4E55554E;
+    private static final int VERSION = 2;
+    private static final int RESOURCES_INDEXED = 1;
+    private static final int NONE = -1;
+
+    private final List<ClassEntry> classes;
+    private final List<String> resources;
+    private final boolean resourcesIndexed;
+
+    public UrlIndex(List<ClassEntry> classes, List<String> resources)
+    {
+        this(classes, resources, true);
+    }
+
+    private UrlIndex(List<ClassEntry> classes, List<String> resources, boolean resourcesIndexed)
+    {
+        this.classes = Collections.unmodifiableList(classes);
+        this.resources = Collections.unmodifiableList(resources);
+        this.resourcesIndexed = resourcesIndexed;
+    }
+
+    /**
+     * Creates an index which only knows the classes of its classpath entry, for instance
+     * because it was generated at compile time. The resources have to be scanned.
+     *
+     * @param classes the class entries
+     * @return the index
+     */
+    public static UrlIndex typesOnly(List<ClassEntry> classes)
+    {
+        return new UrlIndex(classes, Collections.<String>emptyList(), false);
+    }
+
+    public List<ClassEntry> getClasses()
+    {
+        return classes;
+    }
+
+    /**
+     * @return the relative path of the files which are not class files
+     */
+    public List<String> getResources()
+    {
+        return resources;
+    }
+
+    /**
+     * @return false if the index does not list the resources of its classpath entry
+     */
+    public boolean isResourcesIndexed()
+    {
+        return resourcesIndexed;
+    }
+
+    /**
+     * Writes the index in a compact binary format. All the names are written once in a string table
+     * and referenced by their position.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream outputStream) throws IOException
+    {
+        StringTable strings = new StringTable();
+        for (ClassEntry classEntry : classes)
+        {
+            strings.add(classEntry.getName());
+            strings.add(classEntry.getSuperclassName());
+            strings.addAll(classEntry.getInterfaceNames());
+            strings.addAll(classEntry.getAnnotationNames());
+            if (!classEntry.getPath().equals(pathOf(classEntry.getName())))
+            {
+                strings.add(classEntry.getPath());
+            }
+        }
+        strings.addAll(resources);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(resourcesIndexed ? RESOURCES_INDEXED : 0);
+        out.writeInt(strings.values.size());
+        for (String value : strings.values)
+        {
+            out.writeUTF(value);
+        }
+        out.writeInt(classes.size());
+        for (ClassEntry classEntry : classes)
+        {
+            boolean standardPath = classEntry.getPath().equals(pathOf(classEntry.getName()));
+            out.writeInt(strings.indexOf(classEntry.getName()));
+            out.writeInt(standardPath ? NONE : strings.indexOf(classEntry.getPath()));
+            out.writeInt(strings.indexOf(classEntry.getSuperclassName()));
+            out.writeShort(classEntry.getModifiers());
+            writeIndexes(out, strings, classEntry.getInterfaceNames());
+            writeIndexes(out, strings, classEntry.getAnnotationNames());
+        }
+        writeIndexes(out, strings, resources);
+        out.flush();
+    }
+
+    private void writeIndexes(DataOutputStream out, StringTable strings, List<String> values) throws IOException
+    {
+        out.writeInt(values.size());
+        for (String value : values)
+        {
+            out.writeInt(strings.indexOf(value));
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(OutputStream)}.
+     *
+     * @param inputStream the stream to read from
+     * @return the index
+     * @throws IOException if an I/O error occurs or if the stream is not a valid index
+     */
+    public static UrlIndex readFrom(InputStream inputStream) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC)
+        {
+            throw new IOException("Not a scan index");
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported scan index version " + version);
+        }
+        boolean resourcesIndexed = (in.readUnsignedByte() & RESOURCES_INDEXED) != 0;
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++)
+        {
+            strings[i] = in.readUTF();
+        }
+        int classCount = in.readInt();
+        List<ClassEntry> classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++)
+        {
+            String name = strings[in.readInt()];
+            int path = in.readInt();
+            int superclass = in.readInt();
+            int modifiers = in.readUnsignedShort();
+            List<String> interfaces = readValues(in, strings);
+            List<String> annotations = readValues(in, strings);
+            classes.add(new ClassEntry(path == NONE ? pathOf(name) : strings[path], name,
+                    superclass == NONE ? null : strings[superclass], interfaces, annotations, modifiers));
+        }
+        return new UrlIndex(classes, readValues(in, strings), resourcesIndexed);
+    }
+
+    private static List<String> readValues(DataInputStream in, String[] strings) throws IOException
+    {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+            values.add(strings[in.readInt()]);
+        }
+        return values;
+    }
+
+    private static String pathOf(String className)
+    {
+        return className.replace('.', '/') + ".class";
+    }
+
+    private static class StringTable
+    {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        void add(String value)
+        {
+            if (value != null && !indexes.containsKey(value))
+            {
+                indexes.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        void addAll(List<String> values)
+        {
+            for (String value : values)
+            {
+                add(value);
+            }
+        }
+
+        int indexOf(String value)
+        {
+            return value == null ? NONE : indexes.get(value);
+        }
+    }
+}